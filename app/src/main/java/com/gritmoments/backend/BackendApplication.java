@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * AI와 함께 배우는 백엔드 실전 가이드 - 메인 애플리케이션
@@ -13,10 +14,12 @@ import org.springframework.retry.annotation.EnableRetry;
  *
  * - @EnableCaching: 세션 01 (Redis 캐시) 활성화
  * - @EnableRetry: 세션 03 (Spring Retry) 활성화
+ * - @EnableScheduling: 주기 작업 (세션 01: 존재하는 ID 필터 재구성)
  */
 @SpringBootApplication
 @EnableCaching
 @EnableRetry
+@EnableScheduling
 public class BackendApplication {
 
     public static void main(String[] args) {
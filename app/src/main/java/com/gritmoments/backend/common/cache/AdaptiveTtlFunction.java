@@ -0,0 +1,111 @@
+package com.gritmoments.backend.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 캐시 항목별 TTL 계산 (세션 01: 캐시 만료 분산)
+ *
+ * 고정 TTL이면 함께 저장된 항목(워밍업 직후, Redis 재시작 후)이 같은 순간에 만료되어
+ * 캐시 미스가 한꺼번에 몰립니다. 이를 막기 위해 두 가지를 적용합니다.
+ *
+ * 1. 지터: TTL에 0 ~ jitterRatio 비율의 무작위 시간을 더함 (최소 TTL 아래로 내려가지 않도록 더하기만)
+ * 2. 적응형 TTL (선택): 키가 마지막으로 변경된 지 오래될수록 TTL을 길게
+ *    - 변경 기록이 있는 키: 변경 후 경과 시간을 [minTtl, maxTtl] 범위로 제한한 값
+ *    - 변경 기록이 없는 키: baseTtl (노드 가동 시간이 길어지면 maxTtl까지 증가)
+ *    "변경"은 @CacheEvict/@CachePut 같은 명시적 변경이며, 캐시 미스 후 로딩은 포함하지 않습니다.
+ *    다른 노드의 변경은 무효화 메시지(dataChanged)로 전달받아 함께 기록합니다.
+ *
+ * RedisCacheConfiguration.entryTtl(TtlFunction)로 캐시마다 인스턴스를 따로 설정합니다.
+ */
+public class AdaptiveTtlFunction implements RedisCacheWriter.TtlFunction {
+
+    /** 변경 시각을 기억하는 최대 키 수 (초과 시 오래된 기록부터 제거 -> 기본 TTL 적용) */
+    private static final long MAX_TRACKED_KEYS = 10_000;
+
+    private final Duration baseTtl;
+    private final Duration minTtl;
+    private final Duration maxTtl;
+    private final double jitterRatio;
+    private final boolean adaptive;
+
+    private final Cache<String, Long> lastChangedAt;
+    private final long trackingStartedAt = System.currentTimeMillis();
+
+    private AdaptiveTtlFunction(Duration baseTtl, Duration minTtl, Duration maxTtl, double jitterRatio,
+                                boolean adaptive) {
+        if (minTtl.compareTo(baseTtl) > 0 || baseTtl.compareTo(maxTtl) > 0 || minTtl.isNegative() || minTtl.isZero()) {
+            throw new IllegalArgumentException("0 < minTtl <= baseTtl <= maxTtl 이어야 합니다.");
+        }
+        if (jitterRatio < 0 || jitterRatio > 1) {
+            throw new IllegalArgumentException("지터 비율은 0 ~ 1 사이여야 합니다.");
+        }
+        this.baseTtl = baseTtl;
+        this.minTtl = minTtl;
+        this.maxTtl = maxTtl;
+        this.jitterRatio = jitterRatio;
+        this.adaptive = adaptive;
+        this.lastChangedAt = Caffeine.newBuilder()
+                .maximumSize(adaptive ? MAX_TRACKED_KEYS : 0)
+                .build();
+    }
+
+    /** 고정 TTL + 지터 */
+    public static AdaptiveTtlFunction jitter(Duration ttl, double jitterRatio) {
+        return new AdaptiveTtlFunction(ttl, ttl, ttl, jitterRatio, false);
+    }
+
+    /**
+     * 변경 빈도에 따른 적응형 TTL + 지터
+     *
+     * @param minTtl 소프트 TTL을 쓰는 캐시라면 소프트 TTL보다 길게 (그래야 갱신 전에 만료되지 않음)
+     */
+    public static AdaptiveTtlFunction adaptive(Duration baseTtl, Duration minTtl, Duration maxTtl, double jitterRatio) {
+        return new AdaptiveTtlFunction(baseTtl, minTtl, maxTtl, jitterRatio, true);
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key, Object value) {
+        Duration ttl = adaptive ? adaptiveTtl(String.valueOf(key)) : baseTtl;
+        if (jitterRatio == 0) {
+            return ttl;
+        }
+        long jitterMillis = (long) (ttl.toMillis() * jitterRatio * ThreadLocalRandom.current().nextDouble());
+        return ttl.plusMillis(jitterMillis);
+    }
+
+    /** 키의 데이터가 변경됨 (이 노드의 evict/put 또는 다른 노드의 변경 메시지) */
+    public void recordChange(String key) {
+        if (adaptive) {
+            lastChangedAt.put(key, System.currentTimeMillis());
+        }
+    }
+
+    public Duration getMinTtl() {
+        return minTtl;
+    }
+
+    private Duration adaptiveTtl(String key) {
+        long now = System.currentTimeMillis();
+        Long changedAt = lastChangedAt.getIfPresent(key);
+        if (changedAt == null) {
+            // 이 노드가 관찰한 기간 동안 변경 없음
+            Duration observed = Duration.ofMillis(now - trackingStartedAt);
+            return observed.compareTo(baseTtl) > 0 ? min(observed, maxTtl) : baseTtl;
+        }
+        Duration stableFor = Duration.ofMillis(now - changedAt);
+        return max(minTtl, min(stableFor, maxTtl));
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
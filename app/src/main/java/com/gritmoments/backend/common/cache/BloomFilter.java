@@ -0,0 +1,74 @@
+package com.gritmoments.backend.common.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long 값용 블룸 필터 (세션 01: 캐시, 존재하지 않는 ID 거르기)
+ *
+ * "없음"은 확실하고 "있음"은 false positive 확률만큼 틀릴 수 있는 집합입니다.
+ * ID 하나당 약 10비트(1% 기준)만 사용하므로 모든 가게/메뉴 ID를 노드 메모리에 둘 수 있습니다.
+ *
+ * - 비트 배열: AtomicLongArray (조회/추가가 락 없이 동시에 가능)
+ * - 해시: 64비트 믹서 하나로 두 값을 만들고 h1 + i * h2 로 k개 위치 계산 (double hashing)
+ * - 삭제 불가: 삭제된 ID는 다음 재구성 때 빠짐
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 예상 항목 수 (넘으면 false positive 확률이 올라감)
+     * @param falsePositiveRate 목표 false positive 확률 (0 ~ 1)
+     */
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("false positive 확률은 0과 1 사이여야 합니다.");
+        }
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    void add(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, add) -> current | add);
+            }
+        }
+    }
+
+    boolean mightContain(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 비트 배열 크기 (바이트) */
+    long sizeInBytes() {
+        return bitSize / 8;
+    }
+
+    /** SplitMix64 마무리 함수 - 연속된 ID도 비트 위치가 고르게 퍼지도록 */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,69 @@
+package com.gritmoments.backend.common.cache;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * TwoLevelCache에 저장되는 값 + 저장 시각 (세션 01: 캐시)
+ *
+ * Redis TTL(하드 TTL)과 별개로 "언제 저장된 값인지"를 알아야
+ * 소프트 TTL이 지난 값을 바로 응답하면서 뒤에서 갱신(stale-while-revalidate)할 수 있습니다.
+ *
+ * JSON 기본 타이핑(NON_FINAL)에서 루트 타입 정보가 기록되도록 final로 선언하지 않습니다.
+ * (바이너리 직렬화기를 꺼서 JSON으로 저장하는 경우에도 그대로 읽을 수 있도록 유지)
+ */
+@Getter
+public class CacheEntry {
+
+    /** 이 기능 도입 전에 저장된 값처럼 저장 시각을 모르는 경우 */
+    static final long UNKNOWN_WRITE_TIME = 0L;
+
+    private final Object value;
+
+    /** 저장 시각 (epoch millis) */
+    private final long writtenAt;
+
+    /** 바이너리 직렬화기(CompactCodec)가 생성 후 필드를 채울 때 사용 */
+    private CacheEntry() {
+        this(null, UNKNOWN_WRITE_TIME);
+    }
+
+    @JsonCreator
+    public CacheEntry(@JsonProperty("value") Object value,
+                      @JsonProperty("writtenAt") long writtenAt) {
+        this.value = value;
+        this.writtenAt = writtenAt;
+    }
+
+    /** 지금 저장하는 값 */
+    static CacheEntry now(Object value) {
+        return new CacheEntry(value, System.currentTimeMillis());
+    }
+
+    /** 캐시에 저장된 원본을 CacheEntry로 변환 (이전 형식의 값은 저장 시각을 모름) */
+    static CacheEntry from(Object stored) {
+        if (stored instanceof CacheEntry entry) {
+            return entry;
+        }
+        return new CacheEntry(stored, UNKNOWN_WRITE_TIME);
+    }
+
+    /** "없음" 표시인지 여부 (JSON 속성으로 기록되지 않도록 public getter로 두지 않음) */
+    boolean isTombstone() {
+        return value instanceof CacheTombstone;
+    }
+
+    /**
+     * 소프트 TTL이 지났는지 여부
+     * 저장 시각을 모르는 값은 바로 갱신 대상으로 봄 (새 형식으로 자연스럽게 교체)
+     */
+    boolean isStale(Duration softTtl, long nowMillis) {
+        if (softTtl == null) {
+            return false;
+        }
+        return nowMillis - writtenAt >= softTtl.toMillis();
+    }
+}
@@ -0,0 +1,25 @@
+package com.gritmoments.backend.common.cache;
+
+/**
+ * L1 캐시 무효화 메시지 (세션 01: 캐시, 세션 06: 다중 노드)
+ *
+ * 한 노드에서 캐시가 변경되면 Redis Pub/Sub으로 이 메시지를 발행하고,
+ * 다른 노드들은 자신의 L1(로컬) 캐시에서 해당 키를 제거합니다.
+ *
+ * @param origin 발행한 노드의 인스턴스 ID (자기 자신이 보낸 메시지는 무시)
+ * @param cacheName 캐시 이름 (예: "menus")
+ * @param key 캐시 키 (null이면 캐시 전체 비우기)
+ * @param dataChanged 데이터 자체가 변경됨 (evict/put) - false면 캐시 미스 후 다시 로딩한 것
+ *                    (적응형 TTL이 키별 변경 빈도를 계산할 때 사용)
+ */
+public record CacheInvalidationMessage(
+        String origin,
+        String cacheName,
+        String key,
+        boolean dataChanged
+) {
+    /** 캐시 전체 비우기 메시지인지 여부 */
+    public boolean isClear() {
+        return key == null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.gritmoments.backend.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * L1 캐시 무효화 메시지 발행기 (세션 01: 캐시, 세션 06: 다중 노드)
+ *
+ * app, app-replica처럼 여러 노드가 Nginx 뒤에서 동작하면
+ * 각 노드의 L1(로컬) 캐시가 서로 다른 값을 가질 수 있습니다.
+ * 캐시를 변경한 노드가 Redis 채널에 메시지를 발행하여 다른 노드의 L1을 비웁니다.
+ *
+ * 발행 실패는 캐시 정합성을 L1 TTL만큼 늦출 뿐이므로 예외를 전파하지 않습니다.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    /** 무효화 메시지 채널 */
+    public static final String CHANNEL = "grit:cache:invalidation";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /** 이 JVM 인스턴스의 ID (같은 server.id로 재기동해도 구분되도록 UUID 부여) */
+    private final String instanceId;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String serverId) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.instanceId = serverId + ":" + UUID.randomUUID();
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /** 특정 키 무효화 발행 (캐시 미스 후 새로 로딩해 저장한 경우) */
+    public void publishEvict(String cacheName, String key) {
+        publish(new CacheInvalidationMessage(instanceId, cacheName, key, false));
+    }
+
+    /** 특정 키의 데이터 변경 발행 (evict/put) */
+    public void publishChange(String cacheName, String key) {
+        publish(new CacheInvalidationMessage(instanceId, cacheName, key, true));
+    }
+
+    /** 캐시 전체 비우기 발행 */
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(instanceId, cacheName, null, true));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[캐시 무효화 발행 실패] 캐시: {}, 키: {}, 사유: {}",
+                    message.cacheName(), message.key(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.gritmoments.backend.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 노드 간 캐시 로딩 락 (세션 01: 캐시 스탬피드 방지, 세션 05: 분산 락)
+ *
+ * 같은 키의 캐시가 만료되었을 때 여러 노드가 동시에 DB를 조회하지 않도록,
+ * SET NX PX로 짧은 임대(lease) 락을 잡은 노드 하나만 로딩합니다.
+ *
+ * - 락은 lease 시간이 지나면 자동 해제 (로딩 중 노드가 죽어도 영구 락 없음)
+ * - 해제는 자신이 잡은 락일 때만 (토큰 비교 후 삭제, Lua 스크립트로 원자 실행)
+ * - Redis 장애 시에는 락 없이 로딩하도록 null을 반환 (가용성 우선)
+ */
+@Slf4j
+public class CacheLoadLock {
+
+    private static final String KEY_PREFIX = "grit::load-lock::";
+
+    /** 토큰이 일치할 때만 삭제 */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('del', KEYS[1]) " +
+            "else " +
+            "  return 0 " +
+            "end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public CacheLoadLock(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 락 획득 시도 (대기하지 않음)
+     *
+     * @return 획득 시 해제용 토큰, 실패(다른 노드가 로딩 중) 시 null
+     * @throws IllegalStateException Redis 오류로 락 상태를 알 수 없을 때
+     */
+    public String tryAcquire(String cacheName, String key, Duration lease) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired;
+        try {
+            acquired = redisTemplate.opsForValue().setIfAbsent(lockKey(cacheName, key), token, lease);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("캐시 로딩 락 획득 실패: " + e.getMessage(), e);
+        }
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    /** 락 해제 (자신이 잡은 락일 때만) */
+    public void release(String cacheName, String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey(cacheName, key)), token);
+        } catch (RuntimeException e) {
+            // lease 만료로 자동 해제되므로 실패해도 무시
+            log.warn("[캐시 로딩 락 해제 실패] 캐시: {}, 키: {}, 사유: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private String lockKey(String cacheName, String key) {
+        return KEY_PREFIX + cacheName + "::" + key;
+    }
+}
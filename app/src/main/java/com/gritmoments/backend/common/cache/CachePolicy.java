@@ -0,0 +1,183 @@
+package com.gritmoments.backend.common.cache;
+
+import java.time.Duration;
+
+/**
+ * 캐시별 동작 정책 (세션 01: 캐시)
+ *
+ * RedisCacheConfiguration이 L2(Redis)의 TTL/직렬화를 정한다면,
+ * CachePolicy는 그 앞단에서 TwoLevelCache가 어떻게 동작할지를 정합니다.
+ * RedisCacheConfiguration처럼 불변 객체이며, 변경 메서드는 새 인스턴스를 반환합니다.
+ *
+ * 사용 예 (RedisConfig):
+ *   CachePolicy.defaults()
+ *       .localCache(500, Duration.ofSeconds(60))
+ *       .loadLock(Duration.ofSeconds(3))
+ *       .softTtl(Duration.ofMinutes(8))
+ *       .negativeCaching(Duration.ofSeconds(30))    // 없는 ID는 30초간 DB 조회 생략
+ *
+ *   CachePolicy.defaults()
+ *       .hotKeyReplication(Duration.ofSeconds(5))   // L1 없이 핫 키만 로컬 복제
+ */
+public final class CachePolicy {
+
+    private static final CachePolicy DEFAULTS = new CachePolicy(0, Duration.ZERO, Duration.ZERO, null, Duration.ZERO,
+            Duration.ZERO);
+
+    /** L1(로컬) 캐시 최대 항목 수 (0이면 L1 미사용) */
+    private final long localMaximumSize;
+
+    /** L1(로컬) 캐시 TTL - 다른 노드의 무효화 메시지를 놓쳤을 때의 최대 불일치 시간 */
+    private final Duration localTtl;
+
+    /** 노드 간 로딩 락 임대 시간 (0이면 노드 내 single-flight만 적용) */
+    private final Duration loadLockLease;
+
+    /**
+     * 소프트 TTL (null이면 미사용)
+     * 이 시간이 지난 값은 그대로 응답하고 뒤에서 갱신, 하드 TTL(Redis TTL)이 지나야 동기 로딩
+     */
+    private final Duration softTtl;
+
+    /** 핫 키 로컬 복제본 TTL (0이면 미사용, L1을 쓰는 캐시는 이미 모든 키가 로컬에 있음) */
+    private final Duration hotKeyTtl;
+
+    /** "없음" 표시(CacheTombstone) TTL (0이면 미사용) */
+    private final Duration negativeTtl;
+
+    private CachePolicy(long localMaximumSize, Duration localTtl, Duration loadLockLease, Duration softTtl,
+                        Duration hotKeyTtl, Duration negativeTtl) {
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+        this.loadLockLease = loadLockLease;
+        this.softTtl = softTtl;
+        this.hotKeyTtl = hotKeyTtl;
+        this.negativeTtl = negativeTtl;
+    }
+
+    /** L1 없이 Redis만 사용하는 기본 정책 */
+    public static CachePolicy defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * L1(로컬) 캐시 사용
+     *
+     * @param maximumSize 최대 항목 수 (초과 시 W-TinyLFU 방식으로 제거)
+     * @param ttl 쓰기 후 만료 시간
+     */
+    public CachePolicy localCache(long maximumSize, Duration ttl) {
+        if (maximumSize <= 0 || !isPositive(ttl)) {
+            throw new IllegalArgumentException("L1 캐시 크기와 TTL은 0보다 커야 합니다.");
+        }
+        return new CachePolicy(maximumSize, ttl, loadLockLease, softTtl, hotKeyTtl, negativeTtl);
+    }
+
+    /**
+     * 노드 간 로딩 락 사용 (캐시 스탬피드 방지)
+     *
+     * 캐시 미스 시 Redis 임대 락을 잡은 노드 하나만 DB를 조회하고,
+     * 다른 노드는 lease 시간 동안 Redis에 값이 채워지기를 기다립니다.
+     *
+     * @param lease 락 임대 시간 (로딩이 이보다 오래 걸리면 다른 노드도 로딩 시작)
+     */
+    public CachePolicy loadLock(Duration lease) {
+        if (!isPositive(lease)) {
+            throw new IllegalArgumentException("로딩 락 임대 시간은 0보다 커야 합니다.");
+        }
+        return new CachePolicy(localMaximumSize, localTtl, lease, softTtl, hotKeyTtl, negativeTtl);
+    }
+
+    /**
+     * 소프트 TTL 사용 (stale-while-revalidate / refresh-ahead)
+     *
+     * 만료 직후 첫 요청이 DB 조회를 기다리는 지연(latency cliff)을 없앱니다.
+     * 하드 TTL(RedisCacheConfiguration.entryTtl)보다 짧아야 의미가 있습니다.
+     * (@Cacheable(sync = true)일 때만 갱신할 로더가 있으므로 그 경우에만 동작)
+     *
+     * @param ttl 저장 후 이 시간이 지나면 갱신 대상
+     */
+    public CachePolicy softTtl(Duration ttl) {
+        if (!isPositive(ttl)) {
+            throw new IllegalArgumentException("소프트 TTL은 0보다 커야 합니다.");
+        }
+        return new CachePolicy(localMaximumSize, localTtl, loadLockLease, ttl, hotKeyTtl, negativeTtl);
+    }
+
+    /**
+     * 핫 키 로컬 복제 사용 (L1을 쓰지 않는 캐시용)
+     *
+     * 접근 빈도가 HotKeyDetector 기준을 넘은 키만 짧은 TTL로 프로세스 내에 복제하여
+     * 특정 키 하나가 Redis 단일 스레드를 포화시키는 것을 막습니다.
+     * 변경 시에는 L1과 같은 방식으로 Pub/Sub 무효화가 적용됩니다.
+     *
+     * @param ttl 복제본 TTL (짧을수록 다른 노드 변경과의 불일치 시간이 짧음)
+     */
+    public CachePolicy hotKeyReplication(Duration ttl) {
+        if (!isPositive(ttl)) {
+            throw new IllegalArgumentException("핫 키 복제본 TTL은 0보다 커야 합니다.");
+        }
+        return new CachePolicy(localMaximumSize, localTtl, loadLockLease, softTtl, ttl, negativeTtl);
+    }
+
+    /**
+     * 네거티브 캐싱 사용 (존재하지 않는 ID를 반복 조회하는 요청 차단)
+     *
+     * 로더가 ResourceNotFoundException을 던지면 "없음" 표시를 짧은 TTL로 저장하고,
+     * TTL 동안 같은 키 조회는 DB 없이 같은 예외로 응답합니다.
+     * 대상이 새로 생성되면 해당 키를 evict해야 합니다. (CatalogEntityListener)
+     *
+     * @param ttl "없음" 표시 TTL (생성 직후 잘못된 404가 보일 수 있는 최대 시간이기도 함)
+     */
+    public CachePolicy negativeCaching(Duration ttl) {
+        if (!isPositive(ttl)) {
+            throw new IllegalArgumentException("네거티브 캐시 TTL은 0보다 커야 합니다.");
+        }
+        return new CachePolicy(localMaximumSize, localTtl, loadLockLease, softTtl, hotKeyTtl, ttl);
+    }
+
+    public boolean isLocalCacheEnabled() {
+        return localMaximumSize > 0;
+    }
+
+    public long getLocalMaximumSize() {
+        return localMaximumSize;
+    }
+
+    public Duration getLocalTtl() {
+        return localTtl;
+    }
+
+    public boolean isLoadLockEnabled() {
+        return isPositive(loadLockLease);
+    }
+
+    public Duration getLoadLockLease() {
+        return loadLockLease;
+    }
+
+    /** 소프트 TTL (미사용 시 null) */
+    public Duration getSoftTtl() {
+        return softTtl;
+    }
+
+    public boolean isHotKeyReplicationEnabled() {
+        return isPositive(hotKeyTtl);
+    }
+
+    public Duration getHotKeyTtl() {
+        return hotKeyTtl;
+    }
+
+    public boolean isNegativeCachingEnabled() {
+        return isPositive(negativeTtl);
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    private static boolean isPositive(Duration duration) {
+        return duration != null && !duration.isNegative() && !duration.isZero();
+    }
+}
@@ -0,0 +1,13 @@
+package com.gritmoments.backend.common.cache;
+
+/**
+ * "없음" 표시 캐시 값 (세션 01: 캐시, 네거티브 캐싱)
+ *
+ * RedisConfig는 null 값을 캐싱하지 않으므로, 조회 대상이 없어 로더가 ResourceNotFoundException을
+ * 던진 경우 이 표시를 짧은 TTL로 대신 저장합니다. (CachePolicy.negativeCaching)
+ * 이후 같은 키 조회는 DB에 가지 않고 같은 메시지의 ResourceNotFoundException을 던집니다.
+ *
+ * @param message 원래 예외 메시지 (응답을 처음과 똑같이 유지)
+ */
+public record CacheTombstone(String message) {
+}
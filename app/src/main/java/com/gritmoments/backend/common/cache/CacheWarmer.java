@@ -0,0 +1,152 @@
+package com.gritmoments.backend.common.cache;
+
+import com.gritmoments.backend.menu.service.MenuService;
+import com.gritmoments.backend.order.repository.OrderRepository;
+import com.gritmoments.backend.restaurant.service.RestaurantService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 시작 시 캐시 워밍업 (세션 01: 캐시, 세션 11: 배포)
+ *
+ * 배포/재시작 직후에는 menus, restaurants 캐시가 모두 비어 있어 첫 몇 분간의 트래픽이 MySQL로 몰립니다.
+ * 최근 주문이 많은 가게 상위 N개의 가게 상세와 메뉴 목록을 미리 캐시에 올려둡니다.
+ *
+ * - ApplicationReadyEvent 리스너는 readiness 상태가 ACCEPTING_TRAFFIC으로 바뀌기 전에 동기 실행됩니다.
+ *   -> 워밍업이 끝나야 /actuator/health/readiness가 UP이 되어 트래픽을 받음
+ * - 서비스 메서드(@Cacheable)를 그대로 호출하므로 캐시 키/TTL/L1 채우기가 실제 요청과 동일
+ * - 동시 실행 수(concurrency)로 DB 부하를 제한하고, timeout이 지나면 남은 작업을 버리고 시작 진행
+ *
+ * 설정: application.yml의 cache.warmup.*
+ * 메트릭: cache.warmup.progress (0~1), cache.warmup.duration, cache.warmup.failures
+ */
+@Slf4j
+@Component
+public class CacheWarmer {
+
+    private final RestaurantService restaurantService;
+    private final MenuService menuService;
+    private final OrderRepository orderRepository;
+
+    private final boolean enabled;
+    private final int topRestaurants;
+    private final Duration orderWindow;
+    private final int concurrency;
+    private final Duration timeout;
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final Timer duration;
+    private final Counter failures;
+
+    public CacheWarmer(RestaurantService restaurantService,
+                       MenuService menuService,
+                       OrderRepository orderRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${cache.warmup.top-restaurants:50}") int topRestaurants,
+                       @Value("${cache.warmup.order-window:7d}") Duration orderWindow,
+                       @Value("${cache.warmup.concurrency:4}") int concurrency,
+                       @Value("${cache.warmup.timeout:30s}") Duration timeout) {
+        this.restaurantService = restaurantService;
+        this.menuService = menuService;
+        this.orderRepository = orderRepository;
+        this.enabled = enabled;
+        this.topRestaurants = topRestaurants;
+        this.orderWindow = orderWindow;
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+
+        Gauge.builder("cache.warmup.progress", this, CacheWarmer::progress)
+                .description("캐시 워밍업 진행률 (0~1, 대상이 없으면 1)")
+                .register(meterRegistry);
+        this.duration = Timer.builder("cache.warmup.duration")
+                .description("캐시 워밍업 소요 시간")
+                .register(meterRegistry);
+        this.failures = Counter.builder("cache.warmup.failures")
+                .description("워밍업 중 로딩에 실패한 가게 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            log.info("[캐시 워밍업] 비활성화됨 (cache.warmup.enabled=false)");
+            return;
+        }
+        duration.record(this::warmUpHotRestaurants);
+    }
+
+    private void warmUpHotRestaurants() {
+        List<Long> restaurantIds;
+        try {
+            restaurantIds = orderRepository.findTopRestaurantIdsByOrderCountSince(
+                    LocalDateTime.now().minus(orderWindow), PageRequest.of(0, topRestaurants));
+        } catch (RuntimeException e) {
+            // 워밍업 실패가 시작을 막지 않도록 (캐시는 요청 시 채워짐)
+            log.warn("[캐시 워밍업] 대상 가게 조회 실패, 건너뜀: {}", e.getMessage());
+            return;
+        }
+
+        total.set(restaurantIds.size());
+        log.info("[캐시 워밍업] 최근 {} 주문 상위 가게 {}곳 로딩 시작 (동시 {}개)",
+                orderWindow, restaurantIds.size(), concurrency);
+
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Long restaurantId : restaurantIds) {
+            executor.execute(() -> warmUpRestaurant(restaurantId));
+        }
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("[캐시 워밍업] {} 초과로 중단 ({}/{} 완료)", timeout, completed.get(), total.get());
+                executor.shutdownNow();
+                return;
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        log.info("[캐시 워밍업] 완료 ({}/{}곳, 실패 {}곳)", completed.get(), total.get(), (long) failures.count());
+    }
+
+    private void warmUpRestaurant(Long restaurantId) {
+        try {
+            restaurantService.getRestaurant(restaurantId);
+            menuService.getMenusByRestaurant(restaurantId);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("[캐시 워밍업] 가게 {} 로딩 실패: {}", restaurantId, e.getMessage());
+        } finally {
+            completed.incrementAndGet();
+        }
+    }
+
+    private double progress() {
+        int target = total.get();
+        return target == 0 ? 1.0 : (double) completed.get() / target;
+    }
+}
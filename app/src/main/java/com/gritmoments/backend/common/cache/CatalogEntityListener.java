@@ -0,0 +1,80 @@
+package com.gritmoments.backend.common.cache;
+
+import com.gritmoments.backend.menu.entity.Menu;
+import com.gritmoments.backend.restaurant.entity.Restaurant;
+import jakarta.persistence.PostPersist;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 가게/메뉴 생성 시 네거티브 캐시 무효화 (세션 01: 캐시)
+ *
+ * 없는 ID로 조회되어 "없음" 표시가 저장됐거나 블룸 필터에 없던 ID가 새로 생기면,
+ * 생성 직후부터 조회되도록 다음을 처리합니다.
+ * - ExistingIdFilter에 ID 추가 (다른 노드에도 알림)
+ * - restaurants::{가게 ID}의 "없음" 표시, menus::{가게 ID}의 메뉴 목록 evict (다른 노드 L1 포함)
+ *
+ * 커밋 전에 반영하면 다른 요청이 아직 보이지 않는 행을 다시 "없음"으로 캐싱할 수 있으므로 커밋 후에 실행합니다.
+ * JPA 엔티티 리스너지만 Spring 빈으로 생성되며(Hibernate SpringBeanContainer),
+ * EntityManagerFactory 생성 중에 만들어지므로 의존 빈은 ObjectProvider로 늦게 가져옵니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogEntityListener {
+
+    private final ObjectProvider<ExistingIdFilter> existingIdFilter;
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    @PostPersist
+    public void onCreated(Object entity) {
+        if (entity instanceof Restaurant restaurant) {
+            Long id = restaurant.getId();
+            afterCommit(() -> {
+                existingIdFilter.ifAvailable(filter -> filter.recordCreated(ExistingIdFilter.RESTAURANT, id));
+                evict("restaurants", id);
+                evict("menus", id);
+            });
+        } else if (entity instanceof Menu menu) {
+            Long id = menu.getId();
+            Long restaurantId = menu.getRestaurant().getId();
+            afterCommit(() -> {
+                existingIdFilter.ifAvailable(filter -> filter.recordCreated(ExistingIdFilter.MENU, id));
+                evict("menus", restaurantId);
+            });
+        }
+    }
+
+    private void evict(String cacheName, Long key) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache cache = manager != null ? manager.getCache(cacheName) : null;
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evict(key);
+        } catch (RuntimeException e) {
+            // 네거티브 TTL이 지나면 자연히 해소됨
+            log.warn("[캐시 무효화 실패] 캐시: {}, 키: {}, 사유: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,675 @@
+package com.gritmoments.backend.common.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 필드 순서 기반 바이너리 인코딩 (세션 01: 캐시 직렬화)
+ *
+ * 값 = [태그 1바이트][내용]
+ *   - 정수: zigzag varint, 문자열: [길이 varint][UTF-8]
+ *   - 객체: [클래스 참조][필드 값들...] - 필드 이름 없이 선언 순서대로
+ *   - 클래스 참조: 처음 등장하면 0 + [클래스 이름][필드 지문], 이후에는 (등장 순번 + 1)
+ *     -> List<Menu>에서 클래스 이름은 한 번만 기록됨
+ *
+ * 필드 지문(fingerprint)은 필드 이름과 타입 목록의 해시입니다.
+ * 배포로 엔티티 구조가 바뀌면 지문이 달라지므로, 이전 구조로 저장된 값은 캐시 미스로 처리됩니다.
+ *
+ * 직렬화 대상 필드: static, transient, @JsonIgnore를 제외한 필드 (JSON 직렬화와 같은 범위)
+ * 객체는 기본 생성자(접근 제한자 무관)가 있거나 record여야 합니다.
+ */
+final class CompactCodec {
+
+    static final int MAX_VAR_INT_SIZE = 5;
+
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_INITIAL_CAPACITY = 1_024;
+
+    private static final byte T_NULL = 0;
+    private static final byte T_TRUE = 1;
+    private static final byte T_FALSE = 2;
+    private static final byte T_INT = 3;
+    private static final byte T_LONG = 4;
+    private static final byte T_SHORT = 5;
+    private static final byte T_BYTE = 6;
+    private static final byte T_CHAR = 7;
+    private static final byte T_DOUBLE = 8;
+    private static final byte T_FLOAT = 9;
+    private static final byte T_STRING = 10;
+    private static final byte T_BIG_DECIMAL = 11;
+    private static final byte T_BIG_INTEGER = 12;
+    private static final byte T_LOCAL_DATE_TIME = 13;
+    private static final byte T_LOCAL_DATE = 14;
+    private static final byte T_LOCAL_TIME = 15;
+    private static final byte T_INSTANT = 16;
+    private static final byte T_BYTES = 17;
+    private static final byte T_LIST = 18;
+    private static final byte T_SET = 19;
+    private static final byte T_MAP = 20;
+    private static final byte T_ENUM = 21;
+    private static final byte T_OBJECT = 22;
+
+    private final String allowedPackage;
+    private final ClassLoader classLoader;
+
+    private final ConcurrentMap<Class<?>, ClassDescriptor> descriptorsByType = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ClassDescriptor> descriptorsByName = new ConcurrentHashMap<>();
+
+    CompactCodec(String allowedPackage, ClassLoader classLoader) {
+        this.allowedPackage = allowedPackage;
+        this.classLoader = classLoader;
+    }
+
+    // =========================================================================
+    // 인코딩
+    // =========================================================================
+
+    byte[] encode(Object value) {
+        Output out = new Output(256);
+        writeValue(out, value, new IdentityHashMap<>(), 0);
+        return out.toByteArray();
+    }
+
+    private void writeValue(Output out, Object value, Map<Class<?>, Integer> classRefs, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new UnsupportedTypeException("객체 깊이가 " + MAX_DEPTH + "를 넘습니다 (순환 참조 가능성)");
+        }
+
+        if (value == null) {
+            out.writeByte(T_NULL);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? T_TRUE : T_FALSE);
+        } else if (value instanceof Integer i) {
+            out.writeByte(T_INT);
+            out.writeVarInt(zigZag(i));
+        } else if (value instanceof Long l) {
+            out.writeByte(T_LONG);
+            out.writeVarLong(zigZag(l));
+        } else if (value instanceof Short s) {
+            out.writeByte(T_SHORT);
+            out.writeVarInt(zigZag(s));
+        } else if (value instanceof Byte b) {
+            out.writeByte(T_BYTE);
+            out.writeByte(b);
+        } else if (value instanceof Character c) {
+            out.writeByte(T_CHAR);
+            out.writeVarInt(c);
+        } else if (value instanceof Double d) {
+            out.writeByte(T_DOUBLE);
+            out.writeFixedLong(Double.doubleToRawLongBits(d));
+        } else if (value instanceof Float f) {
+            out.writeByte(T_FLOAT);
+            out.writeFixedInt(Float.floatToRawIntBits(f));
+        } else if (value instanceof String s) {
+            out.writeByte(T_STRING);
+            out.writeString(s);
+        } else if (value instanceof BigDecimal d) {
+            out.writeByte(T_BIG_DECIMAL);
+            out.writeString(d.toString());
+        } else if (value instanceof BigInteger i) {
+            out.writeByte(T_BIG_INTEGER);
+            out.writeString(i.toString());
+        } else if (value instanceof LocalDateTime t) {
+            out.writeByte(T_LOCAL_DATE_TIME);
+            out.writeVarLong(zigZag(t.toLocalDate().toEpochDay()));
+            out.writeVarLong(t.toLocalTime().toNanoOfDay());
+        } else if (value instanceof LocalDate d) {
+            out.writeByte(T_LOCAL_DATE);
+            out.writeVarLong(zigZag(d.toEpochDay()));
+        } else if (value instanceof LocalTime t) {
+            out.writeByte(T_LOCAL_TIME);
+            out.writeVarLong(t.toNanoOfDay());
+        } else if (value instanceof Instant t) {
+            out.writeByte(T_INSTANT);
+            out.writeVarLong(zigZag(t.getEpochSecond()));
+            out.writeVarInt(t.getNano());
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(T_BYTES);
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+        } else if (value instanceof Set<?> set) {
+            out.writeByte(T_SET);
+            writeElements(out, set, classRefs, depth);
+        } else if (value instanceof Collection<?> collection) {
+            out.writeByte(T_LIST);
+            writeElements(out, collection, classRefs, depth);
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(T_MAP);
+            out.writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey(), classRefs, depth + 1);
+                writeValue(out, entry.getValue(), classRefs, depth + 1);
+            }
+        } else if (value instanceof Enum<?> e) {
+            out.writeByte(T_ENUM);
+            writeClassRef(out, descriptorFor(e.getDeclaringClass()), classRefs);
+            out.writeString(e.name());
+        } else {
+            ClassDescriptor descriptor = descriptorFor(value.getClass());
+            out.writeByte(T_OBJECT);
+            writeClassRef(out, descriptor, classRefs);
+            for (Field field : descriptor.fields) {
+                writeValue(out, descriptor.read(field, value), classRefs, depth + 1);
+            }
+        }
+    }
+
+    private void writeElements(Output out, Collection<?> elements, Map<Class<?>, Integer> classRefs, int depth) {
+        out.writeVarInt(elements.size());
+        for (Object element : elements) {
+            writeValue(out, element, classRefs, depth + 1);
+        }
+    }
+
+    private void writeClassRef(Output out, ClassDescriptor descriptor, Map<Class<?>, Integer> classRefs) {
+        Integer ref = classRefs.get(descriptor.type);
+        if (ref != null) {
+            out.writeVarInt(ref + 1);
+            return;
+        }
+        classRefs.put(descriptor.type, classRefs.size());
+        out.writeVarInt(0);
+        out.writeString(descriptor.type.getName());
+        out.writeFixedInt(descriptor.fingerprint);
+    }
+
+    private ClassDescriptor descriptorFor(Class<?> type) {
+        ClassDescriptor descriptor = descriptorsByType.get(type);
+        if (descriptor == null) {
+            descriptor = descriptorsByType.computeIfAbsent(type, this::describe);
+        }
+        return descriptor;
+    }
+
+    // =========================================================================
+    // 디코딩
+    // =========================================================================
+
+    Object decode(byte[] bytes, int offset) {
+        Input in = new Input(bytes, offset);
+        Object value = readValue(in, new ArrayList<>(), 0);
+        if (in.position() != bytes.length) {
+            throw new IllegalStateException("값 뒤에 남은 데이터가 있습니다.");
+        }
+        return value;
+    }
+
+    private Object readValue(Input in, List<ClassDescriptor> classRefs, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalStateException("객체 깊이가 " + MAX_DEPTH + "를 넘습니다.");
+        }
+
+        byte tag = in.readByte();
+        switch (tag) {
+            case T_NULL:
+                return null;
+            case T_TRUE:
+                return Boolean.TRUE;
+            case T_FALSE:
+                return Boolean.FALSE;
+            case T_INT:
+                return unZigZag(in.readVarInt());
+            case T_LONG:
+                return unZigZag(in.readVarLong());
+            case T_SHORT:
+                return (short) unZigZag(in.readVarInt());
+            case T_BYTE:
+                return in.readByte();
+            case T_CHAR:
+                return (char) in.readVarInt();
+            case T_DOUBLE:
+                return Double.longBitsToDouble(in.readFixedLong());
+            case T_FLOAT:
+                return Float.intBitsToFloat(in.readFixedInt());
+            case T_STRING:
+                return in.readString();
+            case T_BIG_DECIMAL:
+                return new BigDecimal(in.readString());
+            case T_BIG_INTEGER:
+                return new BigInteger(in.readString());
+            case T_LOCAL_DATE_TIME:
+                return LocalDateTime.of(
+                        LocalDate.ofEpochDay(unZigZag(in.readVarLong())),
+                        LocalTime.ofNanoOfDay(in.readVarLong()));
+            case T_LOCAL_DATE:
+                return LocalDate.ofEpochDay(unZigZag(in.readVarLong()));
+            case T_LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(in.readVarLong());
+            case T_INSTANT:
+                return Instant.ofEpochSecond(unZigZag(in.readVarLong()), in.readVarInt());
+            case T_BYTES:
+                return in.readBytes(in.readVarInt());
+            case T_LIST: {
+                int size = in.readVarInt();
+                List<Object> list = new ArrayList<>(Math.min(size, MAX_INITIAL_CAPACITY));
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, classRefs, depth + 1));
+                }
+                return list;
+            }
+            case T_SET: {
+                int size = in.readVarInt();
+                Set<Object> set = new LinkedHashSet<>(Math.min(size, MAX_INITIAL_CAPACITY));
+                for (int i = 0; i < size; i++) {
+                    set.add(readValue(in, classRefs, depth + 1));
+                }
+                return set;
+            }
+            case T_MAP: {
+                int size = in.readVarInt();
+                Map<Object, Object> map = new LinkedHashMap<>(Math.min(size, MAX_INITIAL_CAPACITY));
+                for (int i = 0; i < size; i++) {
+                    Object key = readValue(in, classRefs, depth + 1);
+                    map.put(key, readValue(in, classRefs, depth + 1));
+                }
+                return map;
+            }
+            case T_ENUM:
+                return readEnum(readClassRef(in, classRefs), in.readString());
+            case T_OBJECT:
+                return readObject(in, readClassRef(in, classRefs), classRefs, depth);
+            default:
+                throw new IllegalStateException("알 수 없는 태그: " + tag);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object readEnum(ClassDescriptor descriptor, String name) {
+        if (!descriptor.type.isEnum()) {
+            throw new IllegalStateException("enum 타입이 아닙니다: " + descriptor.type.getName());
+        }
+        try {
+            return Enum.valueOf((Class<? extends Enum>) descriptor.type, name);
+        } catch (IllegalArgumentException e) {
+            throw new SchemaMismatchException(descriptor.type.getName() + "에 " + name + " 상수가 없습니다.");
+        }
+    }
+
+    private Object readObject(Input in, ClassDescriptor descriptor, List<ClassDescriptor> classRefs, int depth) {
+        Field[] fields = descriptor.fields;
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = readValue(in, classRefs, depth + 1);
+        }
+        return descriptor.instantiate(values);
+    }
+
+    private ClassDescriptor readClassRef(Input in, List<ClassDescriptor> classRefs) {
+        int ref = in.readVarInt();
+        if (ref > 0) {
+            if (ref > classRefs.size()) {
+                throw new IllegalStateException("잘못된 클래스 참조: " + ref);
+            }
+            return classRefs.get(ref - 1);
+        }
+
+        String className = in.readString();
+        int fingerprint = in.readFixedInt();
+        ClassDescriptor descriptor = descriptorForName(className);
+        if (descriptor.fingerprint != fingerprint) {
+            throw new SchemaMismatchException(className + "의 필드 구성이 저장 시점과 다릅니다.");
+        }
+        classRefs.add(descriptor);
+        return descriptor;
+    }
+
+    private ClassDescriptor descriptorForName(String className) {
+        ClassDescriptor descriptor = descriptorsByName.get(className);
+        if (descriptor != null) {
+            return descriptor;
+        }
+        if (!className.startsWith(allowedPackage)) {
+            throw new IllegalStateException("허용되지 않은 타입입니다: " + className);
+        }
+        Class<?> type;
+        try {
+            type = Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new SchemaMismatchException(className + " 클래스가 없습니다.");
+        }
+        descriptor = descriptorFor(type);
+        descriptorsByName.putIfAbsent(className, descriptor);
+        return descriptor;
+    }
+
+    // =========================================================================
+    // 클래스 구조 분석
+    // =========================================================================
+
+    private ClassDescriptor describe(Class<?> type) {
+        if (!type.getName().startsWith(allowedPackage)) {
+            throw new UnsupportedTypeException(type.getName() + "은(는) 허용된 패키지 밖의 타입입니다.");
+        }
+        if (type.isAnonymousClass() || type.isLocalClass() || type.isSynthetic() || type.isArray()
+                || type.getName().contains("$HibernateProxy")) {
+            throw new UnsupportedTypeException(type.getName() + "은(는) 이름으로 다시 만들 수 없는 타입입니다.");
+        }
+        if (type.isEnum()) {
+            return new ClassDescriptor(type, new Field[0], fingerprint(type, new Field[0]), null);
+        }
+
+        Field[] fields = serializableFields(type);
+        Constructor<?> constructor;
+        try {
+            constructor = type.isRecord()
+                    ? type.getDeclaredConstructor(Arrays.stream(fields).map(Field::getType).toArray(Class<?>[]::new))
+                    : type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            for (Field field : fields) {
+                field.setAccessible(true);
+            }
+        } catch (NoSuchMethodException | RuntimeException e) {
+            throw new UnsupportedTypeException(type.getName() + "을(를) 생성할 수 없습니다: " + e.getMessage());
+        }
+        return new ClassDescriptor(type, fields, fingerprint(type, fields), constructor);
+    }
+
+    /** 상위 클래스의 필드부터 선언 순서대로 */
+    private static Field[] serializableFields(Class<?> type) {
+        if (type.isRecord()) {
+            RecordComponent[] components = type.getRecordComponents();
+            Field[] fields = new Field[components.length];
+            for (int i = 0; i < components.length; i++) {
+                try {
+                    fields[i] = type.getDeclaredField(components[i].getName());
+                } catch (NoSuchFieldException e) {
+                    throw new UnsupportedTypeException(e.getMessage());
+                }
+            }
+            return fields;
+        }
+
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                        || field.isAnnotationPresent(JsonIgnore.class)) {
+                    continue;
+                }
+                fields.add(field);
+            }
+        }
+        return fields.toArray(new Field[0]);
+    }
+
+    /** 필드 이름 + 타입 목록의 FNV-1a 해시 */
+    private static int fingerprint(Class<?> type, Field[] fields) {
+        StringBuilder signature = new StringBuilder(type.isEnum() ? "enum" : type.isRecord() ? "record" : "class");
+        for (Field field : fields) {
+            signature.append(';').append(field.getName()).append(':').append(field.getGenericType().getTypeName());
+        }
+        int hash = 0x811C9DC5;
+        for (byte b : signature.toString().getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+
+    private static final class ClassDescriptor {
+
+        private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = Map.of(
+                boolean.class, false, byte.class, (byte) 0, short.class, (short) 0, char.class, (char) 0,
+                int.class, 0, long.class, 0L, float.class, 0f, double.class, 0d);
+
+        private final Class<?> type;
+        private final Field[] fields;
+        private final int fingerprint;
+        private final Constructor<?> constructor;
+
+        private ClassDescriptor(Class<?> type, Field[] fields, int fingerprint, Constructor<?> constructor) {
+            this.type = type;
+            this.fields = fields;
+            this.fingerprint = fingerprint;
+            this.constructor = constructor;
+        }
+
+        Object read(Field field, Object target) {
+            try {
+                return field.get(target);
+            } catch (IllegalAccessException e) {
+                throw new UnsupportedTypeException(e.getMessage());
+            }
+        }
+
+        Object instantiate(Object[] values) {
+            try {
+                if (type.isRecord()) {
+                    for (int i = 0; i < fields.length; i++) {
+                        if (values[i] == null && fields[i].getType().isPrimitive()) {
+                            values[i] = PRIMITIVE_DEFAULTS.get(fields[i].getType());
+                        }
+                    }
+                    return constructor.newInstance(values);
+                }
+
+                Object instance = constructor.newInstance();
+                for (int i = 0; i < fields.length; i++) {
+                    if (values[i] != null || !fields[i].getType().isPrimitive()) {
+                        fields[i].set(instance, values[i]);
+                    }
+                }
+                return instance;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(type.getName() + " 생성 실패: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    // =========================================================================
+    // 바이트 입출력
+    // =========================================================================
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** target[offset]부터 varint 기록 후 다음 위치 반환 */
+    static int writeVarInt(byte[] target, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            target[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[offset++] = (byte) value;
+        return offset;
+    }
+
+    static final class Output {
+
+        private byte[] buffer;
+        private int position;
+
+        Output(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(MAX_VAR_INT_SIZE);
+            position = CompactCodec.writeVarInt(buffer, position, value);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeFixedInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(utf8.length);
+            writeBytes(utf8, 0, utf8.length);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int position() {
+            return position;
+        }
+
+        byte readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalStateException("데이터가 예상보다 짧습니다.");
+            }
+            return buffer[position++];
+        }
+
+        byte[] readBytes(int length) {
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalStateException("데이터가 예상보다 짧습니다.");
+            }
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        int readVarInt() {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = readByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalStateException("잘못된 varint");
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalStateException("잘못된 varlong");
+        }
+
+        int readFixedInt() {
+            int result = 0;
+            for (int i = 0; i < 4; i++) {
+                result = (result << 8) | (readByte() & 0xFF);
+            }
+            return result;
+        }
+
+        long readFixedLong() {
+            long result = 0;
+            for (int i = 0; i < 8; i++) {
+                result = (result << 8) | (readByte() & 0xFF);
+            }
+            return result;
+        }
+
+        String readString() {
+            int length = readVarInt();
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalStateException("데이터가 예상보다 짧습니다.");
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+
+    /** 바이너리로 표현할 수 없는 타입 (직렬화기가 JSON으로 대신 저장) */
+    static final class UnsupportedTypeException extends RuntimeException {
+        UnsupportedTypeException(String message) {
+            super(message);
+        }
+    }
+
+    /** 저장 시점과 클래스 구조가 다름 (직렬화기가 캐시 미스로 처리) */
+    static final class SchemaMismatchException extends RuntimeException {
+        SchemaMismatchException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.gritmoments.backend.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+
+/**
+ * 캐시 값용 컴팩트 바이너리 직렬화기 (세션 01: 캐시)
+ *
+ * 타입 정보가 포함된 JSON(GenericJackson2JsonRedisSerializer)은
+ * 객체마다 클래스 이름과 필드 이름을 반복해서 기록하므로 List<Menu> 같은 값이 커지고 파싱도 느립니다.
+ * 이 직렬화기는 클래스 이름을 한 번만 기록하고 필드는 이름 없이 선언 순서대로 기록합니다. (CompactCodec)
+ *
+ * 저장 형식:
+ *   [MAGIC 1바이트][포맷 버전 1바이트][플래그 1바이트][본문]
+ *   - 플래그 LZ4: 본문 = [원본 길이(varint)][LZ4 압축 데이터] (compressionThreshold 이상일 때만)
+ *
+ * 호환성:
+ *   - MAGIC으로 시작하지 않는 값은 도입 전에 저장된 JSON으로 보고 fallback으로 읽음 (점진적 전환)
+ *   - 포맷 버전이나 클래스 구조(필드 지문)가 다르면 null을 반환 -> 캐시 미스로 처리되어 새로 저장됨
+ *   - 지원하지 않는 타입은 fallback(JSON)으로 저장
+ */
+@Slf4j
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /** JSON은 ASCII 문자로 시작하므로 0x80 이상의 값으로 구분 */
+    static final byte MAGIC = (byte) 0xBE;
+    static final byte FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 3;
+    private static final byte FLAG_LZ4 = 0x01;
+
+    /** 역직렬화를 허용하는 패키지 (임의 클래스 생성 방지) */
+    private static final String ALLOWED_PACKAGE = "com.gritmoments.backend.";
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+    private final CompactCodec codec;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    /**
+     * @param fallback 지원하지 않는 타입의 저장과 기존 JSON 값 읽기에 사용
+     * @param compressionThreshold 본문이 이 크기(바이트) 이상이면 LZ4 압축
+     */
+    public CompactRedisSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        if (compressionThreshold <= 0) {
+            throw new IllegalArgumentException("압축 기준 크기는 0보다 커야 합니다.");
+        }
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+        this.codec = new CompactCodec(ALLOWED_PACKAGE, getClass().getClassLoader());
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = lz4.fastCompressor();
+        this.decompressor = lz4.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        byte[] body;
+        try {
+            body = codec.encode(value);
+        } catch (CompactCodec.UnsupportedTypeException e) {
+            log.debug("[캐시 직렬화] 바이너리 미지원 타입이므로 JSON으로 저장: {}", e.getMessage());
+            return fallback.serialize(value);
+        }
+
+        if (body.length >= compressionThreshold) {
+            byte[] compressed = compress(body);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+
+        byte[] result = new byte[HEADER_SIZE + body.length];
+        writeHeader(result, (byte) 0);
+        System.arraycopy(body, 0, result, HEADER_SIZE, body.length);
+        return result;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            // 바이너리 직렬화 도입 전에 저장된 JSON 값
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE) {
+            throw new SerializationException("캐시 값의 헤더가 손상되었습니다.");
+        }
+        if (bytes[1] != FORMAT_VERSION) {
+            log.debug("[캐시 역직렬화] 포맷 버전 불일치 (저장: {}, 현재: {}) -> 캐시 미스", bytes[1], FORMAT_VERSION);
+            return null;
+        }
+
+        try {
+            return (bytes[2] & FLAG_LZ4) != 0
+                    ? codec.decode(decompress(bytes), 0)
+                    : codec.decode(bytes, HEADER_SIZE);
+        } catch (CompactCodec.SchemaMismatchException e) {
+            log.debug("[캐시 역직렬화] 클래스 구조 변경 -> 캐시 미스: {}", e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            throw new SerializationException("캐시 값을 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+
+    /** 압축 결과가 원본보다 작을 때만 반환 (아니면 null) */
+    private byte[] compress(byte[] body) {
+        byte[] buffer = new byte[HEADER_SIZE + CompactCodec.MAX_VAR_INT_SIZE + compressor.maxCompressedLength(body.length)];
+        writeHeader(buffer, FLAG_LZ4);
+        int offset = CompactCodec.writeVarInt(buffer, HEADER_SIZE, body.length);
+        int compressedLength = compressor.compress(body, 0, body.length, buffer, offset);
+        int total = offset + compressedLength;
+        if (total >= HEADER_SIZE + body.length) {
+            return null;
+        }
+        return Arrays.copyOf(buffer, total);
+    }
+
+    private byte[] decompress(byte[] bytes) {
+        CompactCodec.Input input = new CompactCodec.Input(bytes, HEADER_SIZE);
+        int originalLength = input.readVarInt();
+        byte[] body = new byte[originalLength];
+        decompressor.decompress(bytes, input.position(), body, 0, originalLength);
+        return body;
+    }
+
+    private void writeHeader(byte[] target, byte flags) {
+        target[0] = MAGIC;
+        target[1] = FORMAT_VERSION;
+        target[2] = flags;
+    }
+}
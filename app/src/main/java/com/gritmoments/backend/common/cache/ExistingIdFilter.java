@@ -0,0 +1,210 @@
+package com.gritmoments.backend.common.cache;
+
+import com.gritmoments.backend.menu.repository.MenuRepository;
+import com.gritmoments.backend.restaurant.repository.RestaurantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 존재하는 가게/메뉴 ID 필터 (세션 01: 캐시, 네거티브 캐싱)
+ *
+ * 없는 ID를 훑는 스크레이퍼 요청은 캐시에 값이 없으므로 매번 DB까지 내려갑니다.
+ * 노드마다 전체 ID의 블룸 필터를 메모리에 두고, 필터에 없는 ID는 DB 조회 없이 404로 응답합니다.
+ * (블룸 필터 자체는 넣은 ID에 대해 "없음"을 틀리지 않음)
+ *
+ * - 재구성: cache.id-filter.rebuild-interval마다 DB의 ID 목록으로 새 필터를 만들어 교체 (삭제된 ID 제거)
+ * - 생성 반영: 새 가게/메뉴가 저장되면 CatalogEntityListener가 recordCreated로 즉시 추가하고,
+ *   Redis Pub/Sub으로 다른 노드의 필터에도 추가
+ * - 첫 재구성 전이나 재구성 실패 시에는 "있을 수 있음"으로 응답 (DB 조회로 대체)
+ *
+ * 필터가 놓치는 ID (거짓 음성):
+ *   다른 노드의 생성 알림을 놓쳤거나(Pub/Sub은 전달을 보장하지 않음) JPA를 거치지 않고 INSERT된 행
+ *   (초기화 SQL, 관리 도구)은 다음 재구성(rebuild-interval, 기본 10분)까지 필터에 없습니다.
+ *   그동안 해당 ID는 404로 응답합니다. 이 결과는 "없음" 표시로 cache.negative-ttl(기본 30초) 동안만 캐싱되며,
+ *   가게 메뉴 목록의 빈 목록처럼 일반 TTL로 캐싱되지 않습니다.
+ *   즉시 반영이 필요하면 재구성 주기를 줄이거나 cache.id-filter.enabled=false로 끕니다.
+ */
+@Component
+@Slf4j
+public class ExistingIdFilter implements MessageListener {
+
+    /** 새 ID 알림 채널 (메시지: "restaurant:12", "menu:34") */
+    public static final String CHANNEL = "grit:catalog:created";
+
+    public static final String RESTAURANT = "restaurant";
+    public static final String MENU = "menu";
+
+    /** 재구성 사이에 추가될 ID까지 고려한 필터 크기 여유 (기존 ID 수의 배수) */
+    private static final int CAPACITY_FACTOR = 2;
+    private static final long MIN_CAPACITY = 1_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+
+    private final IdSet restaurants;
+    private final IdSet menus;
+
+    public ExistingIdFilter(RestaurantRepository restaurantRepository,
+                            MenuRepository menuRepository,
+                            StringRedisTemplate redisTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${cache.id-filter.enabled:true}") boolean enabled,
+                            @Value("${cache.id-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.restaurants = new IdSet(RESTAURANT, restaurantRepository::count, restaurantRepository::findAllIds,
+                rejectCounter(meterRegistry, RESTAURANT));
+        this.menus = new IdSet(MENU, menuRepository::count, menuRepository::findAllIds,
+                rejectCounter(meterRegistry, MENU));
+    }
+
+    private static Counter rejectCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("cache.id.filter.rejects")
+                .description("블룸 필터에 없어 DB 조회 없이 거절한 조회 수")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    /** 가게가 존재할 수 있는지 (false면 확실히 없음) */
+    public boolean mightContainRestaurant(Long id) {
+        return !enabled || restaurants.mightContain(id);
+    }
+
+    /** 메뉴가 존재할 수 있는지 (false면 확실히 없음) */
+    public boolean mightContainMenu(Long id) {
+        return !enabled || menus.mightContain(id);
+    }
+
+    /**
+     * 새로 저장된 ID 반영 (이 노드 + 다른 노드)
+     *
+     * @param type RESTAURANT 또는 MENU
+     */
+    public void recordCreated(String type, Long id) {
+        add(type, id);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, type + ":" + id);
+        } catch (RuntimeException e) {
+            // 다른 노드는 다음 재구성 때 반영됨
+            log.warn("[ID 필터] 생성 알림 발행 실패 ({}:{}): {}", type, id, e.getMessage());
+        }
+    }
+
+    /** 다른 노드의 생성 알림 수신 */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            add(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("[ID 필터] 생성 알림을 해석할 수 없습니다: {}", body);
+        }
+    }
+
+    /**
+     * DB의 전체 ID로 필터 재구성 (시작 직후 1회 + 주기적)
+     */
+    @Scheduled(fixedDelayString = "${cache.id-filter.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        restaurants.rebuild();
+        menus.rebuild();
+    }
+
+    private void add(String type, Long id) {
+        switch (type) {
+            case RESTAURANT -> restaurants.add(id);
+            case MENU -> menus.add(id);
+            default -> throw new IllegalArgumentException("알 수 없는 ID 종류: " + type);
+        }
+    }
+
+    /**
+     * 종류별 필터 (현재 필터 + 재구성 중인 필터)
+     *
+     * 재구성 중에 추가된 ID는 두 필터에 모두 넣어,
+     * DB 조회 시점과 교체 시점 사이에 생성된 ID가 빠지지 않게 합니다.
+     * 추가와 교체는 swapLock으로 묶어, 추가가 교체 전 필터만 보고 새 필터를 놓치지 않게 합니다.
+     * (DB 조회 동안에는 잠그지 않음)
+     */
+    private final class IdSet {
+
+        private final String type;
+        private final Supplier<Long> counter;
+        private final Supplier<List<Long>> loader;
+        private final Counter rejects;
+
+        private final Object swapLock = new Object();
+        private volatile BloomFilter current;
+        private BloomFilter building;
+
+        private IdSet(String type, Supplier<Long> counter, Supplier<List<Long>> loader, Counter rejects) {
+            this.type = type;
+            this.counter = counter;
+            this.loader = loader;
+            this.rejects = rejects;
+        }
+
+        boolean mightContain(Long id) {
+            BloomFilter filter = current;
+            if (id == null || filter == null || filter.mightContain(id)) {
+                return true;
+            }
+            rejects.increment();
+            return false;
+        }
+
+        void add(Long id) {
+            synchronized (swapLock) {
+                if (current != null) {
+                    current.add(id);
+                }
+                if (building != null) {
+                    building.add(id);
+                }
+            }
+        }
+
+        synchronized void rebuild() {
+            long started = System.currentTimeMillis();
+            try {
+                long capacity = Math.max(MIN_CAPACITY, counter.get() * CAPACITY_FACTOR);
+                BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+                synchronized (swapLock) {
+                    building = next;
+                }
+                List<Long> ids = loader.get();
+                ids.forEach(next::add);
+                synchronized (swapLock) {
+                    current = next;
+                    building = null;
+                }
+                log.info("[ID 필터] {} {}건 재구성 완료 ({}KB, {}ms)", type, ids.size(),
+                        next.sizeInBytes() / 1024, System.currentTimeMillis() - started);
+            } catch (RuntimeException e) {
+                // 기존 필터 유지 (없으면 모두 "있을 수 있음")
+                log.warn("[ID 필터] {} 재구성 실패: {}", type, e.getMessage());
+            } finally {
+                synchronized (swapLock) {
+                    building = null;
+                }
+            }
+        }
+    }
+}
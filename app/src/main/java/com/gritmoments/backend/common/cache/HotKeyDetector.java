@@ -0,0 +1,180 @@
+package com.gritmoments.backend.common.cache;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 캐시 키 접근 빈도 추적 (세션 01: 캐시, 핫 키 탐지)
+ *
+ * 프로모션 중에는 한 가게의 grit::menus::{id} 키가 전체 Redis 읽기의 큰 비중을 차지할 수 있습니다.
+ * 모든 키의 횟수를 정확히 세면 메모리가 키 수에 비례하므로, 고정 크기의 Count-Min Sketch로 근사합니다.
+ *
+ * - Count-Min Sketch: DEPTH개의 해시 행에서 카운터를 올리고, 가장 작은 값을 추정치로 사용 (과대 추정만 발생)
+ * - 감쇠: window마다 모든 카운터를 절반으로 -> "최근" 빈도만 반영
+ * - 상위 K개 후보: 추정치가 기준의 절반을 넘은 키만 이름을 기억 (엔드포인트/복제 판단용)
+ *
+ * 추정치가 hotThreshold 이상이면 핫 키로 판단합니다. (window 기준 노드당 접근 수)
+ */
+public class HotKeyDetector {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 4_096;
+    private static final int WIDTH_MASK = WIDTH - 1;
+
+    private final AtomicIntegerArray counters = new AtomicIntegerArray(DEPTH * WIDTH);
+    private final AtomicLong total = new AtomicLong();
+
+    /** 핫 키 후보 (캐시 이름::키 -> 후보) */
+    private final ConcurrentMap<String, Candidate> candidates = new ConcurrentHashMap<>();
+
+    private final int topK;
+    private final long hotThreshold;
+    private final long windowMillis;
+
+    private volatile long windowStartedAt = System.currentTimeMillis();
+    private final AtomicBoolean maintaining = new AtomicBoolean();
+
+    /**
+     * @param topK 추적/보고할 상위 키 수 (핫 키 복제본의 최대 개수이기도 함)
+     * @param hotThreshold window 동안 이 횟수 이상 접근된 키를 핫 키로 판단
+     * @param window 감쇠 주기
+     */
+    public HotKeyDetector(int topK, long hotThreshold, Duration window) {
+        if (topK <= 0 || hotThreshold <= 0 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("topK, hotThreshold, window는 0보다 커야 합니다.");
+        }
+        this.topK = topK;
+        this.hotThreshold = hotThreshold;
+        this.windowMillis = window.toMillis();
+    }
+
+    /**
+     * 접근 기록
+     *
+     * @return 이번 접근을 포함해 핫 키인지 여부
+     */
+    public boolean record(String cacheName, String key) {
+        maybeDecay();
+        String id = cacheName + "::" + key;
+        int h1 = spread(id.hashCode());
+        int h2 = spread(h1 * 0x9E3779B9) | 1;
+
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, h1, h2)));
+        }
+        total.incrementAndGet();
+
+        if (estimate >= hotThreshold / 2 && !candidates.containsKey(id)) {
+            candidates.putIfAbsent(id, new Candidate(cacheName, key, id));
+            if (candidates.size() > topK * 2) {
+                pruneCandidates();
+            }
+        }
+        return estimate >= hotThreshold;
+    }
+
+    /** 기록 없이 현재 핫 키인지 확인 */
+    public boolean isHot(String cacheName, String key) {
+        return estimate(cacheName + "::" + key) >= hotThreshold;
+    }
+
+    /** 추정 접근 수 상위 K개 (내림차순) */
+    public List<HotKey> topKeys() {
+        long totalCount = Math.max(1, total.get());
+        return candidates.values().stream()
+                .map(candidate -> {
+                    long count = estimate(candidate.id());
+                    return new HotKey(candidate.cacheName(), candidate.key(), count,
+                            (double) count / totalCount, count >= hotThreshold);
+                })
+                .sorted(Comparator.comparingLong(HotKey::estimatedCount).reversed())
+                .limit(topK)
+                .toList();
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public long getHotThreshold() {
+        return hotThreshold;
+    }
+
+    private int estimate(String id) {
+        int h1 = spread(id.hashCode());
+        int h2 = spread(h1 * 0x9E3779B9) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    /** window가 지났으면 모든 카운터를 절반으로 (한 스레드만 수행) */
+    private void maybeDecay() {
+        long now = System.currentTimeMillis();
+        if (now - windowStartedAt < windowMillis || !maintaining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < counters.length(); i++) {
+                counters.set(i, counters.get(i) >>> 1);
+            }
+            total.set(total.get() >>> 1);
+            candidates.values().removeIf(candidate -> estimate(candidate.id()) < hotThreshold / 4);
+            windowStartedAt = now;
+        } finally {
+            maintaining.set(false);
+        }
+    }
+
+    /** 후보가 너무 많으면 추정치 상위 K개만 남김 */
+    private void pruneCandidates() {
+        if (!maintaining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Set<String> keep = candidates.values().stream()
+                    .sorted(Comparator.comparingInt((Candidate candidate) -> estimate(candidate.id())).reversed())
+                    .limit(topK)
+                    .map(Candidate::id)
+                    .collect(Collectors.toSet());
+            candidates.keySet().retainAll(keep);
+        } finally {
+            maintaining.set(false);
+        }
+    }
+
+    private static int index(int row, int h1, int h2) {
+        return row * WIDTH + ((h1 + row * h2) & WIDTH_MASK);
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    private record Candidate(String cacheName, String key, String id) {
+    }
+
+    /**
+     * 핫 키 보고 항목
+     *
+     * @param estimatedCount 최근 window 기준 추정 접근 수 (감쇠 적용)
+     * @param share 이 노드의 전체 캐시 접근 중 비중
+     * @param hot 핫 키 기준 초과 여부 (로컬 복제 대상)
+     */
+    public record HotKey(String cache, String key, long estimatedCount, double share, boolean hot) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.gritmoments.backend.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 핫 키 조회 Actuator 엔드포인트 (세션 01: 캐시, 세션 13: 관찰가능성)
+ *
+ * GET /actuator/hotkeys
+ * 이 노드에서 최근 접근이 많은 캐시 키 상위 K개와 핫 키(로컬 복제 대상) 여부를 보여줍니다.
+ * 노드별 값이므로 여러 노드를 비교하려면 각 노드에 요청합니다.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    private final HotKeyDetector hotKeyDetector;
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        List<HotKeyDetector.HotKey> keys = hotKeyDetector.topKeys();
+        return Map.of(
+                "threshold", hotKeyDetector.getHotThreshold(),
+                "hotCount", keys.stream().filter(HotKeyDetector.HotKey::hot).count(),
+                "keys", keys
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.gritmoments.backend.common.cache;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 여러 캐시 키를 한 번의 왕복으로 읽고 쓰는 Redis 명령 (세션 01: 캐시, 세션 09: 네트워크 왕복)
+ *
+ * RedisCacheWriter는 키 하나씩만 다루므로, 여러 가게의 메뉴를 한 번에 조회하는 경우
+ * N번의 왕복 대신 MGET 1번 + 파이프라인 SET 1번으로 처리합니다.
+ * 키/값 직렬화와 TTL은 호출하는 TwoLevelCache가 RedisCacheConfiguration에 맞춰 준비합니다.
+ */
+public class RedisBulkCacheOperations {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public RedisBulkCacheOperations(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /** MGET - 결과는 keys와 같은 순서, 없는 키는 null */
+    public List<byte[]> multiGet(byte[][] keys) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return connection.stringCommands().mGet(keys);
+        }
+    }
+
+    /** 파이프라인으로 SET key value PX ttl 여러 건을 한 번에 전송 */
+    public void setAll(List<Write> writes) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (Write write : writes) {
+                connection.stringCommands().set(write.key(), write.value(), expiration(write.ttl()),
+                        RedisStringCommands.SetOption.upsert());
+            }
+            connection.closePipeline();
+        }
+    }
+
+    private Expiration expiration(Duration ttl) {
+        return ttl == null || ttl.isZero() || ttl.isNegative()
+                ? Expiration.persistent()
+                : Expiration.from(ttl);
+    }
+
+    /** 직렬화된 키/값과 TTL */
+    public record Write(byte[] key, byte[] value, Duration ttl) {
+    }
+}
@@ -0,0 +1,679 @@
+package com.gritmoments.backend.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gritmoments.backend.common.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 2단계 캐시 (세션 01: 캐시)
+ *
+ * L1: 프로세스 내 Caffeine 캐시 (네트워크 왕복/역직렬화 없음, 크기 제한 + TTL)
+ * L2: Redis 캐시 (노드 간 공유, RedisConfig의 TTL/직렬화 설정 그대로 사용)
+ *
+ * 조회 흐름:
+ *   L1 히트 -> 바로 반환
+ *   L1 미스 -> L2 조회 -> 히트 시 L1에 채우고 반환
+ *   L2 미스 -> (Callable이 있으면) DB 조회 -> L2, L1 저장
+ *
+ * 변경(put/evict/clear) 시에는 Redis Pub/Sub으로 다른 노드의 L1도 무효화합니다.
+ * L1 키는 Redis 키와 같은 문자열 표현을 사용하여 메시지만으로 정확히 찾을 수 있게 합니다.
+ *
+ * 캐시 스탬피드 방지 (@Cacheable(sync = true)일 때 get(key, Callable) 경로):
+ *   - 노드 내: 같은 키의 동시 미스는 하나의 로딩(in-flight future)을 함께 기다림
+ *   - 노드 간: 정책에 loadLock이 있으면 Redis 임대 락을 잡은 노드만 DB 조회
+ *   - 함께 기다리는 시간은 제한됨 (대표 스레드가 멈추면 제한 시간 후 직접 로딩)
+ *
+ * 소프트 TTL (stale-while-revalidate):
+ *   값은 저장 시각과 함께 CacheEntry로 저장됩니다.
+ *   소프트 TTL이 지난 값은 즉시 응답하고 refreshExecutor에서 갱신하며,
+ *   하드 TTL(Redis TTL)이 지나 값이 사라진 경우에만 요청 스레드가 로딩을 기다립니다.
+ *
+ * 핫 키 (HotKeyDetector):
+ *   모든 조회를 접근 빈도 추적기에 기록합니다.
+ *   L1 정책이 없는 캐시는 핫 키로 판단된 키만 짧은 TTL(hotKeyReplication)로 로컬에 복제합니다.
+ *
+ * 여러 키 조회/저장 (getAll, putAll):
+ *   L1에 없는 키만 모아 Redis MGET 1번으로 조회하고, 파이프라인 SET 1번으로 저장합니다.
+ *   로더가 없으므로 소프트 TTL 갱신은 하지 않고 하드 TTL까지 그대로 응답합니다.
+ *
+ * 네거티브 캐싱 (정책에 negativeCaching이 있을 때):
+ *   로더가 ResourceNotFoundException을 던지면 "없음" 표시(CacheTombstone)를 짧은 TTL로 L2, L1에 저장하고,
+ *   TTL 동안 get(key, Callable)은 DB 없이 같은 예외를 던집니다. (get(key), getAll에서는 미스로 취급)
+ *
+ * 키별 적응형 TTL (AdaptiveTtlFunction):
+ *   Redis 캐시 설정의 TTL 함수가 AdaptiveTtlFunction이면, put/evict와 다른 노드의 변경 메시지를
+ *   키 변경으로 기록합니다. (캐시 미스 후 로딩/갱신은 변경이 아님)
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, CacheEntry> local;
+    /** true: 모든 키를 L1에 저장, false: 핫 키만 복제 */
+    private final boolean localForAllKeys;
+    private final HotKeyDetector hotKeys;
+    private final CacheInvalidationPublisher publisher;
+    private final CacheLoadLock loadLock;
+    private final Duration loadLockLease;
+    private final Duration softTtl;
+    private final Duration negativeTtl;
+    private final Executor refreshExecutor;
+
+    /** Redis 캐시일 때만 사용 (그 외에는 키 하나씩 처리) */
+    private final RedisBulkCacheOperations bulkOperations;
+    private final RedisCacheConfiguration remoteConfiguration;
+
+    /** 키 변경 기록 대상 (Redis TTL 함수가 적응형일 때만) */
+    private final AdaptiveTtlFunction adaptiveTtl;
+
+    /** 로딩 중인 키 -> 로딩 결과 (같은 키의 동시 미스/갱신이 공유) */
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    /** 다른 노드가 로딩 중일 때 Redis를 다시 확인하는 간격 */
+    private static final long REMOTE_POLL_INTERVAL_MS = 50L;
+
+    /** 로딩 락이 없는 캐시에서 다른 스레드의 로딩을 기다리는 최대 시간 */
+    private static final Duration DEFAULT_IN_FLIGHT_WAIT = Duration.ofSeconds(10);
+
+    /** 다른 스레드의 로딩을 기다리는 최대 시간 (락 대기 + 로딩을 고려해 임대 시간의 2배) */
+    private final Duration inFlightWait;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter staleHits;
+    private final Counter loadsByLoader;
+    private final Counter loadsJoinedInFlight;
+    private final Counter loadsByOtherNode;
+    private final Counter loadsByRefresh;
+
+    public TwoLevelCache(Cache remote, CachePolicy policy, CacheInvalidationPublisher publisher,
+                         CacheLoadLock loadLock, RedisBulkCacheOperations bulkOperations,
+                         HotKeyDetector hotKeys, Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this.name = remote.getName();
+        this.remote = remote;
+        this.publisher = publisher;
+        this.loadLock = policy.isLoadLockEnabled() ? loadLock : null;
+        this.loadLockLease = policy.getLoadLockLease();
+        this.inFlightWait = policy.isLoadLockEnabled() ? loadLockLease.multipliedBy(2) : DEFAULT_IN_FLIGHT_WAIT;
+        this.softTtl = policy.getSoftTtl();
+        this.negativeTtl = policy.isNegativeCachingEnabled() ? policy.getNegativeTtl() : null;
+        this.refreshExecutor = refreshExecutor;
+        if (remote instanceof RedisCache redisCache && bulkOperations != null) {
+            this.bulkOperations = bulkOperations;
+            this.remoteConfiguration = redisCache.getCacheConfiguration();
+        } else {
+            this.bulkOperations = null;
+            this.remoteConfiguration = null;
+        }
+        this.adaptiveTtl = remote instanceof RedisCache redisCache
+                && redisCache.getCacheConfiguration().getTtlFunction() instanceof AdaptiveTtlFunction ttlFunction
+                ? ttlFunction : null;
+        this.hotKeys = hotKeys;
+        this.localForAllKeys = policy.isLocalCacheEnabled();
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localForAllKeys ? policy.getLocalMaximumSize() : hotKeys.getTopK())
+                .expireAfterWrite(localForAllKeys ? policy.getLocalTtl() : policy.getHotKeyTtl())
+                .build();
+
+        this.localHits = tierCounter(meterRegistry, "l1", "hit");
+        this.localMisses = tierCounter(meterRegistry, "l1", "miss");
+        this.remoteHits = tierCounter(meterRegistry, "l2", "hit");
+        this.remoteMisses = tierCounter(meterRegistry, "l2", "miss");
+        this.staleHits = Counter.builder("cache.stale.hits")
+                .description("소프트 TTL이 지난 값을 응답하고 백그라운드 갱신을 요청한 횟수")
+                .tag("cache", name)
+                .register(meterRegistry);
+
+        this.loadsByLoader = loadCounter(meterRegistry, "loader");
+        this.loadsJoinedInFlight = loadCounter(meterRegistry, "in_flight");
+        this.loadsByOtherNode = loadCounter(meterRegistry, "other_node");
+        this.loadsByRefresh = loadCounter(meterRegistry, "refresh");
+    }
+
+    private Counter tierCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+                .description("계층별 캐시 조회 결과 (l1: 로컬, l2: Redis)")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 미스 해결 방식
+     * (loader: 요청 스레드가 DB 조회, in_flight: 진행 중 로딩 합류,
+     *  other_node: 다른 노드 결과 사용, refresh: 소프트 TTL 백그라운드 갱신)
+     */
+    private Counter loadCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("cache.loads")
+                .description("캐시 미스를 해결한 방식별 횟수")
+                .tag("cache", name)
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheEntry entry = lookup(key);
+        return entry != null && !entry.isTombstone() ? new SimpleValueWrapper(entry.getValue()) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "캐시 값의 타입이 다릅니다. 기대: " + type.getName() + ", 실제: " + value.getClass().getName());
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = toLocalKey(key);
+        CacheEntry entry = lookup(key);
+        if (entry != null) {
+            if (entry.isTombstone()) {
+                throw notFound(entry);
+            }
+            if (entry.isStale(softTtl, System.currentTimeMillis())) {
+                // 소프트 TTL 경과 -> 기존 값 즉시 응답 + 백그라운드 갱신
+                staleHits.increment();
+                refreshAsync(key, localKey, valueLoader, entry.getValue());
+            }
+            return (T) entry.getValue();
+        }
+
+        CompletableFuture<Object> myLoad = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(localKey, myLoad);
+        if (inFlight != null) {
+            // 같은 키를 이미 다른 스레드가 로딩 중 -> 그 결과를 함께 사용
+            loadsJoinedInFlight.increment();
+            return (T) awaitInFlight(key, localKey, valueLoader, inFlight);
+        }
+
+        try {
+            Object value = loadOnce(key, localKey, valueLoader);
+            myLoad.complete(value);
+            return (T) value;
+        } catch (Throwable e) {
+            // Error도 전달해야 함께 기다리는 스레드가 풀림
+            myLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(localKey, myLoad);
+        }
+    }
+
+    /**
+     * 여러 키 조회 (L1 -> 나머지는 Redis MGET 한 번)
+     *
+     * @return 키 -> 값 (캐시에 없는 키는 포함되지 않음)
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = new LinkedHashMap<>();
+        List<Object> remoteKeys = new ArrayList<>();
+        for (Object key : keys) {
+            String localKey = toLocalKey(key);
+            hotKeys.record(name, localKey);
+            CacheEntry entry = local.getIfPresent(localKey);
+            if (entry != null && !entry.isTombstone()) {
+                localHits.increment();
+                found.put(key, entry.getValue());
+            } else {
+                localMisses.increment();
+                remoteKeys.add(key);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        List<Object> stored = remoteGetAll(remoteKeys);
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            Object key = remoteKeys.get(i);
+            CacheEntry entry = stored.get(i) != null ? CacheEntry.from(stored.get(i)) : null;
+            if (entry == null || entry.isTombstone()) {
+                remoteMisses.increment();
+                continue;
+            }
+            remoteHits.increment();
+            putLocal(toLocalKey(key), entry);
+            found.put(key, entry.getValue());
+        }
+        return found;
+    }
+
+    /**
+     * 여러 키 저장 (Redis 파이프라인 SET 한 번 + L1, 다른 노드의 L1 무효화)
+     */
+    public void putAll(Map<?, ?> values) {
+        if (bulkOperations == null) {
+            values.forEach((key, value) -> store(key, toLocalKey(key), value, false));
+            return;
+        }
+
+        List<RedisBulkCacheOperations.Write> writes = new ArrayList<>(values.size());
+        Map<String, CacheEntry> entries = new LinkedHashMap<>();
+        values.forEach((key, value) -> {
+            CacheEntry entry = CacheEntry.now(value);
+            writes.add(new RedisBulkCacheOperations.Write(remoteKey(key), remoteValue(entry),
+                    remoteConfiguration.getTtlFunction().getTimeToLive(key, entry)));
+            entries.put(toLocalKey(key), entry);
+        });
+        bulkOperations.setAll(writes);
+
+        entries.forEach((localKey, entry) -> {
+            putLocal(localKey, entry);
+            publisher.publishEvict(name, localKey);
+        });
+    }
+
+    /** Redis에서 여러 키 조회 (keys와 같은 순서, 없으면 null) */
+    private List<Object> remoteGetAll(List<Object> keys) {
+        List<Object> stored = new ArrayList<>(keys.size());
+        if (bulkOperations == null) {
+            for (Object key : keys) {
+                ValueWrapper wrapper = remote.get(key);
+                stored.add(wrapper != null ? wrapper.get() : null);
+            }
+            return stored;
+        }
+
+        byte[][] rawKeys = keys.stream().map(this::remoteKey).toArray(byte[][]::new);
+        for (byte[] raw : bulkOperations.multiGet(rawKeys)) {
+            stored.add(raw != null ? remoteConfiguration.getValueSerializationPair().read(ByteBuffer.wrap(raw)) : null);
+        }
+        return stored;
+    }
+
+    /** RedisCache와 같은 규칙의 Redis 키 (접두사 + 키 문자열) */
+    private byte[] remoteKey(Object key) {
+        String redisKey = remoteConfiguration.usePrefix()
+                ? remoteConfiguration.getKeyPrefixFor(name) + toLocalKey(key)
+                : toLocalKey(key);
+        return ByteUtils.getBytes(remoteConfiguration.getKeySerializationPair().write(redisKey));
+    }
+
+    private byte[] remoteValue(CacheEntry entry) {
+        return ByteUtils.getBytes(remoteConfiguration.getValueSerializationPair().write(entry));
+    }
+
+    /**
+     * L1 -> L2 순서로 조회 (L2 히트 시 L1 채움)
+     */
+    private CacheEntry lookup(Object key) {
+        String localKey = toLocalKey(key);
+        hotKeys.record(name, localKey);
+        CacheEntry entry = local.getIfPresent(localKey);
+        if (entry != null && isExpiredTombstone(entry)) {
+            // L1 TTL이 네거티브 TTL보다 길 수 있으므로 저장 시각으로 확인
+            local.invalidate(localKey);
+            entry = null;
+        }
+        if (entry != null) {
+            localHits.increment();
+            return entry;
+        }
+        localMisses.increment();
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        entry = CacheEntry.from(wrapper.get());
+        putLocal(localKey, entry);
+        return entry;
+    }
+
+    /**
+     * 노드 내 대표 스레드 하나만 실행하는 로딩
+     * 락 대기 중 다른 노드가 채운 값이 있으면 DB를 조회하지 않음
+     */
+    private Object loadOnce(Object key, String localKey, Callable<?> valueLoader) {
+        if (loadLock == null) {
+            return loadAndStore(key, localKey, valueLoader, loadsByLoader);
+        }
+
+        String token;
+        try {
+            token = loadLock.tryAcquire(name, localKey, loadLockLease);
+        } catch (IllegalStateException e) {
+            // Redis 장애 시 락 없이 로딩 (가용성 우선)
+            return loadAndStore(key, localKey, valueLoader, loadsByLoader);
+        }
+
+        if (token == null) {
+            // 다른 노드가 로딩 중 -> lease 시간 동안 Redis에 값이 채워지기를 기다림
+            CacheEntry loadedElsewhere = awaitRemote(key);
+            if (loadedElsewhere != null) {
+                loadsByOtherNode.increment();
+                putLocal(localKey, loadedElsewhere);
+                return valueOf(loadedElsewhere);
+            }
+            return loadAndStore(key, localKey, valueLoader, loadsByLoader);
+        }
+
+        try {
+            // 락을 기다리는 사이 다른 노드가 채웠을 수 있으므로 한 번 더 확인
+            ValueWrapper existing = remote.get(key);
+            if (existing != null) {
+                loadsByOtherNode.increment();
+                CacheEntry entry = CacheEntry.from(existing.get());
+                putLocal(localKey, entry);
+                return valueOf(entry);
+            }
+            return loadAndStore(key, localKey, valueLoader, loadsByLoader);
+        } finally {
+            loadLock.release(name, localKey, token);
+        }
+    }
+
+    /**
+     * 소프트 TTL이 지난 키의 백그라운드 갱신 요청
+     *
+     * - 같은 키의 로딩/갱신이 이미 진행 중이면 생략
+     * - 노드 간 로딩 락을 못 잡으면 다른 노드가 갱신 중이므로 생략
+     * - 갱신 스레드가 모두 바쁘면 생략 (다음 요청이 다시 시도)
+     */
+    private void refreshAsync(Object key, String localKey, Callable<?> valueLoader, Object staleValue) {
+        CompletableFuture<Object> refresh = new CompletableFuture<>();
+        if (inFlightLoads.putIfAbsent(localKey, refresh) != null) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh.complete(refreshOnce(key, localKey, valueLoader, staleValue));
+                } catch (RuntimeException e) {
+                    log.warn("[캐시 갱신 실패] 캐시: {}, 키: {}, 사유: {}", name, localKey, e.getMessage());
+                    refresh.complete(staleValue);
+                } finally {
+                    // Error로 끝나도 기다리는 스레드에는 기존 값을 돌려줌
+                    refresh.complete(staleValue);
+                    inFlightLoads.remove(localKey, refresh);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightLoads.remove(localKey, refresh);
+            refresh.complete(staleValue);
+        }
+    }
+
+    private Object refreshOnce(Object key, String localKey, Callable<?> valueLoader, Object staleValue) {
+        if (loadLock == null) {
+            return loadAndStore(key, localKey, valueLoader, loadsByRefresh);
+        }
+
+        String token;
+        try {
+            token = loadLock.tryAcquire(name, localKey, loadLockLease);
+        } catch (IllegalStateException e) {
+            return loadAndStore(key, localKey, valueLoader, loadsByRefresh);
+        }
+        if (token == null) {
+            return staleValue;
+        }
+        try {
+            return loadAndStore(key, localKey, valueLoader, loadsByRefresh);
+        } finally {
+            loadLock.release(name, localKey, token);
+        }
+    }
+
+    private Object loadAndStore(Object key, String localKey, Callable<?> valueLoader, Counter loadCounter) {
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            ResourceNotFoundException notFound = findNotFound(e);
+            if (notFound != null && negativeTtl != null) {
+                storeTombstone(key, localKey, notFound.getMessage());
+            }
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        loadCounter.increment();
+        store(key, localKey, value, false);
+        return value;
+    }
+
+    private CacheEntry awaitRemote(Object key) {
+        long deadline = System.nanoTime() + loadLockLease.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(REMOTE_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null) {
+                return CacheEntry.from(wrapper.get());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 다른 스레드의 로딩 결과를 기다림
+     * 제한 시간 안에 끝나지 않으면 대표 스레드가 멈춘 것으로 보고 락 없이 직접 로딩
+     */
+    private Object awaitInFlight(Object key, String localKey, Callable<?> valueLoader,
+                                 CompletableFuture<Object> inFlight) {
+        try {
+            return inFlight.get(inFlightWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // 대표 스레드와 같은 예외(ValueRetrievalException 등)를 그대로 전파
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("[캐시 로딩 대기 초과] 캐시: {}, 키: {}, 대기: {} -> 직접 로딩", name, localKey, inFlightWait);
+            return loadAndStore(key, localKey, valueLoader, loadsByLoader);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, toLocalKey(key), value, true);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        String localKey = toLocalKey(key);
+        CacheEntry entry = CacheEntry.now(value);
+        ValueWrapper existing = remote.putIfAbsent(key, entry);
+        if (existing == null) {
+            putLocal(localKey, entry);
+            publisher.publishEvict(name, localKey);
+            return null;
+        }
+        CacheEntry existingEntry = CacheEntry.from(existing.get());
+        if (existingEntry.isTombstone()) {
+            // "없음" 표시는 값이 아니므로 덮어씀
+            store(key, localKey, value, true);
+            return null;
+        }
+        putLocal(localKey, existingEntry);
+        return new SimpleValueWrapper(existingEntry.getValue());
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = toLocalKey(key);
+        local.invalidate(localKey);
+        recordChange(localKey);
+        publisher.publishChange(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        String localKey = toLocalKey(key);
+        local.invalidate(localKey);
+        recordChange(localKey);
+        publisher.publishChange(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        local.invalidateAll();
+        publisher.publishClear(name);
+        return invalidated;
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지 처리 (L1만 비움, L2는 이미 변경된 상태)
+     */
+    void invalidateLocal(CacheInvalidationMessage message) {
+        if (message.isClear()) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(message.key());
+            if (message.dataChanged()) {
+                recordChange(message.key());
+            }
+        }
+    }
+
+    /**
+     * L2, L1에 저장하고 다른 노드의 L1 무효화
+     *
+     * @param changed 명시적 변경(put)이면 true, 캐시 미스 후 로딩/갱신이면 false
+     */
+    private void store(Object key, String localKey, Object value, boolean changed) {
+        if (changed) {
+            // TTL 계산(remote.put)보다 먼저 기록해야 변경 직후 값이 짧은 TTL을 받음
+            recordChange(localKey);
+        }
+        CacheEntry entry = CacheEntry.now(value);
+        remote.put(key, entry);
+        putLocal(localKey, entry);
+        if (changed) {
+            publisher.publishChange(name, localKey);
+        } else {
+            publisher.publishEvict(name, localKey);
+        }
+    }
+
+    /**
+     * "없음" 표시 저장 - 하드 TTL 대신 네거티브 TTL로 Redis에 직접 기록
+     * (Redis가 아닌 캐시는 L1에만 저장)
+     */
+    private void storeTombstone(Object key, String localKey, String message) {
+        CacheEntry entry = CacheEntry.now(new CacheTombstone(message));
+        if (bulkOperations != null) {
+            bulkOperations.setAll(List.of(
+                    new RedisBulkCacheOperations.Write(remoteKey(key), remoteValue(entry), negativeTtl)));
+        }
+        putLocal(localKey, entry);
+    }
+
+    private boolean isExpiredTombstone(CacheEntry entry) {
+        return entry.isTombstone()
+                && (negativeTtl == null || entry.isStale(negativeTtl, System.currentTimeMillis()));
+    }
+
+    /** 다른 노드가 채운 값 - "없음" 표시면 로더와 같은 예외 */
+    private static Object valueOf(CacheEntry entry) {
+        if (entry.isTombstone()) {
+            throw notFound(entry);
+        }
+        return entry.getValue();
+    }
+
+    private static ResourceNotFoundException notFound(CacheEntry entry) {
+        return new ResourceNotFoundException(((CacheTombstone) entry.getValue()).message());
+    }
+
+    /** 로더 예외에서 ResourceNotFoundException 찾기 (@Cacheable 프록시가 감싼 예외 포함) */
+    private static ResourceNotFoundException findNotFound(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof ResourceNotFoundException notFound) {
+                return notFound;
+            }
+        }
+        return null;
+    }
+
+    private void recordChange(String localKey) {
+        if (adaptiveTtl != null) {
+            adaptiveTtl.recordChange(localKey);
+        }
+    }
+
+    /** L1 저장 - L1 정책이면 모든 키, 아니면 핫 키만 (핫 키가 아니게 된 키의 복제본은 제거) */
+    private void putLocal(String localKey, CacheEntry entry) {
+        if (localForAllKeys || hotKeys.isHot(name, localKey)) {
+            local.put(localKey, entry);
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+
+    /** Redis 키와 같은 문자열 표현 (예: 가게 ID 1 -> "1") */
+    private String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,135 @@
+package com.gritmoments.backend.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 2단계 캐시 매니저 (세션 01: 캐시)
+ *
+ * RedisCacheManager를 감싸서, 정책에 L1 또는 핫 키 복제가 설정된 캐시는
+ * TwoLevelCache로, 둘 다 없는 캐시는 Redis 캐시 그대로 반환합니다.
+ *
+ * Redis Pub/Sub 구독자(MessageListener) 역할도 맡아,
+ * 다른 노드가 발행한 무효화 메시지를 받아 해당 캐시의 L1을 비웁니다.
+ *
+ * 정책이 없는 캐시는 defaultPolicy를 따릅니다. (기본: L1 없이 핫 키만 로컬 복제)
+ *
+ * 소프트 TTL 갱신은 작은 전용 스레드 풀에서 실행합니다.
+ * (큐가 가득 차면 갱신을 건너뛰고, 다음 요청이 다시 시도)
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener, DisposableBean {
+
+    /** 소프트 TTL 갱신 스레드 수 / 대기열 크기 */
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_CAPACITY = 100;
+
+    private final CacheManager remoteCacheManager;
+    private final Map<String, CachePolicy> policies;
+    private final CachePolicy defaultPolicy;
+    private final CacheInvalidationPublisher publisher;
+    private final CacheLoadLock loadLock;
+    private final RedisBulkCacheOperations bulkOperations;
+    private final HotKeyDetector hotKeys;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refreshExecutor = newRefreshExecutor();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                Map<String, CachePolicy> policies,
+                                CachePolicy defaultPolicy,
+                                CacheInvalidationPublisher publisher,
+                                CacheLoadLock loadLock,
+                                RedisBulkCacheOperations bulkOperations,
+                                HotKeyDetector hotKeys,
+                                MeterRegistry meterRegistry,
+                                ObjectMapper objectMapper) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.policies = Map.copyOf(policies);
+        this.defaultPolicy = defaultPolicy;
+        this.publisher = publisher;
+        this.loadLock = loadLock;
+        this.bulkOperations = bulkOperations;
+        this.hotKeys = hotKeys;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        CachePolicy policy = policies.getOrDefault(name, defaultPolicy);
+        if (!policy.isLocalCacheEnabled() && !policy.isHotKeyReplicationEnabled()) {
+            return remoteCacheManager.getCache(name);
+        }
+        return twoLevelCaches.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            return new TwoLevelCache(remote, policy, publisher, loadLock, bulkOperations,
+                    hotKeys, refreshExecutor, meterRegistry);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        refreshExecutor.shutdown();
+        refreshExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static ThreadPoolExecutor newRefreshExecutor() {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지 수신 (Redis Pub/Sub)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+        } catch (IOException e) {
+            log.warn("[캐시 무효화 수신 실패] 메시지를 해석할 수 없습니다: {}", e.getMessage());
+            return;
+        }
+
+        // 자기 자신이 보낸 메시지는 이미 반영됨
+        if (publisher.getInstanceId().equals(invalidation.origin())) {
+            return;
+        }
+
+        TwoLevelCache cache = twoLevelCaches.get(invalidation.cacheName());
+        if (cache != null) {
+            cache.invalidateLocal(invalidation);
+            log.debug("[L1 무효화] 캐시: {}, 키: {}, 발행 노드: {}",
+                    invalidation.cacheName(), invalidation.key(), invalidation.origin());
+        }
+    }
+}
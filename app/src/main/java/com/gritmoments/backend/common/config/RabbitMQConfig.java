@@ -68,6 +68,8 @@ public class RabbitMQConfig {
                                         MessageConverter jsonMessageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(jsonMessageConverter);
+        // publisher-returns가 켜져 있으면 라우팅 불가 메시지를 돌려받음 (아웃박스 릴레이가 실패로 처리)
+        template.setMandatory(connectionFactory.isPublisherReturns());
         return template;
     }
 }
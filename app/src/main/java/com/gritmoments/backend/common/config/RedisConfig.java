@@ -1,36 +1,62 @@
 package com.gritmoments.backend.common.config;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.springframework.cache.CacheManager;
+import com.gritmoments.backend.common.cache.AdaptiveTtlFunction;
+import com.gritmoments.backend.common.cache.CacheInvalidationPublisher;
+import com.gritmoments.backend.common.cache.CacheLoadLock;
+import com.gritmoments.backend.common.cache.CachePolicy;
+import com.gritmoments.backend.common.cache.CompactRedisSerializer;
+import com.gritmoments.backend.common.cache.ExistingIdFilter;
+import com.gritmoments.backend.common.cache.HotKeyDetector;
+import com.gritmoments.backend.common.cache.RedisBulkCacheOperations;
+import com.gritmoments.backend.common.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Map;
 
 /**
  * Redis 설정 (세션 01: 캐시, 세션 05: 분산 락)
  *
  * - RedisTemplate: Redis에 직접 명령어를 실행할 때 사용 (cache-aside 패턴, 분산 락)
  * - CacheManager: @Cacheable 어노테이션으로 자동 캐싱할 때 사용
+ *   menus, restaurants는 L1(로컬 Caffeine) + L2(Redis) 2단계 캐시로 동작
+ * - Value 직렬화: cache.serializer.format (compact: 바이너리, json: 타입 정보 포함 JSON)
  */
 @Configuration
 public class RedisConfig {
 
+    @Value("${cache.serializer.format:compact}")
+    private String serializerFormat;
+
+    @Value("${cache.serializer.compression-threshold:512}")
+    private int compressionThreshold;
+
     /**
      * Java 8 날짜/시간 지원 + 타입 정보가 포함된 JSON 직렬화기
+     * (compact 사용 시에도 기존 JSON 값 읽기와 미지원 타입 저장에 사용)
      */
-    private GenericJackson2JsonRedisSerializer jsonRedisSerializer() {
+    public static GenericJackson2JsonRedisSerializer jsonRedisSerializer() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -42,9 +68,23 @@ public class RedisConfig {
         return new GenericJackson2JsonRedisSerializer(mapper);
     }
 
+    /**
+     * Value 직렬화기 선택
+     * - compact: 필드 순서 기반 바이너리 + LZ4 압축 (크기/파싱 시간 감소, 기존 JSON 값도 읽음)
+     * - json: 사람이 읽을 수 있는 JSON (redis-cli로 값을 확인하며 디버깅할 때)
+     */
+    private RedisSerializer<Object> valueSerializer() {
+        return switch (serializerFormat) {
+            case "compact" -> new CompactRedisSerializer(jsonRedisSerializer(), compressionThreshold);
+            case "json" -> jsonRedisSerializer();
+            default -> throw new IllegalArgumentException(
+                    "지원하지 않는 cache.serializer.format 입니다: " + serializerFormat);
+        };
+    }
+
     /**
      * RedisTemplate 설정
-     * - Key는 String, Value는 JSON으로 직렬화
+     * - Key는 String, Value는 cache.serializer.format에 따라 직렬화
      * - 세션 01 L3(cache-aside 직접 구현)에서 사용
      */
     @Bean
@@ -56,41 +96,120 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
 
-        // Value: JSON으로 저장 (디버깅 편의)
-        GenericJackson2JsonRedisSerializer jsonSerializer = jsonRedisSerializer();
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        // Value: 기본은 바이너리, 디버깅 시 json으로 전환 가능
+        RedisSerializer<Object> valueSerializer = valueSerializer();
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         return template;
     }
 
+    /**
+     * 캐시 키 접근 빈도 추적기 (핫 키 탐지, /actuator/hotkeys)
+     */
+    @Bean
+    public HotKeyDetector hotKeyDetector(MeterRegistry meterRegistry,
+                                         @Value("${cache.hot-keys.top-k:20}") int topK,
+                                         @Value("${cache.hot-keys.threshold:1000}") long threshold,
+                                         @Value("${cache.hot-keys.window:10s}") Duration window) {
+        HotKeyDetector detector = new HotKeyDetector(topK, threshold, window);
+        Gauge.builder("cache.hot.keys", detector,
+                        d -> d.topKeys().stream().filter(HotKeyDetector.HotKey::hot).count())
+                .description("현재 핫 키 수 (로컬 복제 대상)")
+                .register(meterRegistry);
+        return detector;
+    }
+
     /**
      * 캐시 매니저 설정
      * - @Cacheable, @CacheEvict 등에서 사용
      * - 기본 TTL: 5분
+     * - 모든 TTL에 지터(cache.ttl.jitter-ratio)를 더해 함께 저장된 항목이 동시에 만료되지 않게 함
+     * - menus, restaurants: 변경이 드문 키일수록 TTL을 길게 (AdaptiveTtlFunction)
+     * - menus, restaurants: L1(로컬) 캐시를 앞단에 두어 Redis 왕복 없이 응답
+     * - 그 외 캐시: 핫 키만 짧은 TTL로 로컬 복제 (특정 키가 Redis 단일 스레드를 포화시키는 것 방지)
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             MeterRegistry meterRegistry,
+                                             HotKeyDetector hotKeyDetector,
+                                             @Value("${server.id:unknown}") String serverId,
+                                             @Value("${cache.hot-keys.replica-ttl:3s}") Duration hotKeyReplicaTtl,
+                                             @Value("${cache.ttl.jitter-ratio:0.1}") double jitterRatio,
+                                             @Value("${cache.negative-ttl:30s}") Duration negativeTtl) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                // 기본 TTL 5분 (세션 01 L2에서 변경 실험)
-                .entryTtl(Duration.ofMinutes(5))
+                // 기본 TTL 5분 + 지터 (세션 01 L2에서 변경 실험)
+                .entryTtl(AdaptiveTtlFunction.jitter(Duration.ofMinutes(5), jitterRatio))
                 // null 값은 캐싱하지 않음
                 .disableCachingNullValues()
                 // Key 접두사 설정 (캐시 이름::키)
                 .prefixCacheNameWith("grit::")
-                // Value를 JSON으로 저장 (JavaTimeModule 포함)
+                // Value 직렬화 (cache.serializer.format)
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair
-                                .fromSerializer(jsonRedisSerializer())
+                                .fromSerializer(valueSerializer())
                 );
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
-                // 특정 캐시에 개별 TTL 설정
+                // 특정 캐시에 개별 TTL 설정 (기준, 최소, 최대)
+                // 최소 TTL은 아래 softTtl보다 길게 -> 변경이 잦은 키도 갱신 전에 하드 만료되지 않음
                 .withCacheConfiguration("menus",
-                        config.entryTtl(Duration.ofMinutes(10)))
+                        config.entryTtl(AdaptiveTtlFunction.adaptive(Duration.ofMinutes(10),
+                                Duration.ofMinutes(9), Duration.ofMinutes(30), jitterRatio)))
                 .withCacheConfiguration("restaurants",
-                        config.entryTtl(Duration.ofMinutes(30)))
+                        config.entryTtl(AdaptiveTtlFunction.adaptive(Duration.ofMinutes(30),
+                                Duration.ofMinutes(27), Duration.ofHours(2), jitterRatio)))
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        // L1(로컬) 캐시 정책 - TTL은 다른 노드의 무효화 메시지를 놓쳤을 때의 최대 불일치 시간
+        // loadLock: TTL 만료 순간 여러 노드가 동시에 DB를 조회하지 않도록 노드 간 로딩 락 적용
+        // softTtl: 지난 값은 즉시 응답 + 백그라운드 갱신, 위 entryTtl(하드 TTL)이 지나야 동기 로딩
+        // negativeCaching: 없는 가게 조회(404)를 짧게 캐싱 -> 없는 ID를 훑는 요청이 DB에 닿지 않음
+        //   (menus도 ID 필터에 없는 가게는 404 -> 빈 목록 대신 "없음" 표시만 짧게 캐싱)
+        Map<String, CachePolicy> policies = Map.of(
+                "menus", CachePolicy.defaults()
+                        .localCache(1_000, Duration.ofSeconds(60))
+                        .loadLock(Duration.ofSeconds(3))
+                        .softTtl(Duration.ofMinutes(8))
+                        .negativeCaching(negativeTtl),
+                "restaurants", CachePolicy.defaults()
+                        .localCache(500, Duration.ofMinutes(2))
+                        .loadLock(Duration.ofSeconds(3))
+                        .softTtl(Duration.ofMinutes(25))
+                        .negativeCaching(negativeTtl)
+        );
+
+        // 정책이 없는 캐시: L1 없이 핫 키만 로컬 복제 (menus, restaurants는 L1에 이미 모든 키가 있음)
+        CachePolicy defaultPolicy = CachePolicy.defaults().hotKeyReplication(hotKeyReplicaTtl);
+
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        // 필드가 추가된 메시지를 이전 버전 노드도 읽을 수 있도록 (롤링 배포)
+        ObjectMapper messageMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(
+                stringRedisTemplate, messageMapper, serverId);
+
+        return new TwoLevelCacheManager(redisCacheManager, policies, defaultPolicy, publisher,
+                new CacheLoadLock(stringRedisTemplate), new RedisBulkCacheOperations(connectionFactory),
+                hotKeyDetector, meterRegistry, messageMapper);
+    }
+
+    /**
+     * L1 캐시 무효화 메시지 구독 (세션 06: 다중 노드)
+     * - 다른 노드에서 @CacheEvict 등이 실행되면 이 노드의 L1도 비움
+     * - 다른 노드에서 가게/메뉴가 생성되면 이 노드의 ID 필터에도 추가
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager,
+            ExistingIdFilter existingIdFilter) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        container.addMessageListener(existingIdFilter, new ChannelTopic(ExistingIdFilter.CHANNEL));
+        return container;
     }
 }
@@ -0,0 +1,35 @@
+package com.gritmoments.backend.common.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 페이지 응답 (세션 12: API 설계, 세션 02: 인덱스)
+ *
+ * OFFSET 페이지네이션(PageResponse)은 뒤 페이지로 갈수록 건너뛸 행을 모두 읽고,
+ * 전체 개수를 세는 COUNT 쿼리가 매 요청마다 실행됩니다.
+ * 커서 방식은 마지막으로 받은 항목 다음부터 인덱스를 바로 찾아 읽으므로 페이지 깊이와 무관하게 비용이 같습니다.
+ * 대신 전체 개수와 임의 페이지 이동은 제공하지 않습니다.
+ *
+ * @param <T> 컨텐츠 항목 타입
+ * @param nextCursor 다음 페이지 요청에 그대로 넘길 값 (마지막 페이지면 null)
+ */
+public record CursorResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+    /**
+     * 한 개 더 조회한 결과 -> CursorResponse 변환
+     *
+     * @param fetched  size + 1개까지 조회한 목록 (size보다 많으면 다음 페이지가 있음)
+     * @param cursorOf 페이지 마지막 항목으로 다음 커서를 만드는 함수
+     */
+    public static <T> CursorResponse<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        boolean hasNext = fetched.size() > size;
+        List<T> content = hasNext ? fetched.subList(0, size) : fetched;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null;
+        return new CursorResponse<>(content, size, nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,13 @@
+package com.gritmoments.backend.common.exception;
+
+/**
+ * 현재 상태와 충돌하는 요청일 때 발생하는 예외
+ * HTTP 409 응답으로 매핑됩니다.
+ * 예: 같은 멱등키 요청이 처리 중, 다른 요청에 이미 사용된 멱등키
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
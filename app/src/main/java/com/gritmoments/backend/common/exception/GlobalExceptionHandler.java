@@ -1,5 +1,7 @@
 package com.gritmoments.backend.common.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -39,6 +41,37 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    /**
+     * 요청 충돌 (409)
+     * 예: 같은 멱등키 요청이 아직 처리 중
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(ConflictException ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /**
+     * DB 제약 조건 위반 (409)
+     * 멱등키 UNIQUE 제약: Redis 멱등성 확인을 지나친 중복 요청의 마지막 방어선
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        log.warn("[GlobalExceptionHandler] 제약 조건 위반: {}", ex.getMostSpecificCause().getMessage());
+        return buildErrorResponse(HttpStatus.CONFLICT, "이미 처리된 요청이거나 다른 데이터와 충돌합니다.");
+    }
+
+    /**
+     * 처리 용량 초과 (503)
+     * 대기열이 가득 차면 쌓아 두지 않고 바로 거절, 클라이언트는 Retry-After 후 재시도
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        ResponseEntity<Map<String, Object>> response = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
     /**
      * 유효성 검증 실패 (400)
      * @Valid 어노테이션으로 검증 실패 시
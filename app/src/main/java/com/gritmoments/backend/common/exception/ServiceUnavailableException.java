@@ -0,0 +1,13 @@
+package com.gritmoments.backend.common.exception;
+
+/**
+ * 처리 용량을 넘어 요청을 받을 수 없을 때 발생하는 예외
+ * HTTP 503 응답으로 매핑됩니다. (Retry-After 헤더 포함)
+ * 예: 주문 파이프라인 대기열이 가득 참
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.gritmoments.backend.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔티티 ID를 SnowflakeIdGenerator로 생성 (세션 02: 배치 INSERT)
+ *
+ * 사용: @Id @SnowflakeId private Long id;
+ *
+ * persist 시점에 ID가 정해지므로 INSERT가 flush까지 미뤄지고 batch_size만큼 묶여 전송됩니다.
+ * (IDENTITY는 ID를 받으려고 persist마다 INSERT를 바로 실행)
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
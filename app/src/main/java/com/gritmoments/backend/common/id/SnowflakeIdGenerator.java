@@ -0,0 +1,73 @@
+package com.gritmoments.backend.common.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순 ID 생성기 (세션 02: 배치 INSERT, 세션 06: 다중 노드)
+ *
+ * DB에 묻지 않고 애플리케이션에서 ID를 만듭니다. (Snowflake 방식)
+ *
+ *   | 시각 40비트 (ms, 2024-01-01부터 약 34년) | 노드 5비트 (0~31) | 순번 8비트 (ms당 256개) |
+ *
+ * - 노드마다 노드 번호가 다르므로 여러 노드가 동시에 만들어도 겹치지 않음
+ * - 앞자리가 시각이므로 대체로 시간순 -> B-Tree 인덱스 끝에 추가되어 페이지 분할이 적음
+ * - 합계 53비트: JavaScript Number로 정확히 표현되는 범위 (프런트엔드에서 ID가 변하지 않음)
+ *
+ * 같은 ms에 256개를 넘게 만들거나 시계가 뒤로 가면 시각 부분을 다음 ms로 당겨 씁니다.
+ * (기다리지 않고, ID는 계속 증가하며 겹치지 않음 - 시계가 따라오면 다시 실제 시각을 씀)
+ */
+public final class SnowflakeIdGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 8;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private final long nodeBits;
+
+    /** 마지막으로 발급한 (시각 << SEQUENCE_BITS | 순번) - 1을 더하면 순번이 넘칠 때 자연히 다음 ms로 넘어감 */
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 번호는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다: " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long state = lastState.updateAndGet(last -> Math.max(last + 1, now));
+        long timestamp = state >>> SEQUENCE_BITS;
+        long sequence = state & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+
+    /** ID에 들어 있는 생성 시각 */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    /**
+     * 서버 식별자에서 노드 번호 결정
+     * - 숫자: 그대로 (예: "3")
+     * - 끝이 숫자: 그 숫자 (예: "app-1" -> 1, "app-2" -> 2)
+     * - 그 외: 해시 (예: "app-local", 노드가 하나일 때만 사용)
+     * 32로 나눈 나머지를 쓰므로 노드 번호가 겹치지 않게 server.id를 정해야 합니다.
+     */
+    public static int nodeIdOf(String serverId) {
+        if (serverId == null || serverId.isBlank()) {
+            return 0;
+        }
+        int end = serverId.length();
+        int start = end;
+        while (start > 0 && Character.isDigit(serverId.charAt(start - 1))) {
+            start--;
+        }
+        if (start < end && end - start <= 9) {
+            return Integer.parseInt(serverId.substring(start, end)) & MAX_NODE_ID;
+        }
+        return Math.floorMod(serverId.hashCode(), MAX_NODE_ID + 1);
+    }
+}
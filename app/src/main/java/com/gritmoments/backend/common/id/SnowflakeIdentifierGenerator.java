@@ -0,0 +1,49 @@
+package com.gritmoments.backend.common.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @SnowflakeId를 Hibernate ID 생성기로 연결 (세션 02: 배치 INSERT)
+ *
+ * Hibernate가 직접 만드는 객체라 Spring 빈을 주입받지 않고,
+ * 노드 번호는 Hibernate 설정(spring.jpa.properties.snowflake.node, 기본은 server.id)에서 읽습니다.
+ * 엔티티마다 생성기가 따로 만들어지지만 같은 노드 번호는 SnowflakeIdGenerator 하나를 함께 씁니다.
+ */
+public class SnowflakeIdentifierGenerator implements BeforeExecutionGenerator {
+
+    static final String NODE_SETTING = "snowflake.node";
+
+    private static final Map<Integer, SnowflakeIdGenerator> GENERATORS = new ConcurrentHashMap<>();
+
+    private final SnowflakeIdGenerator generator;
+
+    public SnowflakeIdentifierGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object node = context.getServiceRegistry()
+                .getService(ConfigurationService.class)
+                .getSettings()
+                .get(NODE_SETTING);
+        int nodeId = SnowflakeIdGenerator.nodeIdOf(node == null ? null : node.toString());
+        this.generator = GENERATORS.computeIfAbsent(nodeId, SnowflakeIdGenerator::new);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return generator.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
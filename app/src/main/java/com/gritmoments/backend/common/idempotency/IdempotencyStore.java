@@ -0,0 +1,225 @@
+package com.gritmoments.backend.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gritmoments.backend.common.exception.BusinessException;
+import com.gritmoments.backend.common.exception.ConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Redis 멱등키 저장소 (세션 03: 외부연동 - 중복 요청 방지)
+ *
+ * 기존에는 트랜잭션 안에서 멱등키로 SELECT 한 뒤 없으면 INSERT 했습니다.
+ * - 모든 요청이 DB 조회를 한 번씩 더 함
+ * - 동시에 들어온 중복 요청은 둘 다 SELECT를 통과해 UNIQUE 제약에서야 한쪽이 실패
+ *
+ * 요청을 처리하기 전에 Redis에서 멱등키를 먼저 차지합니다. (SET NX, 한 명만 성공)
+ *   1. 차지 성공: 요청 처리 -> 성공 응답(상태 코드 + 본문 JSON)을 completed-ttl 동안 저장
+ *   2. 이미 완료됨: 저장된 응답을 그대로 돌려줌 (MySQL을 거치지 않음, Idempotent-Replayed: true)
+ *   3. 처리 중: 409 (클라이언트는 잠시 후 같은 키로 재시도)
+ *   4. 같은 키에 다른 요청 본문: 409
+ * 처리에 실패하면 키를 풀어 같은 키로 다시 시도할 수 있게 합니다.
+ *
+ * Redis 키: idempotency:{scope}:{key} (String: IdempotencyRecord JSON)
+ *
+ * Redis 장애 시에는 확인 없이 처리하고, 멱등키 컬럼의 UNIQUE 제약이 마지막 방어선이 됩니다. (409)
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /** DB 멱등키 컬럼 길이 (orders, payments.idempotency_key) */
+    private static final int MAX_KEY_LENGTH = 50;
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+
+    /**
+     * 내가 차지한 키일 때만 완료 기록으로 교체
+     * KEYS: 키 / ARGV: 차지할 때 쓴 값, 완료 기록, TTL(ms)
+     */
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "  redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1 " +
+            "end return 0",
+            Long.class);
+
+    /**
+     * 내가 차지한 키일 때만 삭제 (처리 중 TTL이 지나 다른 요청이 차지한 키는 건드리지 않음)
+     * KEYS: 키 / ARGV: 차지할 때 쓴 값
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration inProgressTtl;
+    private final Duration completedTtl;
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${idempotency.in-progress-ttl:PT2M}") Duration inProgressTtl,
+                            @Value("${idempotency.completed-ttl:PT24H}") Duration completedTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.inProgressTtl = inProgressTtl;
+        this.completedTtl = completedTtl;
+    }
+
+    /**
+     * 멱등키로 한 번만 처리
+     *
+     * @param scope   키 구분 (order, payment ...)
+     * @param key     클라이언트가 보낸 멱등키 (없으면 확인 없이 처리)
+     * @param request 요청 본문 (같은 키에 다른 본문이 오면 409)
+     * @param action  실제 처리 (트랜잭션은 이 안에서 커밋되어야 함 - 커밋 전 응답을 저장하지 않도록)
+     */
+    public ResponseEntity<?> execute(String scope, String key, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("멱등키는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+        String redisKey = KEY_PREFIX + scope + ":" + key;
+        String fingerprint = fingerprint(request);
+        String claim = write(new IdempotencyRecord(IN_PROGRESS, UUID.randomUUID().toString(), fingerprint, null, null));
+
+        Boolean claimed;
+        try {
+            claimed = redisTemplate.opsForValue().setIfAbsent(redisKey, claim, inProgressTtl);
+        } catch (DataAccessException e) {
+            log.warn("[멱등성] Redis 사용 불가, DB 제약 조건으로만 확인: {}", e.getMessage());
+            count(scope, "bypassed");
+            return action.get();
+        }
+
+        if (!Boolean.TRUE.equals(claimed)) {
+            return replay(scope, redisKey, key, fingerprint);
+        }
+        count(scope, "claimed");
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(redisKey, claim);
+            throw e;
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(redisKey, claim);
+            return response;
+        }
+        try {
+            String completed = write(new IdempotencyRecord(COMPLETED, null, fingerprint,
+                    response.getStatusCode().value(), objectMapper.writeValueAsString(response.getBody())));
+            redisTemplate.execute(COMPLETE_SCRIPT, List.of(redisKey), claim, completed,
+                    String.valueOf(completedTtl.toMillis()));
+        } catch (JsonProcessingException | DataAccessException e) {
+            // 응답은 정상 처리됨, 저장만 실패 -> 키를 풀고 중복은 DB 제약 조건에 맡김
+            log.warn("[멱등성] 응답 저장 실패 (키: {}): {}", key, e.getMessage());
+            release(redisKey, claim);
+        }
+        return response;
+    }
+
+    /** 이미 차지된 키: 완료된 응답을 돌려주거나 409 */
+    private ResponseEntity<?> replay(String scope, String redisKey, String key, String fingerprint) {
+        String stored = redisTemplate.opsForValue().get(redisKey);
+        if (stored == null) {
+            // 확인하는 사이에 처리 실패로 풀림 -> 다시 보내면 처리됨
+            count(scope, "in_progress");
+            throw new ConflictException("같은 멱등키의 요청을 처리하는 중입니다. 잠시 후 다시 시도해주세요. 키: " + key);
+        }
+        IdempotencyRecord record = read(stored);
+        if (!record.fingerprint().equals(fingerprint)) {
+            count(scope, "mismatch");
+            throw new ConflictException("다른 요청에 이미 사용된 멱등키입니다. 키: " + key);
+        }
+        if (!COMPLETED.equals(record.state())) {
+            count(scope, "in_progress");
+            throw new ConflictException("같은 멱등키의 요청을 처리하는 중입니다. 잠시 후 다시 시도해주세요. 키: " + key);
+        }
+        count(scope, "replayed");
+        log.info("[멱등성] 저장된 응답 반환 (키: {})", key);
+        return ResponseEntity.status(record.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .body(record.body());
+    }
+
+    private void release(String redisKey, String claim) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(redisKey), claim);
+        } catch (DataAccessException e) {
+            // in-progress-ttl이 지나면 풀림
+            log.warn("[멱등성] 키 해제 실패 ({}): {}", redisKey, e.getMessage());
+        }
+    }
+
+    /** 요청 본문 JSON의 SHA-256 */
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("멱등성 요청 본문 해시 실패", e);
+        }
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("멱등성 기록 직렬화 실패", e);
+        }
+    }
+
+    private IdempotencyRecord read(String value) {
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("멱등성 기록 역직렬화 실패", e);
+        }
+    }
+
+    private void count(String scope, String result) {
+        meterRegistry.counter("idempotency.requests", "scope", scope, "result", result).increment();
+    }
+
+    /**
+     * Redis에 저장하는 멱등키 상태
+     *
+     * @param token       처리 중일 때 차지한 요청을 구분하는 값
+     * @param fingerprint 요청 본문 해시
+     * @param status      완료된 응답의 HTTP 상태 코드
+     * @param body        완료된 응답 본문 JSON
+     */
+    record IdempotencyRecord(String state, String token, String fingerprint, Integer status, String body) {
+    }
+}
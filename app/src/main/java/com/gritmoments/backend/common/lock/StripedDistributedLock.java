@@ -0,0 +1,148 @@
+package com.gritmoments.backend.common.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 로컬 락 + 분산 락 (세션 05: 동시성, 세션 06: 다중 노드)
+ *
+ * 같은 노드의 스레드 100개가 같은 키의 Redisson 락을 기다리면, 100개가 모두 Redis에 락 시도를 보내고
+ * 락이 풀릴 때마다 pub/sub 알림을 받아 다시 시도합니다. (Redis 트래픽은 대기자 수에 비례)
+ *
+ * 분산 락 앞에 JVM 안의 락을 하나 더 둡니다.
+ *   1. 키의 로컬 락(공정 ReentrantLock)을 먼저 획득 -> 같은 노드의 다른 스레드는 여기서 순서대로 대기
+ *   2. 로컬 락을 가진 스레드만 Redisson 락을 시도 -> 노드당 키 하나에 Redis 경쟁자는 최대 1명
+ *   3. 해제는 역순 (분산 락 -> 로컬 락), 다음 로컬 대기자가 이어서 분산 락을 시도
+ *
+ * 로컬 락은 키마다 만들지 않고 고정 개수(stripes)를 키 해시로 나눠 씁니다. (메모리 고정, 정리 불필요)
+ * 다른 키가 같은 로컬 락을 공유하면 그 노드 안에서만 서로 기다리므로, stripes는 동시에 쓰는 키 수보다 넉넉하게 둡니다.
+ *
+ * 사용:
+ *   try (StripedDistributedLock.Handle handle = stripedLock.tryLock(key, 5, 3, TimeUnit.SECONDS)) {
+ *       if (handle == null) { 대기 시간 초과 }
+ *       ... 임계 구역 ...
+ *   }
+ */
+@Component
+public class StripedDistributedLock {
+
+    private final RedissonClient redissonClient;
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    private final Timer localWait;
+    private final Timer remoteWait;
+    private final Counter localTimeouts;
+    private final Counter remoteTimeouts;
+
+    public StripedDistributedLock(RedissonClient redissonClient,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${lock.stripes:256}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("lock.stripes는 0보다 커야 합니다.");
+        }
+        this.redissonClient = redissonClient;
+        // 2의 거듭제곱으로 올림 -> 나머지 연산 대신 비트 AND
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            // 공정 모드: 오래 기다린 스레드부터 분산 락을 시도
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.mask = size - 1;
+        this.localWait = waitTimer(meterRegistry, "local");
+        this.remoteWait = waitTimer(meterRegistry, "remote");
+        this.localTimeouts = timeoutCounter(meterRegistry, "local");
+        this.remoteTimeouts = timeoutCounter(meterRegistry, "remote");
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("lock.wait")
+                .description("락 획득까지 대기 시간 (local: 노드 안, remote: Redis)")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private static Counter timeoutCounter(MeterRegistry meterRegistry, String stage) {
+        return Counter.builder("lock.timeouts")
+                .description("대기 시간 안에 락을 얻지 못한 횟수")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 로컬 락 -> 분산 락 순서로 획득 (두 단계 대기 시간의 합이 waitTime을 넘지 않음)
+     *
+     * @param key       분산 락 키 (로컬 락도 이 키로 선택)
+     * @param waitTime  최대 대기 시간
+     * @param leaseTime 분산 락 점유 시간 (이 시간이 지나면 Redis에서 자동 해제)
+     * @return 해제용 핸들, 대기 시간 안에 얻지 못하면 null
+     */
+    public Handle tryLock(String key, long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(waitTime);
+
+        ReentrantLock local = stripes[spread(key.hashCode()) & mask];
+        if (!local.tryLock(waitTime, unit)) {
+            localTimeouts.increment();
+            return null;
+        }
+        long localAcquired = System.nanoTime();
+        localWait.record(localAcquired - start, TimeUnit.NANOSECONDS);
+
+        try {
+            RLock lock = redissonClient.getLock(key);
+            long remaining = Math.max(0L, deadline - localAcquired);
+            boolean acquired = lock.tryLock(remaining, unit.toNanos(leaseTime), TimeUnit.NANOSECONDS);
+            remoteWait.record(System.nanoTime() - localAcquired, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                remoteTimeouts.increment();
+                local.unlock();
+                return null;
+            }
+            return new Handle(local, lock);
+        } catch (InterruptedException | RuntimeException e) {
+            local.unlock();
+            throw e;
+        }
+    }
+
+    /** 해시 상위 비트를 섞어 인접한 키(lock:menu:1, lock:menu:2 ...)가 고르게 나뉘도록 */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 획득한 락 (try-with-resources로 해제, 획득한 스레드에서 닫아야 함)
+     */
+    public static final class Handle implements AutoCloseable {
+
+        private final ReentrantLock local;
+        private final RLock lock;
+
+        private Handle(ReentrantLock local, RLock lock) {
+            this.local = local;
+            this.lock = lock;
+        }
+
+        @Override
+        public void close() {
+            try {
+                // 점유 시간이 지나 이미 풀렸으면 건너뜀
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
+            } finally {
+                local.unlock();
+            }
+        }
+    }
+}
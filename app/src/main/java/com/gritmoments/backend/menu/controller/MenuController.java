@@ -1,8 +1,11 @@
 package com.gritmoments.backend.menu.controller;
 
 import com.gritmoments.backend.common.dto.ApiResponse;
-import com.gritmoments.backend.menu.entity.Menu;
+import com.gritmoments.backend.menu.dto.MenuView;
 import com.gritmoments.backend.menu.service.MenuService;
+import com.gritmoments.backend.menu.service.RedisStockService;
+import com.gritmoments.backend.menu.service.StockAdmissionQueue;
+import com.gritmoments.backend.menu.service.StockWriteCoalescer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -10,12 +13,20 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 메뉴 API 컨트롤러 (세션 01: 캐시, 세션 05: 동시성)
  *
  * GET /api/restaurants/{restaurantId}/menus - 메뉴 목록 (캐시 적용)
+ * GET /api/menus/batch?restaurantIds=1,2,3  - 여러 가게 메뉴 일괄 조회 (캐시 적용)
  * POST /api/menus/{menuId}/decrease-stock  - 재고 차감 (동시성 실습)
+ * POST /api/menus/{menuId}/decrease-stock-optimistic - 재고 차감 (낙관적 잠금 + 재시도)
+ * POST /api/menus/{menuId}/decrease-stock-conditional - 재고 차감 (조건부 UPDATE)
+ * POST /api/menus/{menuId}/decrease-stock-redis - 재고 차감 (Redis Lua, DB 비동기 반영)
+ * POST /api/menus/{menuId}/decrease-stock-batched - 재고 차감 (몇 ms씩 모아서 UPDATE 한 번)
+ * POST /api/menus/{menuId}/purchase-queued - 한정판 구매 (남은 재고만큼만 대기열, 나머지는 즉시 품절)
  */
 @RestController
 @RequiredArgsConstructor
@@ -23,6 +34,9 @@ import java.util.List;
 public class MenuController {
 
     private final MenuService menuService;
+    private final RedisStockService redisStockService;
+    private final StockWriteCoalescer stockWriteCoalescer;
+    private final StockAdmissionQueue stockAdmissionQueue;
 
     /**
      * 가게의 메뉴 목록 조회 (세션 01: 캐시 적용)
@@ -31,10 +45,21 @@ public class MenuController {
      */
     @GetMapping("/api/restaurants/{restaurantId}/menus")
     @Operation(summary = "메뉴 목록 조회", description = "해당 가게의 판매 가능한 메뉴 목록 (Redis 캐시 적용)")
-    public ResponseEntity<ApiResponse<List<Menu>>> getMenus(@PathVariable Long restaurantId) {
+    public ResponseEntity<ApiResponse<List<MenuView>>> getMenus(@PathVariable Long restaurantId) {
         return ResponseEntity.ok(ApiResponse.ok(menuService.getMenusByRestaurant(restaurantId)));
     }
 
+    /**
+     * 여러 가게의 메뉴 목록 일괄 조회 (세션 01: 캐시, 세션 09: 네트워크)
+     * 가게마다 요청하는 대신 한 번의 요청 -> Redis MGET 1번 + (미스만) DB IN 쿼리 1번
+     */
+    @GetMapping("/api/menus/batch")
+    @Operation(summary = "메뉴 목록 일괄 조회", description = "여러 가게의 메뉴 목록 (최대 50곳, Redis MGET + 캐시 미스만 DB 조회)")
+    public ResponseEntity<ApiResponse<Map<Long, List<MenuView>>>> getMenusBatch(
+            @RequestParam List<Long> restaurantIds) {
+        return ResponseEntity.ok(ApiResponse.ok(menuService.getMenusByRestaurants(restaurantIds)));
+    }
+
     /**
      * 재고 차감 - 잠금 없음 (세션 05 L1: 경쟁 상태 재현)
      * 동시에 많은 요청이 오면 재고 정합성이 깨집니다!
@@ -60,4 +85,70 @@ public class MenuController {
         menuService.decreaseStockWithPessimisticLock(menuId, quantity);
         return ResponseEntity.ok(ApiResponse.ok("재고 차감 완료 (비관적 잠금)"));
     }
+
+    /**
+     * 재고 차감 - 낙관적 잠금 (세션 05: @Version + 재시도)
+     * 충돌 시 무작위 백오프로 최대 3회 재시도, 재시도 예산이 부족하면 바로 실패
+     */
+    @PostMapping("/api/menus/{menuId}/decrease-stock-optimistic")
+    @Operation(summary = "재고 차감 (낙관적 잠금)", description = "세션 05: @Version 충돌 시 백오프 재시도")
+    public ResponseEntity<ApiResponse<String>> decreaseStockOptimistic(
+            @PathVariable Long menuId,
+            @RequestParam(defaultValue = "1") int quantity) {
+        menuService.decreaseStockWithOptimisticLock(menuId, quantity);
+        return ResponseEntity.ok(ApiResponse.ok("재고 차감 완료 (낙관적 잠금)"));
+    }
+
+    /**
+     * 재고 차감 - 조건부 UPDATE (세션 05: 읽기 없이 문장 하나로 차감)
+     */
+    @PostMapping("/api/menus/{menuId}/decrease-stock-conditional")
+    @Operation(summary = "재고 차감 (조건부 UPDATE)", description = "세션 05: UPDATE ... WHERE stock >= ? 한 번으로 차감")
+    public ResponseEntity<ApiResponse<String>> decreaseStockConditional(
+            @PathVariable Long menuId,
+            @RequestParam(defaultValue = "1") int quantity) {
+        menuService.decreaseStockConditional(menuId, quantity);
+        return ResponseEntity.ok(ApiResponse.ok("재고 차감 완료 (조건부 UPDATE)"));
+    }
+
+    /**
+     * 재고 차감 - Redis 원자 차감 (세션 05: 행 잠금 없이 처리량 비교)
+     * Lua 스크립트 한 번으로 확인 + 차감, DB(menus.stock)에는 주기적으로 반영
+     */
+    @PostMapping("/api/menus/{menuId}/decrease-stock-redis")
+    @Operation(summary = "재고 차감 (Redis)", description = "세션 05: Redis Lua 스크립트로 원자 차감, DB는 비동기 반영")
+    public ResponseEntity<ApiResponse<String>> decreaseStockRedis(
+            @PathVariable Long menuId,
+            @RequestParam(defaultValue = "1") int quantity) {
+        long remaining = redisStockService.decreaseStock(menuId, quantity);
+        return ResponseEntity.ok(ApiResponse.ok("재고 차감 완료 (Redis, 남은 재고: " + remaining + ")"));
+    }
+
+    /**
+     * 재고 차감 - 묶어서 쓰기 (세션 05: group commit)
+     * 같은 메뉴의 요청을 몇 ms 모아 트랜잭션 하나로 처리, 처리될 때까지 요청 스레드를 점유하지 않음 (비동기 응답)
+     */
+    @PostMapping("/api/menus/{menuId}/decrease-stock-batched")
+    @Operation(summary = "재고 차감 (묶음 처리)", description = "세션 05: 5ms 동안 모은 요청을 UPDATE 한 번으로 처리")
+    public CompletableFuture<ResponseEntity<ApiResponse<String>>> decreaseStockBatched(
+            @PathVariable Long menuId,
+            @RequestParam(defaultValue = "1") int quantity) {
+        return stockWriteCoalescer.decreaseStock(menuId, quantity)
+                .thenApply(remaining -> ResponseEntity.ok(
+                        ApiResponse.ok("재고 차감 완료 (묶음 처리, 남은 재고: " + remaining + ")")));
+    }
+
+    /**
+     * 한정판 구매 - 입장 대기열 (세션 05: 동시성)
+     * 남은 재고를 넘는 요청은 대기 없이 바로 품절 응답, 입장한 요청은 메뉴별로 순서대로 처리
+     * 처리를 기다리는 동안 요청 스레드를 점유하지 않음
+     */
+    @PostMapping("/api/menus/{menuId}/purchase-queued")
+    @Operation(summary = "한정판 구매 (입장 대기열)", description = "세션 05: 재고만큼만 대기열에 넣고 나머지는 즉시 품절 응답")
+    public CompletableFuture<ResponseEntity<ApiResponse<String>>> purchaseQueued(
+            @PathVariable Long menuId,
+            @RequestParam(defaultValue = "1") int quantity) {
+        return stockAdmissionQueue.purchase(menuId, quantity)
+                .thenApply(done -> ResponseEntity.ok(ApiResponse.ok("구매 완료 (입장 대기열)")));
+    }
 }
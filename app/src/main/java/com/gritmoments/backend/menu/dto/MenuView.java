@@ -0,0 +1,21 @@
+package com.gritmoments.backend.menu.dto;
+
+/**
+ * 메뉴 조회용 읽기 모델 (세션 01: 캐시)
+ *
+ * menus 캐시에는 Menu 엔티티 대신 이 record를 저장합니다.
+ * - 엔티티: 지연 로딩 Restaurant 프록시, @Version, 변경 가능한 상태를 가짐 -> 직렬화 비용/위험
+ * - MenuView: 응답에 필요한 값만 가진 불변 객체 -> 캐시 항목이 작고 Hibernate 타입과 무관
+ *
+ * MenuRepository의 JPQL 생성자 프로젝션(SELECT new ...)으로 엔티티를 거치지 않고 바로 조회합니다.
+ */
+public record MenuView(
+        Long id,
+        Long restaurantId,
+        String name,
+        String description,
+        Integer price,
+        Integer stock,
+        Boolean isAvailable
+) {
+}
@@ -1,6 +1,7 @@
 package com.gritmoments.backend.menu.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.gritmoments.backend.common.cache.CatalogEntityListener;
 import com.gritmoments.backend.restaurant.entity.Restaurant;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -15,8 +16,10 @@ import lombok.NoArgsConstructor;
  * - stock(재고): 세션 05 동시성 실습에서 핵심 필드
  *   동시 주문 시 재고 정합성을 보장하는 것이 핵심 과제
  * - 캐시 적용 대상: 메뉴 목록은 자주 조회됨
+ * - 생성 시 네거티브 캐시(ID 필터, 가게 메뉴 목록) 갱신 (CatalogEntityListener)
  */
 @Entity
+@EntityListeners(CatalogEntityListener.class)
 @Table(name = "menus", indexes = {
         @Index(name = "idx_menus_restaurant", columnList = "restaurant_id"),
         @Index(name = "idx_menus_restaurant_available", columnList = "restaurant_id, is_available")
@@ -1,12 +1,16 @@
 package com.gritmoments.backend.menu.repository;
 
+import com.gritmoments.backend.menu.dto.MenuView;
 import com.gritmoments.backend.menu.entity.Menu;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +22,69 @@ public interface MenuRepository extends JpaRepository<Menu, Long> {
     /** 가게의 메뉴 목록 (판매 가능한 것만) */
     List<Menu> findByRestaurantIdAndIsAvailableTrue(Long restaurantId);
 
+    /**
+     * 가게의 메뉴 목록을 읽기 모델로 조회 (세션 01: 캐시 값)
+     *
+     * JPQL 생성자 프로젝션: 엔티티/영속성 컨텍스트를 거치지 않고 필요한 컬럼만 조회
+     * m.restaurant.id는 FK 컬럼이므로 restaurants 조인이 발생하지 않음
+     */
+    @Query("SELECT new com.gritmoments.backend.menu.dto.MenuView(" +
+            "m.id, m.restaurant.id, m.name, m.description, m.price, m.stock, m.isAvailable) " +
+            "FROM Menu m WHERE m.restaurant.id = :restaurantId AND m.isAvailable = true")
+    List<MenuView> findViewsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    /** 여러 가게의 메뉴 목록을 한 번에 조회 (restaurant_id IN (...), 일괄 조회 API의 캐시 미스용) */
+    @Query("SELECT new com.gritmoments.backend.menu.dto.MenuView(" +
+            "m.id, m.restaurant.id, m.name, m.description, m.price, m.stock, m.isAvailable) " +
+            "FROM Menu m WHERE m.restaurant.id IN :restaurantIds AND m.isAvailable = true")
+    List<MenuView> findViewsByRestaurantIdIn(@Param("restaurantIds") Collection<Long> restaurantIds);
+
+    /** 현재 재고만 조회 (엔티티 로딩 없이, Redis 재고 대사용) */
+    @Query("SELECT m.stock FROM Menu m WHERE m.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+
+    /**
+     * 조건부 재고 차감 (세션 05: 잠금 없는 단일 UPDATE)
+     *
+     * UPDATE menus SET stock = stock - ?, version = version + 1 WHERE id = ? AND stock >= ?
+     * 행 잠금은 UPDATE 문 실행 동안만 유지되고, 재고가 부족하면 0행이 변경됩니다.
+     * version도 올려서 같은 행을 엔티티로 읽은 낙관적 잠금 경로가 변경을 감지하게 합니다.
+     *
+     * @return 변경된 행 수 (1: 성공, 0: 재고 부족 또는 메뉴 없음)
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Menu m SET m.stock = m.stock - :quantity, m.version = m.version + 1 " +
+            "WHERE m.id = :id AND m.stock >= :quantity")
+    int decreaseStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * 재고를 0 아래로 내리지 않는 차감 (세션 05: Redis 재고 반영 실패 처리)
+     *
+     * UPDATE menus SET stock = GREATEST(stock - ?, 0), version = version + 1 WHERE id = ?
+     * 이미 판매가 확정된 차감량을 DB에 반영할 때 사용 (모자란 만큼은 호출하는 쪽에서 초과 판매로 기록)
+     *
+     * @return 변경된 행 수 (0: 메뉴 없음)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Menu m SET m.stock = greatest(m.stock - :quantity, 0), m.version = m.version + 1 " +
+            "WHERE m.id = :id")
+    int decreaseStockClamped(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * 재고 증가 (세션 05: 결제 후 취소로 되돌린 수량 반영)
+     *
+     * @return 변경된 행 수 (0: 메뉴 없음)
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Menu m SET m.stock = m.stock + :quantity, m.version = m.version + 1 WHERE m.id = :id")
+    int increaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /** 전체 메뉴 ID (존재하는 ID 필터 재구성용, PK 인덱스만 읽음) */
+    @Query("SELECT m.id FROM Menu m")
+    List<Long> findAllIds();
+
     /** 가게의 전체 메뉴 목록 */
     List<Menu> findByRestaurantId(Long restaurantId);
 
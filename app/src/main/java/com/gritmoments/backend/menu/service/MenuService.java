@@ -1,16 +1,31 @@
 package com.gritmoments.backend.menu.service;
 
+import com.gritmoments.backend.common.cache.ExistingIdFilter;
+import com.gritmoments.backend.common.cache.TwoLevelCache;
+import com.gritmoments.backend.common.exception.BusinessException;
 import com.gritmoments.backend.common.exception.ResourceNotFoundException;
+import com.gritmoments.backend.menu.dto.MenuView;
 import com.gritmoments.backend.menu.entity.Menu;
 import com.gritmoments.backend.menu.repository.MenuRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Recover;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 메뉴 서비스 (세션 01: 캐시, 세션 05: 동시성)
@@ -19,6 +34,7 @@ import java.util.List;
  * - @Cacheable: 캐시에 데이터가 있으면 DB를 조회하지 않음 (세션 01)
  * - @CacheEvict: 데이터가 변경되면 캐시를 무효화 (세션 01)
  * - 비관적 잠금: 동시 재고 차감 시 정합성 보장 (세션 05)
+ * - 낙관적 잠금 + 재시도, 조건부 UPDATE: 행 잠금 없는 재고 차감 (세션 05)
  */
 @Service
 @RequiredArgsConstructor
@@ -26,7 +42,13 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class MenuService {
 
+    /** 일괄 조회 한 번에 허용하는 최대 가게 수 */
+    private static final int MAX_BATCH_RESTAURANTS = 50;
+
     private final MenuRepository menuRepository;
+    private final CacheManager cacheManager;
+    private final ExistingIdFilter existingIdFilter;
+    private final StockRetryBudget stockRetryBudget;
 
     /**
      * 가게의 메뉴 목록 조회 (세션 01: 캐시 적용)
@@ -34,17 +56,99 @@ public class MenuService {
      * @Cacheable: 첫 호출은 DB에서 조회, 이후는 Redis 캐시에서 반환
      * - value: 캐시 이름 ("menus" -> TTL 10분, RedisConfig에서 설정)
      * - key: 캐시 키 (가게 ID)
+     * - sync: 같은 키의 동시 미스는 한 번만 DB 조회 (캐시 스탬피드 방지)
+     * - 캐시 값은 엔티티가 아닌 읽기 모델(MenuView) -> 작고 Hibernate 프록시와 무관
+     * - 없는 가게(ID 필터에 없음)는 DB 조회 없이 404, "없음" 표시만 cache.negative-ttl 동안 캐싱
+     *   (빈 목록을 메뉴 TTL 동안 캐싱하지 않음 - 필터가 놓친 가게여도 짧은 시간 뒤 다시 확인, 가게 생성 시 evict)
      */
-    @Cacheable(value = "menus", key = "#restaurantId")
-    public List<Menu> getMenusByRestaurant(Long restaurantId) {
+    @Cacheable(value = "menus", key = "#restaurantId", sync = true)
+    public List<MenuView> getMenusByRestaurant(Long restaurantId) {
+        if (!existingIdFilter.mightContainRestaurant(restaurantId)) {
+            throw new ResourceNotFoundException("Restaurant", restaurantId);
+        }
         log.info("[DB 조회] 가게 {} 메뉴 목록 - 캐시 미스(MISS)", restaurantId);
-        return menuRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId);
+        return menuRepository.findViewsByRestaurantId(restaurantId);
+    }
+
+    /**
+     * 여러 가게의 메뉴 목록 일괄 조회 (세션 01: 캐시, 세션 09: 네트워크 왕복 줄이기)
+     *
+     * 홈 화면처럼 10~20개 가게의 메뉴를 한 번에 그릴 때 사용합니다.
+     * 1. L1 -> Redis MGET 한 번으로 모든 키 조회
+     * 2. 캐시에 없는 가게만 restaurant_id IN (...) 쿼리 한 번으로 DB 조회
+     * 3. 조회한 값을 파이프라인 SET 한 번으로 캐시에 저장 (getMenusByRestaurant와 같은 캐시/키)
+     *
+     * @return 가게 ID -> 메뉴 목록 (요청 순서 유지, 메뉴가 없는 가게는 빈 목록)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, List<MenuView>> getMenusByRestaurants(List<Long> restaurantIds) {
+        List<Long> ids = restaurantIds.stream().distinct().toList();
+        if (ids.size() > MAX_BATCH_RESTAURANTS) {
+            throw new BusinessException("한 번에 조회할 수 있는 가게는 최대 " + MAX_BATCH_RESTAURANTS + "곳입니다.");
+        }
+
+        Cache cache = cacheManager.getCache("menus");
+        Map<Object, Object> cached = getAllFromCache(cache, ids);
+
+        List<Long> misses = ids.stream().filter(id -> !cached.containsKey(id)).toList();
+        Map<Long, List<MenuView>> loaded = new LinkedHashMap<>();
+        // 없는 가게(ID 필터에 없음)는 DB 조회 없이 빈 목록으로 응답하되 캐싱하지 않음
+        // (필터가 놓친 가게의 빈 목록이 메뉴 TTL 동안 모든 노드에 남지 않도록)
+        Map<Long, List<MenuView>> rejected = new LinkedHashMap<>();
+        misses.stream()
+                .filter(id -> !existingIdFilter.mightContainRestaurant(id))
+                .forEach(id -> rejected.put(id, new ArrayList<>()));
+        misses = misses.stream().filter(id -> !rejected.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            log.info("[DB 조회] 가게 {} 메뉴 목록 일괄 조회 - 캐시 미스(MISS)", misses);
+            Map<Long, List<MenuView>> byRestaurant = menuRepository.findViewsByRestaurantIdIn(misses).stream()
+                    .collect(Collectors.groupingBy(MenuView::restaurantId));
+            for (Long id : misses) {
+                // 단건 조회와 같은 타입(ArrayList)으로 저장
+                loaded.put(id, new ArrayList<>(byRestaurant.getOrDefault(id, List.of())));
+            }
+        }
+        if (!loaded.isEmpty()) {
+            putAllToCache(cache, loaded);
+        }
+
+        Map<Long, List<MenuView>> result = new LinkedHashMap<>();
+        for (Long id : ids) {
+            result.put(id, cached.containsKey(id) ? (List<MenuView>) cached.get(id)
+                    : loaded.getOrDefault(id, rejected.get(id)));
+        }
+        return result;
+    }
+
+    private Map<Object, Object> getAllFromCache(Cache cache, List<Long> ids) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            return twoLevelCache.getAll(ids);
+        }
+        Map<Object, Object> found = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Cache.ValueWrapper wrapper = cache.get(id);
+            if (wrapper != null) {
+                found.put(id, wrapper.get());
+            }
+        }
+        return found;
+    }
+
+    private void putAllToCache(Cache cache, Map<Long, List<MenuView>> values) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.putAll(values);
+        } else {
+            values.forEach(cache::put);
+        }
     }
 
     /**
-     * 메뉴 단건 조회
+     * 메뉴 단건 조회 (ID 필터에 없으면 DB 조회 없이 404)
      */
     public Menu getMenu(Long menuId) {
+        if (!existingIdFilter.mightContainMenu(menuId)) {
+            throw new ResourceNotFoundException("Menu", menuId);
+        }
         return menuRepository.findById(menuId)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu", menuId));
     }
@@ -76,6 +180,61 @@ public class MenuService {
         menu.decreaseStock(quantity);
     }
 
+    /**
+     * 재고 차감 - 낙관적 잠금 (세션 05: 경합이 적은 메뉴용)
+     *
+     * 잠금 없이 읽고, 커밋 시 UPDATE ... WHERE version = ? 로 그 사이 변경이 있었는지 확인합니다.
+     * 다른 트랜잭션이 먼저 바꿨으면 ObjectOptimisticLockingFailureException -> 새 트랜잭션으로 재시도
+     *
+     * @Retryable이 @Transactional보다 바깥에서 동작하므로(@EnableRetry 순서) 시도마다 새 트랜잭션입니다.
+     * - 최대 4회 시도, 10ms부터 2배씩 최대 100ms까지 무작위 대기 (동시에 충돌한 요청이 다시 함께 충돌하지 않도록)
+     * - 재시도 예산(StockRetryBudget)이 부족하면 바로 실패 (경합이 심한 메뉴는 다른 방식이 적합)
+     */
+    @Transactional
+    @Retryable(retryFor = ObjectOptimisticLockingFailureException.class,
+            // 재고 부족/메뉴 없음은 @Recover를 거치지 않고 그대로 응답
+            notRecoverable = {BusinessException.class, ResourceNotFoundException.class},
+            maxAttempts = 4,
+            backoff = @Backoff(delay = 10, maxDelay = 100, multiplier = 2, random = true),
+            exceptionExpression = "@stockRetryBudget.tryAcquire(#root)")
+    public void decreaseStockWithOptimisticLock(Long menuId, int quantity) {
+        if (RetrySynchronizationManager.getContext() == null
+                || RetrySynchronizationManager.getContext().getRetryCount() == 0) {
+            stockRetryBudget.recordRequest();
+        }
+        Menu menu = menuRepository.findById(menuId)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu", menuId));
+        if (menu.getStock() < quantity) {
+            throw new BusinessException("재고가 부족합니다. 현재 재고: " + menu.getStock());
+        }
+        menu.decreaseStock(quantity);
+        // 커밋 시 UPDATE menus SET stock = ?, version = version + 1 WHERE id = ? AND version = ?
+    }
+
+    /** 재시도 횟수/예산을 모두 쓴 충돌 */
+    @Recover
+    public void recoverOptimisticLock(ObjectOptimisticLockingFailureException e, Long menuId, int quantity) {
+        log.warn("[낙관적 잠금 실패] 메뉴 {} 재고 차감 충돌 - 재시도 중단", menuId);
+        throw new BusinessException("다른 주문과 충돌했습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    /**
+     * 재고 차감 - 조건부 UPDATE 한 번 (세션 05)
+     *
+     * UPDATE menus SET stock = stock - ? WHERE id = ? AND stock >= ?
+     * 읽기 없이 문장 하나로 확인과 차감을 처리하므로 재시도가 필요 없고,
+     * 행 잠금도 UPDATE 실행 동안만 유지됩니다.
+     */
+    @Transactional
+    public void decreaseStockConditional(Long menuId, int quantity) {
+        if (menuRepository.decreaseStockIfAvailable(menuId, quantity) == 0) {
+            if (!menuRepository.existsById(menuId)) {
+                throw new ResourceNotFoundException("Menu", menuId);
+            }
+            throw new BusinessException("재고가 부족합니다. 메뉴 ID: " + menuId);
+        }
+    }
+
     /**
      * 메뉴 정보 변경 시 캐시 무효화 (세션 01)
      *
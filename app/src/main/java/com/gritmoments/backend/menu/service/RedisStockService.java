@@ -0,0 +1,383 @@
+package com.gritmoments.backend.menu.service;
+
+import com.gritmoments.backend.common.exception.BusinessException;
+import com.gritmoments.backend.common.exception.ResourceNotFoundException;
+import com.gritmoments.backend.menu.entity.Menu;
+import com.gritmoments.backend.menu.repository.MenuRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 기반 재고 차감 (세션 05: 동시성, 세션 01: Redis)
+ *
+ * 비관적 잠금(SELECT ... FOR UPDATE)은 인기 메뉴의 모든 구매를 InnoDB 행 하나에 줄 세웁니다.
+ * 이 서비스는 재고의 "현재 값"을 Redis에 두고, Lua 스크립트 한 번으로 확인과 차감을 원자적으로 처리합니다.
+ * (Redis는 스크립트를 한 번에 하나씩 실행하므로 락 획득/해제 왕복이 없음)
+ *
+ * Redis 키:
+ *   stock:menu:{id}          현재 재고 (첫 차감 시 DB 재고로 초기화)
+ *   stock:pending            DB에 아직 반영하지 않은 차감량 (Hash: 메뉴 ID -> 수량, 결제 후 취소로 음수가 될 수 있음)
+ *   stock:pending:flushing   반영 중인 차감량 (실패/중단 시 다음 반영에서 이어서 처리)
+ *   stock:menus              Redis 재고를 쓰는 메뉴 ID 목록 (대사 대상)
+ *   stock:reserved           결제 대기 주문이 잡아 둔 수량 (Hash: 메뉴 ID -> 수량, StockReservationService)
+ *   stock:oversold           DB 재고가 모자라 반영하지 못한 판매량 (Hash: 메뉴 ID -> 수량, 운영자 확인용)
+ *   stock:sharded            샤드 카운터(ShardedStockService)로 재고를 옮긴 메뉴 ID 목록
+ *
+ * 샤드 메뉴: 남은 재고는 샤드 카운터에만 있고 stock:menu:{id}는 0으로 유지합니다.
+ *   (두 카운터가 같은 DB 재고를 각자 가지면 한 개를 두 번 팔 수 있음 -> 초기화/대사도 0으로 맞춤)
+ *
+ * DB 반영 (flush, stock.redis.flush-interval):
+ *   pending을 flushing으로 옮긴 뒤 메뉴마다 조건부 UPDATE 한 번 -> 반영한 항목을 flushing에서 삭제
+ *   조건부 UPDATE가 실패하면(다른 경로 차감으로 DB 재고가 모자람) 이미 판매된 수량이므로 버리지 않고
+ *   재고를 0까지만 차감하고, 모자란 수량은 stock:oversold에 남김 (stock.redis.oversold)
+ *   노드가 여러 개여도 분산 락으로 한 노드만 반영 (같은 차감을 두 번 반영하지 않도록)
+ *
+ * 대사 (reconcile, stock.redis.reconcile-interval):
+ *   Redis 재고 + 미반영 차감량 + 예약 수량이 DB 재고와 다르면(관리자 입고, 다른 차감 경로 등) DB 기준으로 Redis 재고를 맞춤
+ *
+ * 주의: 반영 직후 서버가 죽어 flushing 삭제가 누락되면 같은 차감이 한 번 더 반영될 수 있습니다.
+ * 이 경우 DB 재고가 실제보다 적어지고(과소 판매), 대사에서 Redis도 같은 값으로 내려갑니다.
+ * Redis가 확인한 판매는 항상 DB 재고를 줄이므로 대사가 판매된 수량을 다시 판매 가능으로 되돌리지 않습니다.
+ * 다른 차감 경로와 겹쳐 실제 재고보다 많이 팔린 수량은 stock:oversold에서 확인합니다.
+ */
+@Service
+@Slf4j
+public class RedisStockService {
+
+    static final String STOCK_KEY_PREFIX = "stock:menu:";
+    static final String PENDING_KEY = "stock:pending";
+    static final String RESERVED_KEY = "stock:reserved";
+    private static final String FLUSHING_KEY = "stock:pending:flushing";
+    private static final String MENUS_KEY = "stock:menus";
+    static final String SHARDED_KEY = "stock:sharded";
+    private static final String OVERSOLD_KEY = "stock:oversold";
+    private static final String FLUSH_LOCK_KEY = "lock:stock:flush";
+
+    /** 반영/대사 락 점유 시간 (초) - 처리 중 노드가 죽어도 이 시간 후 다른 노드가 이어받음 */
+    private static final long FLUSH_LEASE_SECONDS = 30L;
+
+    private static final long NOT_LOADED = -2L;
+    private static final long SOLD_OUT = -1L;
+
+    /**
+     * 확인 + 차감 + 미반영 차감량 기록
+     * KEYS: 재고, pending / ARGV: 수량, 메뉴 ID
+     * 반환: 남은 재고, -1(재고 부족), -2(아직 Redis에 재고 없음)
+     */
+    private static final RedisScript<Long> DECREASE_SCRIPT = new DefaultRedisScript<>(
+            "local stock = redis.call('get', KEYS[1]) " +
+            "if not stock then return -2 end " +
+            "local quantity = tonumber(ARGV[1]) " +
+            "if tonumber(stock) < quantity then return -1 end " +
+            "redis.call('hincrby', KEYS[2], ARGV[2], quantity) " +
+            "return redis.call('decrby', KEYS[1], quantity)",
+            Long.class);
+
+    /**
+     * 재고 키가 없을 때만 DB 재고 - 미반영 차감량 - 예약 수량으로 초기화 (샤드 메뉴는 0)
+     * KEYS: 재고, pending, flushing, 메뉴 목록, reserved, 샤드 메뉴 목록 / ARGV: DB 재고, 메뉴 ID
+     */
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then return 0 end " +
+            "if redis.call('sismember', KEYS[6], ARGV[2]) == 1 then " +
+            "  redis.call('set', KEYS[1], 0) " +
+            "  redis.call('sadd', KEYS[4], ARGV[2]) " +
+            "  return 1 " +
+            "end " +
+            "local pending = tonumber(redis.call('hget', KEYS[2], ARGV[2]) or '0') " +
+            "  + tonumber(redis.call('hget', KEYS[3], ARGV[2]) or '0') " +
+            "  + tonumber(redis.call('hget', KEYS[5], ARGV[2]) or '0') " +
+            "redis.call('set', KEYS[1], tonumber(ARGV[1]) - pending) " +
+            "redis.call('sadd', KEYS[4], ARGV[2]) " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 반영할 차감량 가져오기 (이전 반영이 남아 있으면 그것부터)
+     * KEYS: pending, flushing / 반환: [메뉴 ID, 수량, 메뉴 ID, 수량, ...]
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TAKE_PENDING_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[2]) == 0 and redis.call('exists', KEYS[1]) == 1 then " +
+            "  redis.call('rename', KEYS[1], KEYS[2]) " +
+            "end " +
+            "return redis.call('hgetall', KEYS[2])",
+            List.class);
+
+    /**
+     * DB 재고 기준으로 Redis 재고 보정 (샤드 메뉴는 0 - 남은 재고는 샤드에 있음)
+     * KEYS: 재고, pending, flushing, reserved, 샤드 메뉴 목록 / ARGV: DB 재고, 메뉴 ID / 반환: 보정량 (Redis - 기대값)
+     */
+    private static final RedisScript<Long> RECONCILE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('get', KEYS[1]) " +
+            "if not current then return 0 end " +
+            "local expected = 0 " +
+            "if redis.call('sismember', KEYS[5], ARGV[2]) == 0 then " +
+            "  expected = tonumber(ARGV[1]) " +
+            "    - tonumber(redis.call('hget', KEYS[2], ARGV[2]) or '0') " +
+            "    - tonumber(redis.call('hget', KEYS[3], ARGV[2]) or '0') " +
+            "    - tonumber(redis.call('hget', KEYS[4], ARGV[2]) or '0') " +
+            "end " +
+            "local drift = tonumber(current) - expected " +
+            "if drift ~= 0 then redis.call('set', KEYS[1], expected) end " +
+            "return drift",
+            Long.class);
+
+    /**
+     * 샤드 카운터로 넘길 재고를 stock:menu:{id}에서 가져오고 0으로 만듦 (같은 재고가 두 카운터에 남지 않도록)
+     * - 처음 샤드로 옮기는 메뉴: stock:menu:{id}의 남은 재고 (없으면 DB 재고 - 미반영 차감량 - 예약 수량)
+     * - 이미 샤드 메뉴(샤드 키를 잃고 다시 나누는 경우): DB 재고 - 미반영 차감량 - 예약 수량
+     * KEYS: 재고, pending, flushing, reserved, 메뉴 목록, 샤드 메뉴 목록 / ARGV: DB 재고, 메뉴 ID
+     * 반환: 샤드에 나눌 재고
+     */
+    private static final RedisScript<Long> SHARD_TAKEOVER_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('get', KEYS[1]) " +
+            "local available " +
+            "if current and redis.call('sismember', KEYS[6], ARGV[2]) == 0 then " +
+            "  available = tonumber(current) " +
+            "else " +
+            "  available = tonumber(ARGV[1]) " +
+            "    - tonumber(redis.call('hget', KEYS[2], ARGV[2]) or '0') " +
+            "    - tonumber(redis.call('hget', KEYS[3], ARGV[2]) or '0') " +
+            "    - tonumber(redis.call('hget', KEYS[4], ARGV[2]) or '0') " +
+            "end " +
+            "redis.call('set', KEYS[1], 0) " +
+            "redis.call('sadd', KEYS[5], ARGV[2]) " +
+            "redis.call('sadd', KEYS[6], ARGV[2]) " +
+            "return math.max(available, 0)",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MenuRepository menuRepository;
+    private final RedissonClient redissonClient;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter decreased;
+    private final Counter soldOut;
+    private final Counter flushed;
+    private final Counter oversold;
+    private final Counter drift;
+
+    public RedisStockService(StringRedisTemplate redisTemplate,
+                             MenuRepository menuRepository,
+                             RedissonClient redissonClient,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.menuRepository = menuRepository;
+        this.redissonClient = redissonClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.decreased = decrementCounter(meterRegistry, "success");
+        this.soldOut = decrementCounter(meterRegistry, "sold_out");
+        this.flushed = Counter.builder("stock.redis.flushed")
+                .description("DB에 반영한 Redis 재고 차감량")
+                .register(meterRegistry);
+        this.oversold = Counter.builder("stock.redis.oversold")
+                .description("DB 재고가 모자라 반영하지 못한 판매량 (stock:oversold에 기록)")
+                .register(meterRegistry);
+        this.drift = Counter.builder("stock.redis.drift")
+                .description("대사에서 DB 기준으로 보정한 Redis 재고량 (절댓값 합)")
+                .register(meterRegistry);
+    }
+
+    private static Counter decrementCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("stock.redis.decrements")
+                .description("Redis 재고 차감 결과별 횟수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 재고 차감 (Lua 스크립트 한 번, DB 반영은 비동기)
+     *
+     * @return 차감 후 남은 재고
+     * @throws BusinessException 재고 부족
+     */
+    public long decreaseStock(Long menuId, int quantity) {
+        if (quantity <= 0) {
+            throw new BusinessException("차감 수량은 1 이상이어야 합니다.");
+        }
+        String stockKey = STOCK_KEY_PREFIX + menuId;
+        List<String> keys = List.of(stockKey, PENDING_KEY);
+
+        Long remaining = redisTemplate.execute(DECREASE_SCRIPT, keys, String.valueOf(quantity), String.valueOf(menuId));
+        if (remaining != null && remaining == NOT_LOADED) {
+            loadStock(menuId);
+            remaining = redisTemplate.execute(DECREASE_SCRIPT, keys, String.valueOf(quantity), String.valueOf(menuId));
+        }
+        if (remaining == null || remaining == SOLD_OUT) {
+            soldOut.increment();
+            throw new BusinessException("재고가 부족합니다. 메뉴 ID: " + menuId);
+        }
+        decreased.increment();
+        return remaining;
+    }
+
+    /** DB 재고로 Redis 재고 초기화 (이미 있으면 그대로) */
+    void loadStock(Long menuId) {
+        int dbStock = menuRepository.findStockById(menuId)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu", menuId));
+        redisTemplate.execute(LOAD_SCRIPT,
+                List.of(STOCK_KEY_PREFIX + menuId, PENDING_KEY, FLUSHING_KEY, MENUS_KEY, RESERVED_KEY, SHARDED_KEY),
+                String.valueOf(dbStock), String.valueOf(menuId));
+    }
+
+    /**
+     * 메뉴의 남은 재고를 샤드 카운터로 넘김 (ShardedStockService 초기화)
+     * 이후 stock:menu:{id}는 0으로 유지되어 일반 주문(예약) 경로는 품절로 응답합니다.
+     *
+     * @return 샤드에 나눌 재고
+     */
+    public long takeOverForShards(Long menuId) {
+        int dbStock = menuRepository.findStockById(menuId)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu", menuId));
+        Long available = redisTemplate.execute(SHARD_TAKEOVER_SCRIPT,
+                List.of(STOCK_KEY_PREFIX + menuId, PENDING_KEY, FLUSHING_KEY, RESERVED_KEY, MENUS_KEY, SHARDED_KEY),
+                String.valueOf(dbStock), String.valueOf(menuId));
+        return available == null ? 0 : available;
+    }
+
+    /**
+     * 다른 Redis 재고 경로(ShardedStockService)에서 확정한 판매를 DB 반영 대기에 추가
+     * 다음 flush에서 같은 메뉴의 다른 차감과 합쳐 UPDATE 한 번으로 반영
+     */
+    public void recordPendingDecrease(Long menuId, int quantity) {
+        redisTemplate.opsForHash().increment(PENDING_KEY, String.valueOf(menuId), quantity);
+    }
+
+    /**
+     * 미반영 차감량을 DB에 반영 (메뉴마다 UPDATE 한 번)
+     */
+    @Scheduled(fixedDelayString = "${stock.redis.flush-interval:PT1S}")
+    public void flushPending() {
+        if (Boolean.FALSE.equals(redisTemplate.hasKey(PENDING_KEY))
+                && Boolean.FALSE.equals(redisTemplate.hasKey(FLUSHING_KEY))) {
+            return;
+        }
+        withFlushLock(this::flushLocked);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flushLocked() {
+        List<String> entries = redisTemplate.execute(TAKE_PENDING_SCRIPT, List.of(PENDING_KEY, FLUSHING_KEY));
+        if (entries == null) {
+            return;
+        }
+        for (int i = 0; i + 1 < entries.size(); i += 2) {
+            Long menuId = Long.valueOf(entries.get(i));
+            int quantity = Integer.parseInt(entries.get(i + 1));
+            if (quantity <= 0) {
+                // 결제 후 취소로 되돌린 수량이 더 많음 -> DB 재고를 늘림
+                if (quantity < 0) {
+                    menuRepository.increaseStock(menuId, -quantity);
+                }
+                redisTemplate.opsForHash().delete(FLUSHING_KEY, entries.get(i));
+                continue;
+            }
+            int updated = menuRepository.decreaseStockIfAvailable(menuId, quantity);
+            if (updated == 0) {
+                // DB 재고가 Redis보다 적음 (다른 경로로 차감됨) -> 이미 판매된 수량이므로 0까지라도 반영
+                applyClamped(menuId, quantity);
+            } else {
+                flushed.increment(quantity);
+            }
+            redisTemplate.opsForHash().delete(FLUSHING_KEY, entries.get(i));
+        }
+    }
+
+    /**
+     * DB 재고를 0까지만 차감하고 모자란 수량은 stock:oversold에 기록
+     * (기록 전에 실패하면 flushing에 남아 다음 반영에서 다시 처리)
+     */
+    private void applyClamped(Long menuId, int quantity) {
+        Integer shortfall = transactionTemplate.execute(status -> {
+            Integer dbStock = menuRepository.findByIdWithPessimisticLock(menuId)
+                    .map(Menu::getStock)
+                    .orElse(null);
+            if (dbStock == null) {
+                return quantity;
+            }
+            menuRepository.decreaseStockClamped(menuId, quantity);
+            return quantity - Math.min(dbStock, quantity);
+        });
+        int missing = shortfall == null ? quantity : shortfall;
+        flushed.increment(quantity - missing);
+        if (missing > 0) {
+            redisTemplate.opsForHash().increment(OVERSOLD_KEY, String.valueOf(menuId), missing);
+            oversold.increment(missing);
+            log.error("[Redis 재고 반영] 메뉴 {} DB 재고 부족: {}개 중 {}개 초과 판매 (stock:oversold 확인 필요)",
+                    menuId, quantity, missing);
+        }
+    }
+
+    /**
+     * Redis 재고와 DB 재고 대사 (DB 기준)
+     */
+    @Scheduled(fixedDelayString = "${stock.redis.reconcile-interval:PT1M}")
+    public void reconcile() {
+        Set<String> menuIds = redisTemplate.opsForSet().members(MENUS_KEY);
+        if (menuIds == null || menuIds.isEmpty()) {
+            return;
+        }
+        withFlushLock(() -> {
+            // 반영 중인 차감이 DB에 모두 들어간 상태에서 비교
+            flushLocked();
+            for (String menuId : menuIds) {
+                reconcileMenu(menuId);
+            }
+        });
+    }
+
+    private void reconcileMenu(String menuId) {
+        String stockKey = STOCK_KEY_PREFIX + menuId;
+        Integer dbStock = menuRepository.findStockById(Long.valueOf(menuId)).orElse(null);
+        if (dbStock == null) {
+            redisTemplate.delete(stockKey);
+            redisTemplate.opsForSet().remove(MENUS_KEY, menuId);
+            redisTemplate.opsForSet().remove(SHARDED_KEY, menuId);
+            return;
+        }
+        Long difference = redisTemplate.execute(RECONCILE_SCRIPT,
+                List.of(stockKey, PENDING_KEY, FLUSHING_KEY, RESERVED_KEY, SHARDED_KEY),
+                String.valueOf(dbStock), menuId);
+        if (difference != null && difference != 0) {
+            drift.increment(Math.abs(difference));
+            log.warn("[Redis 재고 대사] 메뉴 {} Redis 재고를 DB 기준으로 {}만큼 보정", menuId, -difference);
+        }
+    }
+
+    private void withFlushLock(Runnable action) {
+        RLock lock = redissonClient.getLock(FLUSH_LOCK_KEY);
+        boolean locked = false;
+        try {
+            // 다른 노드가 처리 중이면 이번 주기는 건너뜀
+            locked = lock.tryLock(0, FLUSH_LEASE_SECONDS, TimeUnit.SECONDS);
+            if (locked) {
+                action.run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // 남은 항목은 flushing에 그대로 있으므로 다음 주기에 다시 처리
+            log.warn("[Redis 재고 반영 실패] {}", e.getMessage());
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.gritmoments.backend.menu.service;
+
+import com.gritmoments.backend.common.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 샤딩된 재고 카운터 (세션 05: 동시성, 한정판 선착순 구매)
+ *
+ * 재고를 Redis 키 하나에 두면, 수만 명이 같은 메뉴를 살 때 그 키 하나가 병목이 됩니다.
+ * (Redis Cluster에서는 키 하나가 노드 하나에만 있으므로 노드를 늘려도 처리량이 그대로)
+ * 재고를 N개의 하위 카운터로 나누고 구매자를 그중 하나로 보내면 경합이 N개로 분산됩니다.
+ *
+ *   stock:shard:{메뉴 ID}:count   샤드 수 (초기화 완료 표시)
+ *   stock:shard:{메뉴 ID}:{i}     i번째 샤드의 남은 재고
+ *   (해시 태그를 쓰지 않아 Cluster에서는 샤드마다 다른 슬롯에 배치됨)
+ *
+ * 차감 흐름:
+ *   1. 구매자 ID로 시작 샤드를 정함 (같은 구매자는 같은 샤드 -> 고르게 분산)
+ *   2. 샤드 하나에 "있으면 차감" Lua 스크립트 (키 하나짜리 원자 연산이므로 과다 판매 없음)
+ *   3. 비었으면 다음 샤드로 (이 노드가 비었다고 확인한 샤드는 잠시 건너뜀)
+ *   4. 어느 샤드에도 수량만큼 없으면 여러 샤드에서 조금씩 모아 차감 (모자라면 되돌리고 품절)
+ *
+ * 재분배: 샤드가 처음 비었을 때 가장 많이 남은 샤드의 절반을 옮겨,
+ * 남은 재고가 특정 샤드에 몰려 그 샤드에 다시 경합이 생기지 않게 합니다.
+ * (꺼낸 뒤 넣는 두 단계이므로 중간에 실패하면 재고가 줄어들 수는 있어도 늘어나지는 않음)
+ *
+ * 샤드는 메뉴의 첫 구매 때 RedisStockService의 남은 재고를 넘겨받아 한 번 초기화됩니다.
+ * 이후 그 메뉴의 stock:menu:{id}는 0으로 유지되므로 일반 주문 경로와 재고를 이중으로 팔지 않습니다.
+ * DB 반영은 구매마다 하지 않고 RedisStockService의 반영 대기(stock:pending)에 더해 두면
+ * flush 주기마다 메뉴별 UPDATE 한 번으로 합쳐집니다. (구매자들이 menus 행 잠금에 다시 줄 서지 않음)
+ *
+ * 샤드 수는 노드 안에 기억하지만, 모든 샤드가 비었다고 나오면 Redis의 샤드 수를 다시 읽습니다.
+ * 샤드 키가 사라졌거나(Redis 재시작) 운영자가 재고를 다시 나눈 경우 재시작 없이 새 샤드를 사용합니다.
+ */
+@Service
+@Slf4j
+public class ShardedStockService {
+
+    private static final String KEY_PREFIX = "stock:shard:";
+    private static final String INIT_LOCK_PREFIX = "lock:stock:shard-init:";
+
+    /** 비었다고 확인한 샤드를 다시 확인하기까지의 시간 (재분배/환불로 다시 채워질 수 있음) */
+    private static final long DRY_RECHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** 있으면 차감 / KEYS: 샤드 / ARGV: 수량 / 반환: 남은 재고, 부족하면 -1 */
+    private static final RedisScript<Long> DECREASE_SCRIPT = new DefaultRedisScript<>(
+            "local stock = tonumber(redis.call('get', KEYS[1]) or '0') " +
+            "local quantity = tonumber(ARGV[1]) " +
+            "if stock < quantity then return -1 end " +
+            "return redis.call('decrby', KEYS[1], quantity)",
+            Long.class);
+
+    /** 최대 ARGV[1]개까지 꺼냄 / KEYS: 샤드 / 반환: 실제로 꺼낸 수량 */
+    private static final RedisScript<Long> TAKE_UP_TO_SCRIPT = new DefaultRedisScript<>(
+            "local stock = tonumber(redis.call('get', KEYS[1]) or '0') " +
+            "local taken = math.min(stock, tonumber(ARGV[1])) " +
+            "if taken > 0 then redis.call('decrby', KEYS[1], taken) end " +
+            "return taken",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedissonClient redissonClient;
+    private final RedisStockService redisStockService;
+    private final int defaultShardCount;
+
+    /** 메뉴 ID -> 샤드 수 (모든 샤드가 비었다고 나올 때 Redis에서 다시 확인) */
+    private final ConcurrentMap<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 메뉴 ID -> 샤드별 "비었음" 확인 시각 (nanoTime, 0이면 확인 안 함)
+     * 배열 길이 = 만들 때의 샤드 수 (샤드 수가 바뀌면 dryMarks(menuId, shards)가 새 배열로 교체)
+     */
+    private final ConcurrentMap<Long, AtomicLongArray> dryMarks = new ConcurrentHashMap<>();
+
+    public ShardedStockService(StringRedisTemplate redisTemplate,
+                               RedissonClient redissonClient,
+                               RedisStockService redisStockService,
+                               @Value("${stock.shards.count:8}") int defaultShardCount) {
+        if (defaultShardCount <= 0) {
+            throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다.");
+        }
+        this.redisTemplate = redisTemplate;
+        this.redissonClient = redissonClient;
+        this.redisStockService = redisStockService;
+        this.defaultShardCount = defaultShardCount;
+    }
+
+    /**
+     * 재고 차감 (샤드 하나 -> 다음 샤드 -> 여러 샤드에서 모으기 순서)
+     *
+     * @param routingKey 시작 샤드를 정하는 값 (보통 구매자 ID, null이면 무작위)
+     * @throws BusinessException 품절
+     */
+    public void decreaseStock(Long menuId, int quantity, Long routingKey) {
+        if (quantity <= 0) {
+            throw new BusinessException("차감 수량은 1 이상이어야 합니다.");
+        }
+        int shards = shardCount(menuId);
+        if (!take(menuId, quantity, routingKey, shards)) {
+            // 진짜 품절이 아니라 샤드 키가 사라졌거나 다시 나뉜 것일 수 있음
+            int reloaded = reloadShardCount(menuId, shards);
+            if (reloaded < 0 || !take(menuId, quantity, routingKey, reloaded)) {
+                throw new BusinessException("품절되었습니다. 메뉴 ID: " + menuId);
+            }
+        }
+
+        // Redis에서 확보한 수량만 DB 반영 대기에 추가 (flush가 메뉴별로 모아서 UPDATE)
+        redisStockService.recordPendingDecrease(menuId, quantity);
+    }
+
+    /** 샤드 하나 -> 여러 샤드에서 모으기 순서로 확보, 모자라면 false */
+    private boolean take(Long menuId, int quantity, Long routingKey, int shards) {
+        AtomicLongArray dry = dryMarks(menuId, shards);
+        int start = routingKey != null
+                ? Math.floorMod(Long.hashCode(routingKey * 0x9E3779B97F4A7C15L), shards)
+                : ThreadLocalRandom.current().nextInt(shards);
+        return takeFromOneShard(menuId, quantity, shards, start, dry) >= 0
+                || gatherFromShards(menuId, quantity, shards);
+    }
+
+    /**
+     * 샤드 수에 맞는 "비었음" 표시 배열
+     * 예전 샤드 수를 보고 있던 스레드가 옛 크기로 다시 만들었을 수 있으므로 길이가 다르면 새로 만듦
+     */
+    private AtomicLongArray dryMarks(Long menuId, int shards) {
+        AtomicLongArray current = dryMarks.get(menuId);
+        if (current != null && current.length() == shards) {
+            // 대부분의 구매는 여기서 끝남 (compute는 같은 메뉴의 구매를 줄 세우므로 피함)
+            return current;
+        }
+        return dryMarks.compute(menuId, (id, dry) ->
+                dry != null && dry.length() == shards ? dry : new AtomicLongArray(shards));
+    }
+
+    /** 모든 샤드의 남은 재고 합 (표시용, 원자적이지 않음) */
+    public long getRemainingStock(Long menuId) {
+        int shards = shardCount(menuId);
+        List<String> values = redisTemplate.opsForValue().multiGet(shardKeys(menuId, shards));
+        return values == null ? 0 : values.stream()
+                .mapToLong(value -> value != null ? Long.parseLong(value) : 0)
+                .sum();
+    }
+
+    /** @return 차감한 샤드 번호, 모든 샤드에 수량만큼 없으면 -1 */
+    private int takeFromOneShard(Long menuId, int quantity, int shards, int start, AtomicLongArray dry) {
+        long now = System.nanoTime();
+        for (int offset = 0; offset < shards; offset++) {
+            int shard = (start + offset) % shards;
+            long markedAt = dry.get(shard);
+            if (markedAt != 0 && now - markedAt < DRY_RECHECK_NANOS) {
+                continue;
+            }
+            Long remaining = redisTemplate.execute(DECREASE_SCRIPT, List.of(shardKey(menuId, shard)),
+                    String.valueOf(quantity));
+            if (remaining != null && remaining >= 0) {
+                if (markedAt != 0) {
+                    dry.compareAndSet(shard, markedAt, 0);
+                }
+                return shard;
+            }
+            // 처음 비었음을 확인한 스레드만 재분배 시도
+            if (dry.compareAndSet(shard, markedAt, now)) {
+                rebalance(menuId, shards, shard);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 샤드마다 조금씩 남은 재고를 모아서 차감 (예: 샤드 3개에 1개씩 남았는데 2개 구매)
+     * 모자라면 꺼낸 만큼 되돌림
+     */
+    private boolean gatherFromShards(Long menuId, int quantity, int shards) {
+        long needed = quantity;
+        List<long[]> taken = new ArrayList<>();
+        for (int shard = 0; shard < shards && needed > 0; shard++) {
+            Long got = redisTemplate.execute(TAKE_UP_TO_SCRIPT, List.of(shardKey(menuId, shard)),
+                    String.valueOf(needed));
+            if (got != null && got > 0) {
+                taken.add(new long[]{shard, got});
+                needed -= got;
+            }
+        }
+        if (needed == 0) {
+            return true;
+        }
+        for (long[] entry : taken) {
+            refund(menuId, (int) entry[0], entry[1]);
+        }
+        return false;
+    }
+
+    /** 가장 많이 남은 샤드의 절반을 빈 샤드로 옮김 */
+    private void rebalance(Long menuId, int shards, int dryShard) {
+        if (shards == 1) {
+            return;
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(shardKeys(menuId, shards));
+            if (values == null) {
+                return;
+            }
+            int donor = -1;
+            long donorStock = 1;
+            for (int shard = 0; shard < shards; shard++) {
+                long stock = values.get(shard) != null ? Long.parseLong(values.get(shard)) : 0;
+                if (shard != dryShard && stock > donorStock) {
+                    donor = shard;
+                    donorStock = stock;
+                }
+            }
+            if (donor < 0) {
+                return;
+            }
+            Long moved = redisTemplate.execute(TAKE_UP_TO_SCRIPT, List.of(shardKey(menuId, donor)),
+                    String.valueOf(donorStock / 2));
+            if (moved != null && moved > 0) {
+                refund(menuId, dryShard, moved);
+                log.debug("[샤드 재고] 메뉴 {} 샤드 {} -> {}로 {}개 재분배", menuId, donor, dryShard, moved);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[샤드 재고] 메뉴 {} 재분배 실패: {}", menuId, e.getMessage());
+        }
+    }
+
+    private void refund(Long menuId, int shard, long quantity) {
+        redisTemplate.opsForValue().increment(shardKey(menuId, shard), quantity);
+        AtomicLongArray dry = dryMarks.get(menuId);
+        if (dry != null && shard < dry.length()) {
+            dry.set(shard, 0);
+        }
+    }
+
+    /**
+     * Redis의 샤드 수를 다시 읽어 노드 내 기억을 갱신 (없으면 다시 초기화)
+     *
+     * @return 바뀐 샤드 수, 그대로면 -1 (정말 품절)
+     */
+    private int reloadShardCount(Long menuId, int known) {
+        String stored = redisTemplate.opsForValue().get(countKey(menuId));
+        if (stored != null && Integer.parseInt(stored) == known) {
+            return -1;
+        }
+        shardCounts.remove(menuId);
+        dryMarks.remove(menuId);
+        log.info("[샤드 재고] 메뉴 {} 샤드 정보가 바뀌어 다시 읽음 (기존 샤드 수: {}, Redis: {})", menuId, known, stored);
+        return shardCount(menuId);
+    }
+
+    /**
+     * 샤드 수 조회 (없으면 DB 재고로 샤드 초기화)
+     * 여러 노드가 동시에 첫 구매를 받아도 분산 락으로 한 번만 초기화
+     */
+    private int shardCount(Long menuId) {
+        Integer cached = shardCounts.get(menuId);
+        if (cached != null) {
+            return cached;
+        }
+        String stored = redisTemplate.opsForValue().get(countKey(menuId));
+        if (stored == null) {
+            stored = String.valueOf(initializeShards(menuId));
+        }
+        int shards = Integer.parseInt(stored);
+        shardCounts.putIfAbsent(menuId, shards);
+        return shards;
+    }
+
+    private int initializeShards(Long menuId) {
+        RLock lock = redissonClient.getLock(INIT_LOCK_PREFIX + menuId);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(5, 10, TimeUnit.SECONDS);
+            if (!locked) {
+                throw new BusinessException("재고 준비 중입니다. 잠시 후 다시 시도해주세요.");
+            }
+            String stored = redisTemplate.opsForValue().get(countKey(menuId));
+            if (stored != null) {
+                return Integer.parseInt(stored);
+            }
+
+            // 일반 재고 카운터(stock:menu:{id})의 남은 재고를 가져옴 -> 같은 재고를 두 카운터가 나눠 갖지 않음
+            // (샤드 키를 잃고 다시 나눌 때는 DB 재고 - 아직 반영되지 않은 판매)
+            long stock = redisStockService.takeOverForShards(menuId);
+            int shards = defaultShardCount;
+            for (int shard = 0; shard < shards; shard++) {
+                // 나머지는 앞쪽 샤드에 하나씩
+                long shardStock = stock / shards + (shard < stock % shards ? 1 : 0);
+                redisTemplate.opsForValue().set(shardKey(menuId, shard), String.valueOf(shardStock));
+            }
+            // 샤드 값을 모두 쓴 뒤에 샤드 수를 기록 (다른 노드는 이 키를 보고 초기화 완료로 판단)
+            redisTemplate.opsForValue().set(countKey(menuId), String.valueOf(shards));
+            log.info("[샤드 재고] 메뉴 {} 재고 {}개를 샤드 {}개로 분할", menuId, stock, shards);
+            return shards;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("재고 준비 중 오류가 발생했습니다.");
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static List<String> shardKeys(Long menuId, int shards) {
+        List<String> keys = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            keys.add(shardKey(menuId, shard));
+        }
+        return keys;
+    }
+
+    private static String shardKey(Long menuId, int shard) {
+        return KEY_PREFIX + menuId + ":" + shard;
+    }
+
+    private static String countKey(Long menuId) {
+        return KEY_PREFIX + menuId + ":count";
+    }
+}
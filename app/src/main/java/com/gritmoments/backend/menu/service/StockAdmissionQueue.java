@@ -0,0 +1,306 @@
+package com.gritmoments.backend.menu.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gritmoments.backend.common.exception.BusinessException;
+import com.gritmoments.backend.common.exception.ResourceNotFoundException;
+import com.gritmoments.backend.menu.repository.MenuRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 한정판 구매 입장 대기열 (세션 05: 동시성)
+ *
+ * 분산 락 방식은 구매자마다 요청 스레드가 락을 기다리며 멈춰 있으므로,
+ * 동시 구매자가 Tomcat 스레드 수보다 많으면 다른 API까지 응답하지 못합니다.
+ *
+ * 메뉴마다 "입장권(남은 재고만큼)"과 대기열을 둡니다.
+ *   1. 입장권이 남아 있으면 수량만큼 가져가고 대기열에 추가 -> 요청 스레드는 바로 반환 (CompletableFuture)
+ *   2. 입장권이 없으면 대기열에 넣지 않고 즉시 품절 응답
+ *   3. 메뉴당 작업 하나가 대기열을 순서대로 처리 (조건부 UPDATE 한 건씩, 같은 메뉴끼리 잠금 경합 없음)
+ *
+ * 대기열 길이는 입장권 수, 즉 남은 재고를 넘지 않습니다.
+ *
+ * 입장권은 처음 요청 시 DB 재고로 초기화합니다. 노드가 여러 개면 노드마다 전체 재고만큼 입장시키므로
+ * 초과분은 조건부 UPDATE에서 품절로 실패합니다. 이 경우 처리 작업이 DB 재고로 입장권을 다시 맞춥니다.
+ *   입장권 = DB 재고 - 대기열에 있는(아직 DB에서 차감하지 않은) 수량
+ *   보정은 처리 작업이 차감을 멈춘 사이에 하고, 입장(입장권 차감 + 대기열 추가)과는 잠금으로 겹치지 않게 합니다.
+ *
+ * 입장권이 모자라 거절할 때도 sold-out-recheck 간격으로 한 번씩 DB 재고를 다시 확인합니다.
+ * (입고나 다른 노드의 재고 반환은 DB에만 반영되므로, 거절만 계속되는 인기 메뉴도 다시 판매되도록)
+ */
+@Component
+@Slf4j
+public class StockAdmissionQueue implements DisposableBean {
+
+    private final MenuRepository menuRepository;
+    private final int drainBatchSize;
+    private final long soldOutRecheckNanos;
+    private final ExecutorService workers;
+
+    /** 메뉴 ID -> 입장권 + 대기열 (한동안 요청이 없으면 제거 -> 다음 요청 때 DB 재고로 다시 초기화) */
+    private final Cache<Long, MenuQueue> queues = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    /** 전체 메뉴의 대기 중인 요청 수 */
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final Counter admitted;
+    private final Counter rejected;
+    private final Timer waitTime;
+
+    public StockAdmissionQueue(MenuRepository menuRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${stock.admission.workers:4}") int workerCount,
+                               @Value("${stock.admission.drain-batch-size:100}") int drainBatchSize,
+                               @Value("${stock.admission.sold-out-recheck:PT1S}") Duration soldOutRecheck) {
+        if (workerCount <= 0 || drainBatchSize <= 0) {
+            throw new IllegalArgumentException("workers와 drainBatchSize는 0보다 커야 합니다.");
+        }
+        this.menuRepository = menuRepository;
+        this.drainBatchSize = drainBatchSize;
+        this.soldOutRecheckNanos = soldOutRecheck.toNanos();
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "stock-admission-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.admitted = admissionCounter(meterRegistry, "admitted");
+        this.rejected = admissionCounter(meterRegistry, "sold_out");
+        this.waitTime = Timer.builder("stock.admission.wait")
+                .description("입장 후 재고 차감까지 대기 시간")
+                .register(meterRegistry);
+        Gauge.builder("stock.admission.queue.depth", depth, AtomicInteger::get)
+                .description("입장 대기열에서 처리를 기다리는 구매 요청 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter admissionCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("stock.admission.requests")
+                .description("입장 대기열 요청 결과별 횟수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 구매 요청
+     *
+     * @return 재고 차감이 끝나면 완료되는 future
+     *         (품절: BusinessException, 메뉴 없음: ResourceNotFoundException으로 실패)
+     */
+    public CompletableFuture<Void> purchase(Long menuId, int quantity) {
+        if (quantity <= 0) {
+            return CompletableFuture.failedFuture(new BusinessException("구매 수량은 1 이상이어야 합니다."));
+        }
+        MenuQueue queue;
+        try {
+            queue = queues.get(menuId, this::openQueue);
+        } catch (ResourceNotFoundException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Request request = new Request(quantity, System.nanoTime(), new CompletableFuture<>());
+        if (!queue.admit(request)) {
+            rejected.increment();
+            // 입장권은 DB 차감이 실패할 때만 보정되므로, 거절만 이어지면 입고를 알 수 없음 -> 간격마다 한 번 확인
+            if (queue.claimRecheck(soldOutRecheckNanos)) {
+                queue.resync = true;
+                schedule(queue);
+            }
+            return CompletableFuture.failedFuture(new BusinessException("품절되었습니다. 메뉴 ID: " + menuId));
+        }
+        admitted.increment();
+        depth.incrementAndGet();
+        schedule(queue);
+        return request.result();
+    }
+
+    private MenuQueue openQueue(Long menuId) {
+        int stock = menuRepository.findStockById(menuId)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu", menuId));
+        return new MenuQueue(menuId, stock);
+    }
+
+    /** 메뉴 대기열 처리 작업 실행 (이미 실행 중이면 그 작업이 이어서 처리) */
+    private void schedule(MenuQueue queue) {
+        if (queue.running.compareAndSet(false, true)) {
+            try {
+                workers.execute(() -> drain(queue));
+            } catch (RejectedExecutionException e) {
+                queue.running.set(false);
+                failAll(queue, new BusinessException("서버가 종료 중입니다. 잠시 후 다시 시도해주세요."));
+            }
+        }
+    }
+
+    /**
+     * 대기열을 순서대로 처리 (한 번에 drainBatchSize건까지 - 다른 메뉴가 작업 스레드를 기다리지 않도록)
+     */
+    private void drain(MenuQueue queue) {
+        int processed = 0;
+        Request request;
+        while (processed < drainBatchSize && (request = queue.poll()) != null) {
+            depth.decrementAndGet();
+            processed++;
+            process(queue, request);
+        }
+        if (queue.resync) {
+            resync(queue);
+        }
+        queue.running.set(false);
+        // 플래그를 내리는 사이에 들어온 요청, 또는 처리 한도에 걸려 남은 요청
+        if (!queue.requests.isEmpty()) {
+            schedule(queue);
+        }
+    }
+
+    private void process(MenuQueue queue, Request request) {
+        waitTime.record(System.nanoTime() - request.admittedAt(), TimeUnit.NANOSECONDS);
+        try {
+            if (menuRepository.decreaseStockIfAvailable(queue.menuId, request.quantity()) == 1) {
+                request.result().complete(null);
+                return;
+            }
+            // 다른 노드나 다른 경로에서 먼저 팔림 -> 입장권이 실제 재고보다 많음
+            queue.resync = true;
+            request.result().completeExceptionally(new BusinessException("품절되었습니다. 메뉴 ID: " + queue.menuId));
+        } catch (RuntimeException e) {
+            // 차감하지 못했으므로 입장권 반환
+            queue.permits.addAndGet(request.quantity());
+            log.warn("[입장 대기열 처리 실패] 메뉴 {}: {}", queue.menuId, e.getMessage());
+            request.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 입장권을 DB 재고로 다시 맞춤 (처리 작업에서만 호출 -> 이 메뉴의 DB 차감이 멈춘 상태)
+     * 대기열에 있는 요청은 아직 DB에서 차감되지 않았으므로 그 수량을 빼고 반영
+     */
+    private void resync(MenuQueue queue) {
+        try {
+            int stock = menuRepository.findStockById(queue.menuId).orElse(0);
+            queue.resetPermits(stock);
+            queue.resync = false;
+            queue.lastSyncedAt.set(System.nanoTime());
+            log.info("[입장 대기열] 메뉴 {} 입장권을 DB 재고 {}로 보정", queue.menuId, stock);
+        } catch (RuntimeException e) {
+            log.warn("[입장 대기열 보정 실패] 메뉴 {}: {}", queue.menuId, e.getMessage());
+        }
+    }
+
+    private void failAll(MenuQueue queue, RuntimeException failure) {
+        Request request;
+        while ((request = queue.poll()) != null) {
+            depth.decrementAndGet();
+            request.result().completeExceptionally(failure);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+            queues.asMap().values().forEach(queue ->
+                    failAll(queue, new BusinessException("서버가 종료 중입니다. 잠시 후 다시 시도해주세요.")));
+        }
+    }
+
+    /** 대기 시간 측정을 위해 입장 시각을 함께 보관 */
+    private record Request(int quantity, long admittedAt, CompletableFuture<Void> result) {
+    }
+
+    /** 한 메뉴의 입장권과 대기열 (처리는 한 번에 작업 하나만) */
+    private static final class MenuQueue {
+
+        private final Long menuId;
+        private final AtomicInteger permits;
+        private final Queue<Request> requests = new ConcurrentLinkedQueue<>();
+        /** 대기열에 있는 요청의 수량 합 (입장권은 가져갔지만 아직 DB에서 차감하지 않음) */
+        private final AtomicInteger queuedQuantity = new AtomicInteger();
+        /** 읽기: 입장 (서로 동시에 가능), 쓰기: 입장권 보정 (입장권과 대기 수량을 함께 맞춤) */
+        private final ReadWriteLock admission = new ReentrantReadWriteLock();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile boolean resync;
+        /** 마지막으로 DB 재고를 확인한 시각 (nanoTime) */
+        private final AtomicLong lastSyncedAt = new AtomicLong(System.nanoTime());
+
+        private MenuQueue(Long menuId, int stock) {
+            this.menuId = menuId;
+            this.permits = new AtomicInteger(Math.max(0, stock));
+        }
+
+        /** 마지막 확인 후 interval이 지났으면 이 스레드가 확인을 맡음 (간격마다 한 번만 true) */
+        boolean claimRecheck(long intervalNanos) {
+            long last = lastSyncedAt.get();
+            long now = System.nanoTime();
+            return now - last >= intervalNanos && lastSyncedAt.compareAndSet(last, now);
+        }
+
+        /** 입장권을 가져가고 대기열에 추가 (입장권이 모자라면 false) */
+        boolean admit(Request request) {
+            admission.readLock().lock();
+            try {
+                if (!tryAdmit(request.quantity())) {
+                    return false;
+                }
+                queuedQuantity.addAndGet(request.quantity());
+                requests.add(request);
+                return true;
+            } finally {
+                admission.readLock().unlock();
+            }
+        }
+
+        /** 대기열에서 다음 요청을 꺼냄 */
+        Request poll() {
+            Request request = requests.poll();
+            if (request != null) {
+                queuedQuantity.addAndGet(-request.quantity());
+            }
+            return request;
+        }
+
+        /** 입장권 = DB 재고 - 대기 수량 (진행 중인 입장이 끝난 뒤, 새 입장을 막고 맞춤) */
+        void resetPermits(int stock) {
+            admission.writeLock().lock();
+            try {
+                permits.set(Math.max(0, stock - queuedQuantity.get()));
+            } finally {
+                admission.writeLock().unlock();
+            }
+        }
+
+        /** 입장권이 수량만큼 있으면 가져감 */
+        private boolean tryAdmit(int quantity) {
+            int current;
+            do {
+                current = permits.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(current, current - quantity));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.gritmoments.backend.menu.service;
+
+import com.gritmoments.backend.common.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.gritmoments.backend.menu.service.RedisStockService.PENDING_KEY;
+import static com.gritmoments.backend.menu.service.RedisStockService.RESERVED_KEY;
+import static com.gritmoments.backend.menu.service.RedisStockService.SHARDED_KEY;
+import static com.gritmoments.backend.menu.service.RedisStockService.STOCK_KEY_PREFIX;
+
+/**
+ * 주문 재고 예약 (세션 05: 동시성, 세션 03: 결제 연동)
+ *
+ * 주문 생성 시 재고를 바로 차감하면 결제하지 않고 떠난 주문이 재고를 영원히 잡고,
+ * 결제 시점에 차감하면 결제 직전에 품절되는 주문이 생깁니다.
+ * 주문 생성 시 수량을 일정 시간(ttl)만 잡아 두고, 결제 성공 시 확정 / 취소나 만료 시 되돌립니다.
+ *
+ *   주문 생성 -> reserve   : Redis 재고(stock:menu:{id})에서 수량을 빼고 예약 기록
+ *   PG 호출 전 -> extend   : 결제 중에 만료되지 않도록 만료 시각 연장
+ *   결제 성공 -> confirm   : 예약 수량을 DB 반영 대기(stock:pending)로 옮김 (RedisStockService가 DB에 반영)
+ *   취소/만료 -> release   : Redis 재고에 수량을 되돌림
+ *   결제 후 취소 -> restoreConfirmed : 확정 기록의 수량을 Redis 재고에 되돌리고 DB 반영 대기에서 뺌
+ *
+ * Redis 키:
+ *   stock:reservation:{orderId}   예약 내용 (Hash: 메뉴 ID -> 수량, 생성 후 바뀌지 않음)
+ *   stock:reservations            만료 시각 순 예약 목록 (Sorted Set: score = 만료 시각 ms, member = 주문 ID)
+ *   stock:reserved                메뉴별 예약 수량 합 (RedisStockService가 초기화/대사 시 빼고 계산)
+ *   stock:reservation:{orderId}:attempts  만료 처리 실패 횟수 (실패할 때마다 만료 시각을 뒤로 미룸)
+ *   stock:reservations:failed     만료 처리에 계속 실패해 격리된 예약 (Sorted Set: score = 격리 시각 ms)
+ *   stock:reservation:{orderId}:confirmed  확정된 예약 내용 (결제 후 취소 시 되돌릴 수량, CONFIRMED_TTL 후 삭제)
+ *
+ * 만료 처리는 예약마다 타이머를 거는 대신 Sorted Set을 주기적으로 훑습니다.
+ * (ZRANGEBYSCORE 0 ~ 현재 시각: 만료된 것만 만료 순서대로, 예약 수와 무관하게 한 번 조회)
+ * 노드가 재시작되어도 만료 정보는 Redis에 남고, 여러 노드가 동시에 훑어도 스크립트가 한 번만 되돌립니다.
+ */
+@Service
+@Slf4j
+public class StockReservationService {
+
+    private static final String RESERVATION_KEY_PREFIX = "stock:reservation:";
+    private static final String EXPIRY_KEY = "stock:reservations";
+    private static final String QUARANTINE_KEY = "stock:reservations:failed";
+    private static final String ATTEMPTS_SUFFIX = ":attempts";
+    private static final String CONFIRMED_SUFFIX = ":confirmed";
+
+    /** 실패 횟수 기록 유지 시간 (격리 후 또는 성공 후 남은 기록 정리) */
+    private static final long ATTEMPTS_TTL_SECONDS = Duration.ofDays(1).toSeconds();
+
+    /** 확정 기록 유지 시간 (이보다 늦게 취소된 주문은 재고를 되돌리지 않음 - 초과 판매보다 덜 파는 쪽) */
+    private static final long CONFIRMED_TTL_SECONDS = Duration.ofDays(7).toSeconds();
+
+    private static final long RESERVED = 0L;
+    private static final long ALREADY_RESERVED = -1L;
+    private static final long NOT_LOADED = -2L;
+
+    /** 명시적 해제 (만료 시각과 무관하게 해제) */
+    private static final String ANY_DEADLINE = String.valueOf(Long.MAX_VALUE);
+
+    /**
+     * 모든 메뉴 재고 확인 후 한 번에 차감 + 예약 기록 (하나라도 부족하면 아무것도 차감하지 않음)
+     * KEYS: 예약, 만료 목록, reserved, 재고1, 재고2, ...
+     * ARGV: 주문 ID, 만료 시각, 메뉴 ID1, 수량1, 메뉴 ID2, 수량2, ...
+     * 반환: 0(예약), -1(이미 예약됨), -2(Redis에 재고 없음), i(i번째 메뉴 재고 부족)
+     */
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then return -1 end " +
+            "local count = #KEYS - 3 " +
+            "for i = 1, count do " +
+            "  local stock = redis.call('get', KEYS[3 + i]) " +
+            "  if not stock then return -2 end " +
+            "  if tonumber(stock) < tonumber(ARGV[2 + i * 2]) then return i end " +
+            "end " +
+            "for i = 1, count do " +
+            "  local quantity = tonumber(ARGV[2 + i * 2]) " +
+            "  redis.call('decrby', KEYS[3 + i], quantity) " +
+            "  redis.call('hset', KEYS[1], ARGV[1 + i * 2], quantity) " +
+            "  redis.call('hincrby', KEYS[3], ARGV[1 + i * 2], quantity) " +
+            "end " +
+            "redis.call('zadd', KEYS[2], ARGV[2], ARGV[1]) " +
+            "return 0",
+            Long.class);
+
+    /**
+     * 만료 시각 연장 (이미 더 늦으면 그대로)
+     * KEYS: 예약, 만료 목록 / ARGV: 주문 ID, 새 만료 시각 / 반환: 1(예약 있음), 0(없음)
+     */
+    private static final RedisScript<Long> EXTEND_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then return 0 end " +
+            "local deadline = redis.call('zscore', KEYS[2], ARGV[1]) " +
+            "if not deadline or tonumber(deadline) < tonumber(ARGV[2]) then " +
+            "  redis.call('zadd', KEYS[2], ARGV[2], ARGV[1]) " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 예약 확정: 예약 수량을 DB 반영 대기로 옮기고 예약 내용을 확정 기록으로 남김 (Redis 재고는 예약 시 이미 차감됨)
+     * KEYS: 예약, 만료 목록, reserved, pending, 확정 기록 / ARGV: 주문 ID, 확정 기록 TTL(초) / 반환: 1(확정), 0(예약 없음)
+     */
+    private static final RedisScript<Long> CONFIRM_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then " +
+            "  redis.call('zrem', KEYS[2], ARGV[1]) " +
+            "  return 0 " +
+            "end " +
+            "local entries = redis.call('hgetall', KEYS[1]) " +
+            "for i = 1, #entries, 2 do " +
+            "  local quantity = tonumber(entries[i + 1]) " +
+            "  if redis.call('hincrby', KEYS[3], entries[i], -quantity) <= 0 then " +
+            "    redis.call('hdel', KEYS[3], entries[i]) " +
+            "  end " +
+            "  redis.call('hincrby', KEYS[4], entries[i], quantity) " +
+            "end " +
+            "redis.call('rename', KEYS[1], KEYS[5]) " +
+            "redis.call('expire', KEYS[5], ARGV[2]) " +
+            "redis.call('zrem', KEYS[2], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 확정된 예약 되돌리기 (결제 후 취소): Redis 재고에 수량을 되돌리고 같은 수량을 DB 반영 대기에서 뺌
+     * (아직 반영 전이면 차감이 상쇄되고, 이미 반영됐으면 다음 flush에서 DB 재고가 늘어남)
+     * 샤드 메뉴는 stock:menu:{id}를 0으로 유지해야 하므로 DB 쪽만 되돌림
+     * KEYS: 확정 기록, pending, 샤드 메뉴 목록, 재고1, 재고2, ...
+     * ARGV: 메뉴 ID1, 메뉴 ID2, ...
+     * 반환: 1(되돌림), 0(확정 기록 없음 - 이미 되돌렸거나 확정 전 해제됨)
+     */
+    private static final RedisScript<Long> RESTORE_CONFIRMED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then return 0 end " +
+            "for i = 1, #ARGV do " +
+            "  local quantity = tonumber(redis.call('hget', KEYS[1], ARGV[i]) or '0') " +
+            "  if quantity > 0 then " +
+            "    if redis.call('sismember', KEYS[3], ARGV[i]) == 0 and redis.call('exists', KEYS[3 + i]) == 1 then " +
+            "      redis.call('incrby', KEYS[3 + i], quantity) " +
+            "    end " +
+            "    if redis.call('hincrby', KEYS[2], ARGV[i], -quantity) == 0 then " +
+            "      redis.call('hdel', KEYS[2], ARGV[i]) " +
+            "    end " +
+            "  end " +
+            "end " +
+            "redis.call('del', KEYS[1]) " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 예약 해제: Redis 재고에 수량을 되돌림 (만료 처리 중 연장된 예약은 건너뜀)
+     * KEYS: 예약, 만료 목록, reserved, 재고1, 재고2, ...
+     * ARGV: 주문 ID, 이 시각 이전에 만료된 경우만 해제, 메뉴 ID1, 메뉴 ID2, ...
+     * 반환: 1(해제), 0(예약 없음 또는 연장됨)
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then " +
+            "  redis.call('zrem', KEYS[2], ARGV[1]) " +
+            "  return 0 " +
+            "end " +
+            "local deadline = redis.call('zscore', KEYS[2], ARGV[1]) " +
+            "if deadline and tonumber(deadline) > tonumber(ARGV[2]) then return 0 end " +
+            "for i = 3, #ARGV do " +
+            "  local quantity = tonumber(redis.call('hget', KEYS[1], ARGV[i]) or '0') " +
+            "  if quantity > 0 then " +
+            // 재고 키가 없으면(대사에서 삭제 등) 다음 초기화 때 reserved가 빠진 값으로 계산됨
+            "    if redis.call('exists', KEYS[i + 1]) == 1 then redis.call('incrby', KEYS[i + 1], quantity) end " +
+            "    if redis.call('hincrby', KEYS[3], ARGV[i], -quantity) <= 0 then " +
+            "      redis.call('hdel', KEYS[3], ARGV[i]) " +
+            "    end " +
+            "  end " +
+            "end " +
+            "redis.call('del', KEYS[1]) " +
+            "redis.call('zrem', KEYS[2], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 만료 처리 실패 기록: 실패 횟수가 max 미만이면 만료 시각을 뒤로 미루고, 이상이면 격리
+     * (만료 목록 앞에 남아 뒤의 예약을 가로막지 않도록)
+     * KEYS: 만료 목록, 격리 목록, 실패 횟수 / ARGV: 주문 ID, 현재 시각, 재시도 간격(ms), 최대 횟수, 기록 TTL(초)
+     * 반환: 1(격리), 0(미룸), -1(이미 만료 목록에 없음)
+     */
+    private static final RedisScript<Long> EXPIRY_FAILURE_SCRIPT = new DefaultRedisScript<>(
+            "if not redis.call('zscore', KEYS[1], ARGV[1]) then return -1 end " +
+            "local attempts = redis.call('incr', KEYS[3]) " +
+            "redis.call('expire', KEYS[3], ARGV[5]) " +
+            "if attempts >= tonumber(ARGV[4]) then " +
+            "  redis.call('zrem', KEYS[1], ARGV[1]) " +
+            "  redis.call('zadd', KEYS[2], ARGV[2], ARGV[1]) " +
+            "  return 1 " +
+            "end " +
+            "redis.call('zadd', KEYS[1], tonumber(ARGV[2]) + tonumber(ARGV[3]) * attempts, ARGV[1]) " +
+            "return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisStockService redisStockService;
+    private final Duration ttl;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Counter reserved;
+    private final Counter soldOut;
+    private final Counter confirmed;
+    private final Counter released;
+    private final Counter restored;
+    private final Counter quarantined;
+
+    public StockReservationService(StringRedisTemplate redisTemplate,
+                                   RedisStockService redisStockService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${stock.reservation.ttl:PT10M}") Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("stock.reservation.ttl은 0보다 커야 합니다.");
+        }
+        this.redisTemplate = redisTemplate;
+        this.redisStockService = redisStockService;
+        this.ttl = ttl;
+        this.reserved = reservationCounter(meterRegistry, "reserved");
+        this.soldOut = reservationCounter(meterRegistry, "sold_out");
+        this.confirmed = reservationCounter(meterRegistry, "confirmed");
+        this.released = reservationCounter(meterRegistry, "released");
+        this.restored = reservationCounter(meterRegistry, "restored");
+        this.quarantined = reservationCounter(meterRegistry, "quarantined");
+    }
+
+    private static Counter reservationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("stock.reservations")
+                .description("재고 예약 결과별 횟수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주문 수량 예약 (ttl 후 자동 해제, 같은 주문으로 다시 호출하면 기존 예약 유지)
+     *
+     * @param quantities 메뉴 ID -> 수량
+     * @throws BusinessException 재고 부족 (어느 메뉴도 차감하지 않음)
+     */
+    public void reserve(Long orderId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Long> menuIds = new ArrayList<>(quantities.keySet());
+        List<String> keys = new ArrayList<>(menuIds.size() + 3);
+        keys.add(RESERVATION_KEY_PREFIX + orderId);
+        keys.add(EXPIRY_KEY);
+        keys.add(RESERVED_KEY);
+        List<String> args = new ArrayList<>(menuIds.size() * 2 + 2);
+        args.add(String.valueOf(orderId));
+        args.add(String.valueOf(clock.millis() + ttl.toMillis()));
+        for (Long menuId : menuIds) {
+            int quantity = quantities.get(menuId);
+            if (quantity <= 0) {
+                throw new BusinessException("주문 수량은 1 이상이어야 합니다. 메뉴 ID: " + menuId);
+            }
+            keys.add(STOCK_KEY_PREFIX + menuId);
+            args.add(String.valueOf(menuId));
+            args.add(String.valueOf(quantity));
+        }
+
+        Long result = redisTemplate.execute(RESERVE_SCRIPT, keys, args.toArray());
+        if (result != null && result == NOT_LOADED) {
+            menuIds.forEach(redisStockService::loadStock);
+            result = redisTemplate.execute(RESERVE_SCRIPT, keys, args.toArray());
+        }
+        if (result != null && result == ALREADY_RESERVED) {
+            return;
+        }
+        if (result == null || result != RESERVED) {
+            soldOut.increment();
+            String menu = result != null && result > 0 ? " 메뉴 ID: " + menuIds.get(result.intValue() - 1) : "";
+            throw new BusinessException("재고가 부족합니다." + menu);
+        }
+        reserved.increment();
+        log.debug("[재고 예약] 주문 {} 메뉴 {}건, 만료 {}초 후", orderId, menuIds.size(), ttl.toSeconds());
+    }
+
+    /**
+     * 만료 시각을 지금부터 duration 뒤로 연장 (PG 호출처럼 오래 걸리는 작업 전에)
+     *
+     * @return 예약이 남아 있으면 true
+     */
+    public boolean extend(Long orderId, Duration duration) {
+        Long result = redisTemplate.execute(EXTEND_SCRIPT,
+                List.of(RESERVATION_KEY_PREFIX + orderId, EXPIRY_KEY),
+                String.valueOf(orderId), String.valueOf(clock.millis() + duration.toMillis()));
+        return result != null && result == 1L;
+    }
+
+    /**
+     * 예약 확정 (결제 성공 후) - 예약 수량이 DB 재고에 반영됨
+     * 결제 후 취소에 대비해 예약 내용은 확정 기록으로 남김 (restoreConfirmed)
+     *
+     * @return 확정했으면 true, 예약이 없으면(이미 확정/해제) false
+     */
+    public boolean confirm(Long orderId) {
+        Long result = redisTemplate.execute(CONFIRM_SCRIPT,
+                List.of(RESERVATION_KEY_PREFIX + orderId, EXPIRY_KEY, RESERVED_KEY, PENDING_KEY,
+                        RESERVATION_KEY_PREFIX + orderId + CONFIRMED_SUFFIX),
+                String.valueOf(orderId), String.valueOf(CONFIRMED_TTL_SECONDS));
+        boolean done = result != null && result == 1L;
+        if (done) {
+            confirmed.increment();
+            log.debug("[재고 예약 확정] 주문 {}", orderId);
+        }
+        return done;
+    }
+
+    /**
+     * 예약 해제 (주문 취소) - 예약 수량을 재고로 되돌림
+     *
+     * @return 해제했으면 true, 예약이 없으면 false
+     */
+    public boolean release(Long orderId) {
+        return release(orderId, ANY_DEADLINE);
+    }
+
+    /**
+     * 확정된 예약 되돌리기 (결제 후 주문 취소) - 판매된 수량을 다시 판매 가능하게 함
+     * 확정 기록은 한 번만 쓰이므로 같은 주문을 여러 번 취소해도 한 번만 되돌림
+     *
+     * @return 되돌렸으면 true, 확정 기록이 없으면(이미 되돌림, 확정 전 해제, 기록 만료) false
+     */
+    public boolean restoreConfirmed(Long orderId) {
+        String confirmedKey = RESERVATION_KEY_PREFIX + orderId + CONFIRMED_SUFFIX;
+        // 확정 기록은 생성 후 바뀌지 않으므로 미리 읽어 스크립트가 쓸 재고 키를 정함
+        Set<Object> menuIds = redisTemplate.opsForHash().keys(confirmedKey);
+        List<String> keys = new ArrayList<>(menuIds.size() + 3);
+        keys.add(confirmedKey);
+        keys.add(PENDING_KEY);
+        keys.add(SHARDED_KEY);
+        List<String> args = new ArrayList<>(menuIds.size());
+        for (Object menuId : menuIds) {
+            keys.add(STOCK_KEY_PREFIX + menuId);
+            args.add(menuId.toString());
+        }
+        Long result = redisTemplate.execute(RESTORE_CONFIRMED_SCRIPT, keys, args.toArray());
+        boolean done = result != null && result == 1L;
+        if (done) {
+            restored.increment();
+            log.info("[확정 재고 되돌림] 주문 {} (결제 후 취소)", orderId);
+        }
+        return done;
+    }
+
+    /**
+     * 만료된 예약만 해제 (만료 처리 중 결제가 시작되어 연장된 예약은 그대로 둠)
+     *
+     * @return 해제했으면 true
+     */
+    public boolean releaseIfExpired(Long orderId) {
+        return release(orderId, String.valueOf(clock.millis()));
+    }
+
+    private boolean release(Long orderId, String expiredBefore) {
+        String reservationKey = RESERVATION_KEY_PREFIX + orderId;
+        // 예약 내용은 생성 후 바뀌지 않으므로 미리 읽어 스크립트가 쓸 재고 키를 정함
+        Set<Object> menuIds = redisTemplate.opsForHash().keys(reservationKey);
+        List<String> keys = new ArrayList<>(menuIds.size() + 3);
+        keys.add(reservationKey);
+        keys.add(EXPIRY_KEY);
+        keys.add(RESERVED_KEY);
+        List<String> args = new ArrayList<>(menuIds.size() + 2);
+        args.add(String.valueOf(orderId));
+        args.add(expiredBefore);
+        for (Object menuId : menuIds) {
+            keys.add(STOCK_KEY_PREFIX + menuId);
+            args.add(menuId.toString());
+        }
+        Long result = redisTemplate.execute(RELEASE_SCRIPT, keys, args.toArray());
+        boolean done = result != null && result == 1L;
+        if (done) {
+            released.increment();
+            log.debug("[재고 예약 해제] 주문 {}", orderId);
+        }
+        return done;
+    }
+
+    /**
+     * 만료된 예약의 주문 ID (만료 순서대로 최대 limit개)
+     */
+    public List<Long> findExpired(int limit) {
+        Set<String> orderIds = redisTemplate.opsForZSet()
+                .rangeByScore(EXPIRY_KEY, 0, clock.millis(), 0, limit);
+        if (orderIds == null) {
+            return List.of();
+        }
+        return orderIds.stream().map(Long::valueOf).toList();
+    }
+
+    /**
+     * 만료 처리 실패 기록 (ReservationExpiryScheduler)
+     * 실패할 때마다 retryDelay x 실패 횟수만큼 만료 시각을 미루고, maxAttempts번째 실패면 격리합니다.
+     * 격리된 예약의 수량은 계속 잡혀 있으므로 운영자가 stock:reservations:failed를 보고 확정/해제합니다.
+     *
+     * @return 격리했으면 true
+     */
+    public boolean recordExpiryFailure(Long orderId, Duration retryDelay, int maxAttempts) {
+        Long result = redisTemplate.execute(EXPIRY_FAILURE_SCRIPT,
+                List.of(EXPIRY_KEY, QUARANTINE_KEY, RESERVATION_KEY_PREFIX + orderId + ATTEMPTS_SUFFIX),
+                String.valueOf(orderId), String.valueOf(clock.millis()), String.valueOf(retryDelay.toMillis()),
+                String.valueOf(maxAttempts), String.valueOf(ATTEMPTS_TTL_SECONDS));
+        boolean isolated = result != null && result == 1L;
+        if (isolated) {
+            quarantined.increment();
+            log.error("[재고 예약 격리] 주문 {} 만료 처리 {}회 실패 -> stock:reservations:failed", orderId, maxAttempts);
+        }
+        return isolated;
+    }
+
+    /** 예약이 남아 있는지 */
+    public boolean isReserved(Long orderId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(RESERVATION_KEY_PREFIX + orderId));
+    }
+}
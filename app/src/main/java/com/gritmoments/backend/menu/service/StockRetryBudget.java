@@ -0,0 +1,96 @@
+package com.gritmoments.backend.menu.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 차감 재시도 예산 (세션 05: 낙관적 잠금, 세션 03: 재시도)
+ *
+ * 낙관적 잠금 충돌은 경합이 심할수록 늘어나고, 충돌마다 재시도하면 경합이 더 심해집니다.
+ * (재시도 폭주: 요청 1건이 DB UPDATE 4건이 됨)
+ * 재시도 횟수를 "최근 요청 수의 일정 비율 + 초당 최소 허용량"으로 제한해,
+ * 경합이 심할 때는 재시도하지 않고 바로 실패 응답을 돌려줍니다.
+ *
+ * - 요청 1건마다 ratio만큼 토큰 적립 (최대 capacity)
+ * - 시간이 지나면 초당 minPerSecond만큼 토큰 적립 (요청이 적을 때도 최소한의 재시도는 허용)
+ * - 재시도 1회에 토큰 1개 사용, 부족하면 재시도 거부
+ *
+ * 사용: @Retryable(exceptionExpression = "@stockRetryBudget.tryAcquire(#root)")
+ * Spring Retry는 실패 한 번에 재시도 가능 여부를 두 번 확인하므로, 같은 예외에는 처음 결정을 그대로 반환합니다.
+ */
+@Component("stockRetryBudget")
+public class StockRetryBudget {
+
+    private static final long SCALE = 1_000L;
+
+    private final long depositPerRequest;
+    private final long refillPerSecond;
+    private final long capacity;
+
+    private long tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    /** 예외 -> 재시도 허용 여부 (참조 동일성 비교, 예외가 GC되면 함께 제거) */
+    private final Cache<Throwable, Boolean> decisions = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(10_000)
+            .build();
+
+    private final Counter rejected;
+
+    public StockRetryBudget(@Value("${stock.retry-budget.ratio:0.2}") double ratio,
+                            @Value("${stock.retry-budget.min-per-second:10}") int minPerSecond,
+                            MeterRegistry meterRegistry) {
+        if (ratio < 0 || minPerSecond < 0) {
+            throw new IllegalArgumentException("재시도 예산 설정은 0 이상이어야 합니다.");
+        }
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.refillPerSecond = minPerSecond * SCALE;
+        // 1초 분량의 최소 허용량만큼은 몰아서 재시도 가능
+        this.capacity = Math.max(SCALE, refillPerSecond);
+        this.tokens = capacity;
+        this.rejected = Counter.builder("stock.retry.budget.rejected")
+                .description("재시도 예산 부족으로 재시도하지 않은 충돌 수")
+                .register(meterRegistry);
+    }
+
+    /** 새 요청 1건 (첫 시도에서만 호출) */
+    public synchronized void recordRequest() {
+        refill();
+        tokens = Math.min(capacity, tokens + depositPerRequest);
+    }
+
+    /**
+     * 재시도 1회 허용 여부
+     *
+     * @param failure 재시도 대상 예외 (같은 예외로 다시 물으면 같은 결과)
+     */
+    public boolean tryAcquire(Throwable failure) {
+        return decisions.get(failure, key -> acquire());
+    }
+
+    private synchronized boolean acquire() {
+        refill();
+        if (tokens >= SCALE) {
+            tokens -= SCALE;
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        // capacity는 최대 1초 분량이므로 1초 넘게 지난 경우는 1초로 계산 (곱셈 오버플로 방지)
+        long elapsedNanos = Math.min(now - lastRefillNanos, 1_000_000_000L);
+        long refill = refillPerSecond * elapsedNanos / 1_000_000_000L;
+        if (refill > 0) {
+            tokens = Math.min(capacity, tokens + refill);
+            lastRefillNanos = now;
+        }
+    }
+}
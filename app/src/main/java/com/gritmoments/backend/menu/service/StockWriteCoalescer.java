@@ -0,0 +1,217 @@
+package com.gritmoments.backend.menu.service;
+
+import com.gritmoments.backend.common.exception.BusinessException;
+import com.gritmoments.backend.common.exception.ResourceNotFoundException;
+import com.gritmoments.backend.menu.entity.Menu;
+import com.gritmoments.backend.menu.repository.MenuRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 재고 차감 묶어서 쓰기 (세션 05: 동시성, 세션 02: 트랜잭션 비용)
+ *
+ * 차감 요청마다 트랜잭션을 열면 요청마다 행 잠금 + 커밋(fsync)이 한 번씩 일어납니다.
+ * 같은 메뉴의 요청을 window(기본 5ms) 동안 모았다가 트랜잭션 하나로 처리합니다. (group commit)
+ *
+ *   요청 A(2개), B(1개), C(5개) -> 5ms 대기 -> SELECT ... FOR UPDATE (재고 6)
+ *     A 수락 (남은 4), B 수락 (남은 3), C 거절 (재고 부족) -> UPDATE stock = 3 한 번 -> 커밋
+ *   각 요청의 CompletableFuture는 자신의 결과(남은 재고 또는 예외)로 완료
+ *
+ * 요청당 최대 window만큼 지연이 늘지만, 인기 메뉴에서는 UPDATE/커밋 수가 요청 수보다 훨씬 적어집니다.
+ * 모인 요청이 maxBatchSize에 도달하면 window를 기다리지 않고 바로 처리합니다.
+ */
+@Component
+@Slf4j
+public class StockWriteCoalescer implements DisposableBean {
+
+    /** 묶음 처리 스레드 수 (DB 커넥션 풀보다 작게) */
+    private static final int FLUSH_THREADS = 4;
+
+    private final MenuRepository menuRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+
+    /** 메뉴 ID -> 모으는 중인 묶음 */
+    private final ConcurrentMap<Long, Batch> openBatches = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor flushExecutor;
+
+    public StockWriteCoalescer(MenuRepository menuRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${stock.coalescer.window:5ms}") Duration window,
+                               @Value("${stock.coalescer.max-batch-size:200}") int maxBatchSize) {
+        if (window.isNegative() || window.isZero() || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("window와 maxBatchSize는 0보다 커야 합니다.");
+        }
+        this.menuRepository = menuRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("stock.coalescer.batch.size")
+                .description("트랜잭션 하나로 처리한 재고 차감 요청 수")
+                .register(meterRegistry);
+        AtomicInteger sequence = new AtomicInteger();
+        this.flushExecutor = new ScheduledThreadPoolExecutor(FLUSH_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "stock-coalescer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 재고 차감 요청
+     *
+     * @return 차감 후 남은 재고로 완료되는 future
+     *         (재고 부족: BusinessException, 메뉴 없음: ResourceNotFoundException으로 실패)
+     */
+    public CompletableFuture<Integer> decreaseStock(Long menuId, int quantity) {
+        if (quantity <= 0) {
+            return CompletableFuture.failedFuture(new BusinessException("차감 수량은 1 이상이어야 합니다."));
+        }
+        Request request = new Request(quantity, new CompletableFuture<>());
+        while (true) {
+            Batch batch = openBatches.computeIfAbsent(menuId, this::openBatch);
+            int size = batch.add(request);
+            if (size < 0) {
+                // 방금 처리가 시작된 묶음 -> 새 묶음에 다시 넣음
+                continue;
+            }
+            if (size == maxBatchSize) {
+                submitFlush(batch);
+            }
+            return request.result();
+        }
+    }
+
+    private Batch openBatch(Long menuId) {
+        Batch batch = new Batch(menuId);
+        try {
+            flushExecutor.schedule(() -> flush(batch), windowNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException("서버가 종료 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        return batch;
+    }
+
+    private void submitFlush(Batch batch) {
+        try {
+            flushExecutor.execute(() -> flush(batch));
+        } catch (RejectedExecutionException e) {
+            // 예약된 window 처리가 그대로 실행됨
+        }
+    }
+
+    /** 묶음을 닫고 트랜잭션 하나로 처리 (window 만료와 크기 도달 중 먼저 온 쪽만 실행) */
+    private void flush(Batch batch) {
+        openBatches.remove(batch.menuId, batch);
+        List<Request> requests = batch.close();
+        if (requests == null) {
+            return;
+        }
+        batchSizes.record(requests.size());
+
+        List<Integer> results;
+        try {
+            results = transactionTemplate.execute(status -> apply(batch.menuId, requests));
+        } catch (RuntimeException e) {
+            log.warn("[재고 묶음 처리 실패] 메뉴 {} 요청 {}건: {}", batch.menuId, requests.size(), e.getMessage());
+            requests.forEach(request -> request.result().completeExceptionally(e));
+            return;
+        }
+
+        // 커밋 후에 결과 전달 (커밋 전에 성공을 알리면 롤백 시 거짓 성공)
+        for (int i = 0; i < requests.size(); i++) {
+            Integer remaining = results.get(i);
+            if (remaining != null) {
+                requests.get(i).result().complete(remaining);
+            } else {
+                requests.get(i).result().completeExceptionally(
+                        new BusinessException("재고가 부족합니다. 메뉴 ID: " + batch.menuId));
+            }
+        }
+    }
+
+    /**
+     * 도착 순서대로 수락/거절을 정하고 수락한 합계만 한 번에 차감
+     *
+     * @return 요청별 차감 후 남은 재고 (거절은 null)
+     */
+    private List<Integer> apply(Long menuId, List<Request> requests) {
+        Menu menu = menuRepository.findByIdWithPessimisticLock(menuId)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu", menuId));
+        int remaining = menu.getStock();
+        int accepted = 0;
+        List<Integer> results = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            if (request.quantity() <= remaining) {
+                remaining -= request.quantity();
+                accepted += request.quantity();
+                results.add(remaining);
+            } else {
+                results.add(null);
+            }
+        }
+        if (accepted > 0) {
+            menu.decreaseStock(accepted);
+        }
+        log.debug("[재고 묶음 처리] 메뉴 {} 요청 {}건 중 수량 {} 차감, 남은 재고 {}",
+                menuId, requests.size(), accepted, remaining);
+        return results;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // 예약된 묶음은 종료 전에 처리됨 (ScheduledThreadPoolExecutor 기본 정책)
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private record Request(int quantity, CompletableFuture<Integer> result) {
+    }
+
+    /** 한 메뉴의 모으는 중인 요청들 (닫힌 뒤에는 추가 불가) */
+    private static final class Batch {
+
+        private final Long menuId;
+        private List<Request> requests = new ArrayList<>();
+
+        private Batch(Long menuId) {
+            this.menuId = menuId;
+        }
+
+        /** @return 추가 후 요청 수, 이미 닫혔으면 -1 */
+        synchronized int add(Request request) {
+            if (requests == null) {
+                return -1;
+            }
+            requests.add(request);
+            return requests.size();
+        }
+
+        /** @return 모인 요청 (이미 닫혔으면 null) */
+        synchronized List<Request> close() {
+            List<Request> closed = requests;
+            requests = null;
+            return closed;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.gritmoments.backend.notification;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gritmoments.backend.common.config.RabbitMQConfig;
+import com.gritmoments.backend.notification.entity.OutboxEvent;
+import com.gritmoments.backend.notification.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
 
@@ -13,7 +18,7 @@ import java.util.Map;
  * 알림 서비스 (세션 04: 비동기 처리 - RabbitMQ)
  *
  * RabbitMQ를 사용하여 비동기 알림을 처리합니다.
- * - 주문 생성 시 메시지를 큐에 발행 (Publisher)
+ * - 주문 생성 시 아웃박스에 기록, OutboxRelay가 큐에 발행 (Publisher)
  * - 큐에서 메시지를 소비하여 알림 발송 (Consumer)
  * - 처리 실패 시 DLQ(Dead Letter Queue)로 이동
  *
@@ -27,23 +32,25 @@ import java.util.Map;
 @Slf4j
 public class NotificationService {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
     /**
-     * 주문 알림 발행 (세션 04: RabbitMQ Producer)
+     * 주문 생성 이벤트 기록 (세션 04: 트랜잭셔널 아웃박스)
      *
-     * 주문이 생성되면 RabbitMQ에 메시지를 발행합니다.
+     * RabbitMQ에 바로 발행하지 않고 주문과 같은 트랜잭션으로 outbox_events에 기록합니다.
      * 메시지는 order.exchange로 전송되고, order.created 라우팅 키로
-     * order.notification.queue에 저장됩니다.
+     * order.notification.queue에 저장됩니다. (발행은 OutboxRelay)
+     * - 주문 API가 브로커 응답을 기다리지 않음
+     * - 커밋 직후 서버가 죽어도 이벤트가 사라지지 않음
      *
      * @param orderId 주문 ID
      * @param userId 사용자 ID
      * @param restaurantName 가게 이름
      * @param totalAmount 총 금액
      */
-    public void publishOrderCreatedEvent(Long orderId, Long userId, String restaurantName, Integer totalAmount) {
-        log.info("[알림 발행] 주문 {} 생성 이벤트를 큐에 발행합니다.", orderId);
-
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderCreatedEvent(Long orderId, Long userId, String restaurantName, Integer totalAmount) {
         // 메시지 페이로드 구성
         Map<String, Object> message = Map.of(
                 "orderId", orderId,
@@ -53,16 +60,22 @@ public class NotificationService {
                 "timestamp", System.currentTimeMillis()
         );
 
-        // RabbitMQ에 메시지 발행
-        // Exchange: RabbitMQConfig.ORDER_EXCHANGE
-        // Routing Key: RabbitMQConfig.ORDER_CREATED_KEY
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.ORDER_EXCHANGE,
-                RabbitMQConfig.ORDER_CREATED_KEY,
-                message
-        );
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 이벤트 직렬화 실패: " + orderId, e);
+        }
 
-        log.info("[알림 발행 완료] 주문 {} 이벤트가 큐에 저장되었습니다.", orderId);
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType("Order")
+                .aggregateId(orderId)
+                .eventType("OrderCreated")
+                .exchange(RabbitMQConfig.ORDER_EXCHANGE)
+                .routingKey(RabbitMQConfig.ORDER_CREATED_KEY)
+                .payload(payload)
+                .build());
+        log.debug("[알림 기록] 주문 {} 생성 이벤트를 아웃박스에 기록했습니다.", orderId);
     }
 
     /**
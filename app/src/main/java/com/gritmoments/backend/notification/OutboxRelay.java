@@ -0,0 +1,208 @@
+package com.gritmoments.backend.notification;
+
+import com.gritmoments.backend.notification.entity.OutboxEvent;
+import com.gritmoments.backend.notification.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 아웃박스 릴레이 (세션 04: 비동기 처리)
+ *
+ * outbox.relay.interval마다 outbox_events를 읽어 RabbitMQ로 발행합니다.
+ *   1. 발행할 때가 된 이벤트를 batch-size개까지 잠가서 가져옴 (SKIP LOCKED -> 여러 노드가 나눠 처리)
+ *   2. 묶음을 한꺼번에 발행하고 브로커 확인(publisher confirm)을 모아서 기다림 (건마다 왕복하지 않음)
+ *   3. 확인(ack)받은 이벤트는 삭제, 나머지는 다음 시도 시각을 미루고 커밋
+ *
+ * 재시도 간격 (outbox.relay.retry-backoff, max-retry-backoff):
+ *   실패할 때마다 backoff x 2^(실패 횟수 - 1)만큼 미룸 (최대 max-retry-backoff)
+ *   계속 실패하는 이벤트(바인딩 없는 라우팅 키 등)가 묶음 앞자리를 차지해 새 이벤트가 밀리지 않음
+ *
+ * 발행 후 삭제 전에 서버가 죽으면 같은 이벤트가 다시 발행됩니다. (최소 한 번 전달)
+ * 소비자는 messageId(outbox-{id})로 중복을 걸러낼 수 있습니다.
+ * 일부만 실패하면 실패한 이벤트가 뒤 이벤트보다 늦게 도착할 수 있습니다.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private final Counter published;
+    private final Counter failed;
+    private final Timer lag;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.confirm-timeout:PT5S}") Duration confirmTimeout,
+                       @Value("${outbox.relay.retry-backoff:PT1S}") Duration retryBackoff,
+                       @Value("${outbox.relay.max-retry-backoff:PT5M}") Duration maxRetryBackoff) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("outbox.relay.batch-size는 0보다 커야 합니다.");
+        }
+        if (retryBackoff.isNegative() || retryBackoff.isZero() || maxRetryBackoff.compareTo(retryBackoff) < 0) {
+            throw new IllegalArgumentException(
+                    "outbox.relay.retry-backoff는 0보다 크고 max-retry-backoff 이하여야 합니다.");
+        }
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            // 확인이 오지 않으면 이벤트를 영원히 지우지 못하고 계속 다시 발행함
+            throw new IllegalStateException(
+                    "아웃박스 릴레이는 spring.rabbitmq.publisher-confirm-type=correlated 설정이 필요합니다.");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.published = resultCounter(meterRegistry, "published");
+        this.failed = resultCounter(meterRegistry, "failed");
+        this.lag = Timer.builder("outbox.lag")
+                .description("이벤트 기록부터 브로커 확인까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("outbox.events")
+                .description("아웃박스 이벤트 발행 결과별 횟수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:PT0.5S}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            // 잠근 이벤트는 롤백되어 다음 주기에 다시 처리
+            log.warn("[아웃박스 릴레이 실패] {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 한 묶음 발행 (트랜잭션 안에서 실행)
+     *
+     * @return 발행을 확인받은 이벤트 수 (batchSize보다 작으면 이번 주기는 종료)
+     */
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(LocalDateTime.now(), batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // 1. 모두 발행 (확인은 기다리지 않음)
+        List<CorrelationData> sent = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            CorrelationData correlation = new CorrelationData(messageId(event));
+            try {
+                rabbitTemplate.send(event.getExchange(), event.getRoutingKey(), toMessage(event), correlation);
+            } catch (AmqpException e) {
+                // 브로커 연결 문제 -> 뒤 이벤트도 실패할 것이므로 여기까지 보낸 것만 확인
+                log.warn("[아웃박스 발행 실패] 이벤트 {}: {}", event.getId(), e.getMessage());
+                break;
+            }
+            sent.add(correlation);
+        }
+
+        // 2. 확인을 모아서 대기 (전체 대기 시간은 confirmTimeout 이내)
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        List<Long> confirmed = new ArrayList<>(sent.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            if (i < sent.size() && awaitAck(event, sent.get(i), deadline)) {
+                confirmed.add(event.getId());
+                lag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } else {
+                // 3-1. 실패한 이벤트는 다음 시도를 미룸 (커밋 시 변경 감지로 UPDATE)
+                event.recordFailure(now, retryBackoff, maxRetryBackoff);
+            }
+        }
+
+        // 3-2. 확인받은 이벤트만 삭제
+        if (!confirmed.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(confirmed);
+        }
+        published.increment(confirmed.size());
+        failed.increment(events.size() - confirmed.size());
+        if (confirmed.size() < events.size()) {
+            log.warn("[아웃박스 릴레이] {}건 중 {}건만 발행 확인, 나머지는 재시도 간격 후 재발행",
+                    events.size(), confirmed.size());
+        }
+        return confirmed.size();
+    }
+
+    private boolean awaitAck(OutboxEvent event, CorrelationData correlation, long deadline) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                log.warn("[아웃박스 발행 거부] 이벤트 {}: {}", event.getId(), confirm.getReason());
+                return false;
+            }
+            if (correlation.getReturned() != null) {
+                // 브로커는 받았지만 바인딩된 큐가 없음 -> 지우면 이벤트가 사라지므로 남겨둠
+                log.warn("[아웃박스 발행 반환] 이벤트 {}: {}", event.getId(), correlation.getReturned().getReplyText());
+                return false;
+            }
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("[아웃박스 발행 확인 시간 초과] 이벤트 {}", event.getId());
+            return false;
+        } catch (ExecutionException e) {
+            log.warn("[아웃박스 발행 확인 실패] 이벤트 {}: {}", event.getId(), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** 저장된 JSON을 그대로 본문으로 (소비자의 Jackson 변환기가 Map으로 읽음) */
+    private static Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(messageId(event))
+                .setHeader("eventType", event.getEventType())
+                .build();
+    }
+
+    private static String messageId(OutboxEvent event) {
+        return "outbox-" + event.getId();
+    }
+}
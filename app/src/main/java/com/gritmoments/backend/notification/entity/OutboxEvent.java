@@ -0,0 +1,89 @@
+package com.gritmoments.backend.notification.entity;
+
+import com.gritmoments.backend.common.id.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스 이벤트 엔티티 (세션 04: 비동기 처리)
+ *
+ * 발행할 메시지를 업무 데이터와 같은 트랜잭션으로 DB에 기록합니다.
+ * - 주문이 커밋되면 이벤트도 반드시 남고, 롤백되면 이벤트도 남지 않음
+ * - 실제 발행은 OutboxRelay가 나중에 하고, 브로커 확인(publisher confirm)을 받으면 행을 삭제
+ * - 발행에 실패하면 실패 횟수를 올리고 다음 시도 시각을 뒤로 미룸 (실패한 이벤트가 큐 앞을 막지 않도록)
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+    /** 시간순 ID (주문과 함께 배치 INSERT, 릴레이가 ID 순서 = 대략 기록 순서로 발행) */
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    /** 이벤트가 속한 도메인 (예: Order) */
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    /** 이벤트 종류 (예: OrderCreated) */
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "exchange_name", nullable = false, length = 100)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false, length = 100)
+    private String routingKey;
+
+    /** 메시지 본문 (JSON) */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /** 발행 실패 횟수 */
+    @Column(nullable = false)
+    private int attempts;
+
+    /** 이 시각 이후에 발행 (처음에는 기록 시각, 실패할 때마다 뒤로 미룸) */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public OutboxEvent(String aggregateType, Long aggregateId, String eventType,
+                       String exchange, String routingKey, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.payload = payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    /**
+     * 발행 실패 기록 - 실패 횟수에 따라 다음 시도를 backoff x 2^(실패 횟수 - 1)만큼 미룸 (최대 maxBackoff)
+     */
+    public void recordFailure(LocalDateTime now, Duration backoff, Duration maxBackoff) {
+        this.attempts++;
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        this.nextAttemptAt = now.plus(delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay);
+    }
+}
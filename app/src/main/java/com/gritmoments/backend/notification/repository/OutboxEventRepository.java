@@ -0,0 +1,25 @@
+package com.gritmoments.backend.notification.repository;
+
+import com.gritmoments.backend.notification.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 아웃박스 리포지토리 (세션 04: 비동기 처리)
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 발행할 때가 된 이벤트를 시도 시각 순서로 잠가서 가져옴
+     * 실패해서 다음 시도가 미뤄진 이벤트는 건너뛰므로 새 이벤트가 밀리지 않음 (idx_outbox_next_attempt)
+     * SKIP LOCKED: 다른 노드의 릴레이가 잠근 행은 건너뜀 -> 노드끼리 같은 이벤트를 나눠 갖지 않고 기다리지도 않음
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -1,26 +1,32 @@
 package com.gritmoments.backend.order.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gritmoments.backend.common.dto.ApiResponse;
-import com.gritmoments.backend.menu.entity.Menu;
-import com.gritmoments.backend.menu.repository.MenuRepository;
-import com.gritmoments.backend.notification.NotificationService;
+import com.gritmoments.backend.common.dto.CursorResponse;
+import com.gritmoments.backend.common.exception.BusinessException;
+import com.gritmoments.backend.common.idempotency.IdempotencyStore;
 import com.gritmoments.backend.order.entity.Order;
-import com.gritmoments.backend.order.entity.OrderItem;
+import com.gritmoments.backend.order.service.BulkOrderService;
+import com.gritmoments.backend.order.service.OrderPipeline;
 import com.gritmoments.backend.order.service.OrderService;
 import com.gritmoments.backend.restaurant.entity.Restaurant;
-import com.gritmoments.backend.restaurant.repository.RestaurantRepository;
-import com.gritmoments.backend.user.entity.User;
-import com.gritmoments.backend.user.repository.UserRepository;
+import com.gritmoments.backend.restaurant.service.RestaurantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 /**
  * 주문 API 컨트롤러 (세션 10: 아키텍처, 세션 12: API 설계)
@@ -33,10 +39,25 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
-    private final UserRepository userRepository;
-    private final RestaurantRepository restaurantRepository;
-    private final MenuRepository menuRepository;
-    private final NotificationService notificationService;
+    private final OrderPipeline orderPipeline;
+    private final BulkOrderService bulkOrderService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final RestaurantService restaurantService;
+
+    /**
+     * 사용자의 주문 이력 (세션 12: 커서 페이지네이션)
+     * GET /api/orders?userId=1&size=20 -> 다음 페이지는 응답의 nextCursor를 cursor로 전달
+     * 전체 개수 없이 최신순으로, 페이지 깊이와 무관하게 같은 비용
+     */
+    @GetMapping
+    @Operation(summary = "사용자 주문 이력 조회", description = "최신순 커서 페이지네이션 (nextCursor로 다음 페이지)")
+    public ResponseEntity<ApiResponse<CursorResponse<OrderService.OrderSummary>>> getUserOrders(
+            @RequestParam Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(orderService.getUserOrderHistory(userId, cursor, size)));
+    }
 
     /** 주문 상세 조회 */
     @GetMapping("/{id}")
@@ -54,54 +75,91 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.ok(orderService.updateOrderStatus(id, status)));
     }
 
-    /** 주문 생성 (세션 04: 비동기 처리) */
+    /**
+     * 주문 생성 (세션 04: 비동기 처리, 세션 02: 쿼리 수 줄이기, 세션 03: 멱등성)
+     * 가게/메뉴는 캐시에서 확인하므로 장바구니 항목 수와 무관하게 쿼리 수가 일정
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 보내도 주문은 한 번만 생성 (저장된 응답 반환)
+     */
     @PostMapping
     @Operation(summary = "주문 생성")
-    public ResponseEntity<ApiResponse<Order>> createOrder(@RequestBody OrderCreateRequest request) {
-        log.info("[주문 생성] 사용자: {}, 가게: {}, 항목 수: {}",
-                request.userId(), request.restaurantId(), request.items().size());
-
-        // 엔티티 조회
-        User user = userRepository.findById(request.userId())
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + request.userId()));
-        Restaurant restaurant = restaurantRepository.findById(request.restaurantId())
-                .orElseThrow(() -> new IllegalArgumentException("가게를 찾을 수 없습니다: " + request.restaurantId()));
-
-        // 주문 엔티티 생성
-        Order order = Order.builder()
-                .user(user)
-                .restaurant(restaurant)
-                .idempotencyKey(UUID.randomUUID().toString())
-                .build();
-
-        // 주문 항목 추가
-        for (OrderItemRequest itemRequest : request.items()) {
-            Menu menu = menuRepository.findById(itemRequest.menuId())
-                    .orElseThrow(() -> new IllegalArgumentException("메뉴를 찾을 수 없습니다: " + itemRequest.menuId()));
-
-            OrderItem orderItem = OrderItem.builder()
-                    .menu(menu)
-                    .quantity(itemRequest.quantity())
-                    .build();
+    public ResponseEntity<?> createOrder(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody OrderCreateRequest request) {
+        if (request.items() == null || request.items().isEmpty()) {
+            throw new BusinessException("주문 항목이 없습니다.");
+        }
+        return idempotencyStore.execute("order", idempotencyKey, request, () -> {
+            log.info("[주문 생성] 사용자: {}, 가게: {}, 항목 수: {}",
+                    request.userId(), request.restaurantId(), request.items().size());
+
+            // 가게 확인 (캐시, 없으면 404)
+            Restaurant restaurant = restaurantService.getRestaurant(request.restaurantId());
+
+            // 주문 저장 (알림 이벤트도 같은 트랜잭션으로 아웃박스에 기록, 발행은 OutboxRelay - 세션 04)
+            Order savedOrder = orderService.placeOrder(
+                    request.userId(), restaurant.getId(), quantitiesOf(request), idempotencyKey);
+            log.info("[주문 생성 완료] 주문 ID: {}, 총액: {}원", savedOrder.getId(), savedOrder.getTotalAmount());
+
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(ApiResponse.ok(savedOrder));
+        });
+    }
 
-            order.addItem(orderItem);
+    /**
+     * 주문 접수 (세션 04: 비동기 처리, 세션 08: 서버 처리량)
+     * 요청 ID만 발급하고 202로 바로 응답, 실제 처리는 OrderPipeline 작업 스레드에서
+     * 대기열이 가득 차면 503 (Retry-After)
+     */
+    @PostMapping("/async")
+    @Operation(summary = "주문 접수 (비동기 처리)")
+    public ResponseEntity<ApiResponse<OrderPipeline.OrderRequestStatus>> submitOrder(
+            @RequestBody OrderCreateRequest request) {
+        if (request.items() == null || request.items().isEmpty()) {
+            throw new BusinessException("주문 항목이 없습니다.");
         }
+        OrderPipeline.OrderRequestStatus status =
+                orderPipeline.submit(request.userId(), request.restaurantId(), quantitiesOf(request));
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/orders/requests/" + status.requestId()))
+                .body(ApiResponse.ok(status, "주문이 접수되었습니다."));
+    }
 
-        // 주문 저장
-        Order savedOrder = orderService.createOrder(order);
-        log.info("[주문 생성 완료] 주문 ID: {}, 총액: {}원", savedOrder.getId(), savedOrder.getTotalAmount());
+    /** 주문 접수 처리 상태 조회 (COMPLETED이면 orderId 포함) */
+    @GetMapping("/requests/{requestId}")
+    @Operation(summary = "주문 접수 처리 상태 조회")
+    public ResponseEntity<ApiResponse<OrderPipeline.OrderRequestStatus>> getOrderRequestStatus(
+            @PathVariable String requestId) {
+        return ResponseEntity.ok(ApiResponse.ok(orderPipeline.getStatus(requestId)));
+    }
 
-        // RabbitMQ를 통한 비동기 알림 발행 (세션 04)
-        notificationService.publishOrderCreatedEvent(
-                savedOrder.getId(),
-                savedOrder.getUser().getId(),
-                savedOrder.getRestaurant().getName(),
-                savedOrder.getTotalAmount()
-        );
+    /**
+     * 주문 일괄 등록 (세션 02: 배치 INSERT)
+     * 본문: 주문 JSON 배열 또는 NDJSON(한 줄에 주문 하나), 주문 형식은 POST /api/orders와 같음
+     * 본문을 스트림으로 읽으며 묶음 단위로 저장하고 주문별 결과를 돌려줌
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "주문 일괄 등록")
+    public ResponseEntity<ApiResponse<BulkOrderService.BulkOrderResponse>> createOrdersInBulk(
+            HttpServletRequest httpRequest) throws IOException {
+        try (MappingIterator<BulkOrderService.OrderLine> orders = objectMapper
+                .readerFor(BulkOrderService.OrderLine.class)
+                .readValues(httpRequest.getInputStream())) {
+            return ResponseEntity.ok(ApiResponse.ok(bulkOrderService.ingest(orders)));
+        }
+    }
 
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ApiResponse.ok(savedOrder));
+    /** 메뉴 ID -> 수량 (같은 메뉴가 여러 번 오면 수량 합산) */
+    private static Map<Long, Integer> quantitiesOf(OrderCreateRequest request) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemRequest itemRequest : request.items()) {
+            if (itemRequest.menuId() == null || itemRequest.quantity() == null) {
+                throw new BusinessException("메뉴 ID와 수량은 필수입니다.");
+            }
+            quantities.merge(itemRequest.menuId(), itemRequest.quantity(), Integer::sum);
+        }
+        return quantities;
     }
 
     /** 주문 생성 요청 DTO */
@@ -1,6 +1,7 @@
 package com.gritmoments.backend.order.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.gritmoments.backend.common.id.SnowflakeId;
 import com.gritmoments.backend.restaurant.entity.Restaurant;
 import com.gritmoments.backend.user.entity.User;
 import jakarta.persistence.*;
@@ -26,15 +27,21 @@ import java.util.List;
 @Table(name = "orders", indexes = {
         @Index(name = "idx_orders_user", columnList = "user_id"),
         @Index(name = "idx_orders_restaurant", columnList = "restaurant_id"),
-        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at"),
-        @Index(name = "idx_orders_status", columnList = "status")
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_orders_status", columnList = "status"),
+        @Index(name = "idx_orders_created_restaurant", columnList = "created_at, restaurant_id")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
 
+    /**
+     * 시간순 ID (세션 02: 배치 INSERT, 세션 06: 다중 노드)
+     * IDENTITY는 INSERT를 실행해야 ID를 알 수 있어 Hibernate가 INSERT를 묶지 못함
+     * -> 애플리케이션에서 만든 ID(시각 + 노드 번호 + 순번)로 persist 시점에 확정, DB 왕복 없음
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @JsonIgnore
@@ -1,6 +1,7 @@
 package com.gritmoments.backend.order.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.gritmoments.backend.common.id.SnowflakeId;
 import com.gritmoments.backend.menu.entity.Menu;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -20,8 +21,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class OrderItem {
 
+    /** 시간순 ID (세션 02: 배치 INSERT, Order 참고) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @JsonIgnore
@@ -52,6 +54,17 @@ public class OrderItem {
         this.quantity = quantity;
     }
 
+    /**
+     * 메뉴를 조회하지 않고 생성 (세션 02: 쿼리 수 줄이기)
+     * menu는 프록시(getReferenceById), 이름/가격은 캐시된 메뉴 정보에서 가져옴
+     */
+    public OrderItem(Menu menu, String menuName, Integer price, Integer quantity) {
+        this.menu = menu;
+        this.menuName = menuName;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
     /** Order에서 호출 (양방향 관계 설정) */
     void setOrder(Order order) {
         this.order = order;
@@ -7,19 +7,54 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
- * 주문 리포지토리 (세션 02: JPA, 세션 03: 멱등키)
+ * 주문 리포지토리 (세션 02: JPA, 세션 03: 멱등키, 세션 12: 커서 페이지네이션)
  */
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
     /** 사용자의 주문 목록 (최신순, 페이지네이션) */
     Page<Order> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
+    /**
+     * 사용자의 최근 주문 첫 페이지 (세션 12: 커서 페이지네이션)
+     * idx_orders_user_created (user_id, created_at, id)를 역순으로 읽고 pageable 크기만큼에서 멈춤 (COUNT 없음)
+     */
+    @Query("SELECT o FROM Order o " +
+           "WHERE o.user.id = :userId " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findRecentByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 커서 다음 페이지 (세션 12: 커서 페이지네이션)
+     * OFFSET으로 앞 행을 건너뛰지 않고 (createdAt, id) 바로 다음 위치부터 인덱스 범위 스캔
+     * -> 몇 번째 페이지든 읽는 행 수가 같음
+     */
+    @Query("SELECT o FROM Order o " +
+           "WHERE o.user.id = :userId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findRecentByUserIdBefore(@Param("userId") Long userId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
     /** 멱등키로 기존 주문 조회 (세션 03: 이중 결제 방지) */
     Optional<Order> findByIdempotencyKey(String idempotencyKey);
 
+    /**
+     * 최근 주문이 많은 가게 ID (세션 01: 캐시 워밍업 대상 선정)
+     * idx_orders_created_restaurant 인덱스만으로 집계 (테이블 접근 없음)
+     */
+    @Query("SELECT o.restaurant.id FROM Order o " +
+           "WHERE o.createdAt >= :since " +
+           "GROUP BY o.restaurant.id " +
+           "ORDER BY COUNT(o) DESC")
+    List<Long> findTopRestaurantIdsByOrderCountSince(@Param("since") LocalDateTime since, Pageable pageable);
+
     /** 주문 상세 (연관 엔티티 한번에 로딩 - N+1 방지, 세션 02) */
     @Query("SELECT o FROM Order o " +
            "JOIN FETCH o.user " +
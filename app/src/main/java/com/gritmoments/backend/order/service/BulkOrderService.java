@@ -0,0 +1,263 @@
+package com.gritmoments.backend.order.service;
+
+import com.gritmoments.backend.common.exception.BusinessException;
+import com.gritmoments.backend.common.exception.ResourceNotFoundException;
+import com.gritmoments.backend.order.entity.Order;
+import com.gritmoments.backend.restaurant.service.RestaurantService;
+import com.gritmoments.backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 일괄 등록 (세션 02: 배치 INSERT)
+ *
+ * 단체 주문, 콜센터 주문처럼 수백 건을 한 번에 받는 경우 주문마다 POST /api/orders를 호출하면
+ * 주문마다 트랜잭션 + INSERT 왕복이 생깁니다.
+ *
+ * 요청 본문을 스트림으로 읽으며 chunk-size개씩 처리합니다. (본문 전체를 메모리에 올리지 않음)
+ *   1. 주문별 확인: 항목/수량, 가게(캐시), 메뉴/가격(캐시) -> 실패한 주문만 제외
+ *   2. 사용자 확인: 묶음의 사용자 ID를 쿼리 한 번으로
+ *   3. 저장: 묶음 전체를 트랜잭션 하나로 (OrderService.placeOrders -> 여러 행 INSERT)
+ *   4. 묶음 저장이 실패하면 그 묶음만 한 건씩 다시 저장해 실패한 주문을 골라냄
+ *
+ * 묶음 단위로 커밋하므로 중간에 본문을 읽지 못해도 앞 묶음의 주문은 저장되어 있습니다.
+ * 응답의 results로 주문별 결과를 확인합니다.
+ */
+@Service
+@Slf4j
+public class BulkOrderService {
+
+    private final OrderService orderService;
+    private final RestaurantService restaurantService;
+    private final UserRepository userRepository;
+    private final int chunkSize;
+    private final int maxOrders;
+
+    private final Counter created;
+    private final Counter failed;
+    private final Timer chunkTimer;
+
+    public BulkOrderService(OrderService orderService,
+                            RestaurantService restaurantService,
+                            UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${order.bulk.chunk-size:100}") int chunkSize,
+                            @Value("${order.bulk.max-orders:10000}") int maxOrders) {
+        if (chunkSize <= 0 || maxOrders <= 0) {
+            throw new IllegalArgumentException("order.bulk.chunk-size와 max-orders는 0보다 커야 합니다.");
+        }
+        this.orderService = orderService;
+        this.restaurantService = restaurantService;
+        this.userRepository = userRepository;
+        this.chunkSize = chunkSize;
+        this.maxOrders = maxOrders;
+        this.created = resultCounter(meterRegistry, "created");
+        this.failed = resultCounter(meterRegistry, "failed");
+        this.chunkTimer = Timer.builder("order.bulk.chunk")
+                .description("주문 일괄 등록 묶음 하나의 처리 시간")
+                .register(meterRegistry);
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order.bulk.orders")
+                .description("주문 일괄 등록 결과별 주문 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주문 일괄 등록
+     *
+     * @param orders 요청 본문에서 읽는 주문 (next()에서 읽기 오류가 나면 그 지점에서 중단)
+     */
+    public BulkOrderResponse ingest(Iterator<OrderLine> orders) {
+        long start = System.nanoTime();
+        List<BulkOrderResult> results = new ArrayList<>();
+        List<OrderLine> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            OrderLine line;
+            try {
+                if (!orders.hasNext()) {
+                    break;
+                }
+                line = orders.next();
+            } catch (RuntimeException e) {
+                results.add(BulkOrderResult.failure(index, "주문을 읽을 수 없어 중단했습니다: " + e.getMessage()));
+                failed.increment();
+                break;
+            }
+            if (index == maxOrders) {
+                results.add(BulkOrderResult.failure(index, "한 번에 등록할 수 있는 주문은 " + maxOrders + "건까지입니다."));
+                failed.increment();
+                break;
+            }
+            chunk.add(line);
+            index++;
+            if (chunk.size() == chunkSize) {
+                processChunk(index - chunk.size(), chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(index - chunk.size(), chunk, results);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        int succeeded = (int) results.stream().filter(result -> result.orderId() != null).count();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("[주문 일괄 등록] {}건 중 {}건 저장, {}ms", results.size(), succeeded,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return new BulkOrderResponse(
+                results.size(),
+                succeeded,
+                results.size() - succeeded,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                seconds > 0 ? Math.round(succeeded / seconds * 10) / 10.0 : 0.0,
+                results);
+    }
+
+    /**
+     * 한 묶음 처리
+     *
+     * @param firstIndex 묶음 첫 주문의 요청 내 순번
+     */
+    private void processChunk(int firstIndex, List<OrderLine> chunk, List<BulkOrderResult> results) {
+        long start = System.nanoTime();
+        BulkOrderResult[] chunkResults = new BulkOrderResult[chunk.size()];
+
+        // 1. 주문별 확인 + 가격 확정
+        List<Integer> positions = new ArrayList<>(chunk.size());
+        List<OrderService.NewOrder> newOrders = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                newOrders.add(price(chunk.get(i)));
+                positions.add(i);
+            } catch (BusinessException | ResourceNotFoundException e) {
+                chunkResults[i] = BulkOrderResult.failure(firstIndex + i, e.getMessage());
+            } catch (RuntimeException e) {
+                // 예상하지 못한 오류도 이 주문만 실패로 기록 (앞 묶음은 이미 커밋됨 -> 요청 전체를 500으로 끝내지 않음)
+                log.error("[주문 일괄 등록] 주문 확인 실패: {}", e.getMessage(), e);
+                chunkResults[i] = BulkOrderResult.failure(firstIndex + i, "주문 확인 중 오류가 발생했습니다.");
+            }
+        }
+
+        // 2. 사용자 확인 (쿼리 한 번)
+        Set<Long> userIds = new HashSet<>();
+        newOrders.forEach(newOrder -> userIds.add(newOrder.userId()));
+        Set<Long> existingUsers;
+        try {
+            existingUsers = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+        } catch (RuntimeException e) {
+            // 조회 실패 -> 확인하지 못한 주문은 저장하지 않고 실패로 기록
+            log.error("[주문 일괄 등록] 사용자 확인 실패: {}", e.getMessage(), e);
+            for (int i : positions) {
+                chunkResults[i] = BulkOrderResult.failure(firstIndex + i, "주문 확인 중 오류가 발생했습니다.");
+            }
+            positions.clear();
+            newOrders.clear();
+            existingUsers = Set.of();
+        }
+        for (int j = newOrders.size() - 1; j >= 0; j--) {
+            Long userId = newOrders.get(j).userId();
+            if (!existingUsers.contains(userId)) {
+                int i = positions.remove(j);
+                newOrders.remove(j);
+                chunkResults[i] = BulkOrderResult.failure(firstIndex + i,
+                        new ResourceNotFoundException("User", userId).getMessage());
+            }
+        }
+
+        // 3. 묶음 저장 (실패하면 한 건씩)
+        if (!newOrders.isEmpty()) {
+            List<OrderService.PlacedOrder> placed;
+            try {
+                placed = orderService.placeOrders(newOrders);
+            } catch (RuntimeException e) {
+                log.warn("[주문 일괄 등록] 묶음 저장 실패, 한 건씩 다시 저장: {}", e.getMessage());
+                placed = newOrders.stream().map(this::placeOne).toList();
+            }
+            for (int j = 0; j < placed.size(); j++) {
+                int i = positions.get(j);
+                OrderService.PlacedOrder result = placed.get(j);
+                chunkResults[i] = result.order() != null
+                        ? BulkOrderResult.success(firstIndex + i, result.order())
+                        : BulkOrderResult.failure(firstIndex + i, result.error());
+            }
+        }
+
+        for (BulkOrderResult result : chunkResults) {
+            results.add(result);
+            (result.orderId() != null ? created : failed).increment();
+        }
+        chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private OrderService.NewOrder price(OrderLine line) {
+        if (line.userId() == null || line.restaurantId() == null) {
+            throw new BusinessException("사용자 ID와 가게 ID는 필수입니다.");
+        }
+        if (line.items() == null || line.items().isEmpty()) {
+            throw new BusinessException("주문 항목이 없습니다.");
+        }
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderLine.Item item : line.items()) {
+            if (item.menuId() == null || item.quantity() == null) {
+                throw new BusinessException("메뉴 ID와 수량은 필수입니다.");
+            }
+            quantities.merge(item.menuId(), item.quantity(), Integer::sum);
+        }
+        restaurantService.getRestaurant(line.restaurantId());
+        return new OrderService.NewOrder(line.userId(), line.restaurantId(),
+                orderService.priceItems(line.restaurantId(), quantities));
+    }
+
+    private OrderService.PlacedOrder placeOne(OrderService.NewOrder newOrder) {
+        try {
+            Order order = orderService.placeOrder(newOrder.userId(), newOrder.restaurantId(), newOrder.items());
+            return new OrderService.PlacedOrder(order, null);
+        } catch (BusinessException | ResourceNotFoundException e) {
+            return new OrderService.PlacedOrder(null, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("[주문 일괄 등록] 주문 저장 실패: {}", e.getMessage(), e);
+            return new OrderService.PlacedOrder(null, "주문 저장 중 오류가 발생했습니다.");
+        }
+    }
+
+    /** 요청 본문의 주문 한 건 (POST /api/orders와 같은 형식) */
+    public record OrderLine(Long userId, Long restaurantId, List<Item> items) {
+
+        public record Item(Long menuId, Integer quantity) {
+        }
+    }
+
+    /** 주문별 결과 (성공: orderId, 실패: error) */
+    public record BulkOrderResult(int index, Long orderId, Integer totalAmount, String error) {
+
+        static BulkOrderResult success(int index, Order order) {
+            return new BulkOrderResult(index, order.getId(), order.getTotalAmount(), null);
+        }
+
+        static BulkOrderResult failure(int index, String error) {
+            return new BulkOrderResult(index, null, null, error);
+        }
+    }
+
+    /** 일괄 등록 응답 (처리량 = 저장된 주문 수 / 전체 처리 시간) */
+    public record BulkOrderResponse(int total, int succeeded, int failed, long elapsedMs,
+                                    double ordersPerSecond, List<BulkOrderResult> results) {
+    }
+}
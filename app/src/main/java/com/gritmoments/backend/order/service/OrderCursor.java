@@ -0,0 +1,40 @@
+package com.gritmoments.backend.order.service;
+
+import com.gritmoments.backend.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 주문 목록 커서 (세션 12: 커서 페이지네이션)
+ *
+ * 직전 페이지 마지막 주문의 (created_at, id)입니다.
+ * created_at은 초 단위라 같은 시각의 주문이 여럿일 수 있으므로 id로 순서를 확정합니다.
+ * 클라이언트에는 Base64 URL 문자열로만 보여주어 형식에 의존하지 않게 합니다.
+ */
+record OrderCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BusinessException("잘못된 커서입니다.");
+            }
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("잘못된 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.gritmoments.backend.order.service;
+
+import com.gritmoments.backend.common.exception.BusinessException;
+import com.gritmoments.backend.common.exception.ResourceNotFoundException;
+import com.gritmoments.backend.common.exception.ServiceUnavailableException;
+import com.gritmoments.backend.order.entity.Order;
+import com.gritmoments.backend.restaurant.service.RestaurantService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 비동기 주문 파이프라인 (세션 04: 비동기 처리, 세션 08: 서버 처리량)
+ *
+ * 요청 스레드는 수량만 확인하고 요청 ID를 발급해 바로 202로 응답합니다.
+ * 나머지는 단계별 작업 스레드가 이어서 처리합니다.
+ *
+ *   validate -> price -> persist
+ *   - validate: 가게 확인 (캐시)
+ *   - price   : 메뉴 확인 + 주문 시점 가격 확정 (캐시, 없는 메뉴만 DB 한 번)
+ *   - persist : 주문 저장 + 재고 예약 + 이벤트 기록을 한 트랜잭션으로 (OrderService.placeOrder)
+ *   - 이벤트 발행은 OutboxRelay가 따로 처리
+ *
+ * 재고 예약은 주문 ID로 기록되고 저장이 롤백되면 함께 되돌려야 하므로 저장과 같은 단계에서 합니다.
+ *
+ * 단계 사이는 크기가 정해진 대기열로 연결합니다.
+ * - 다음 단계 대기열이 가득 차면 앞 단계 작업 스레드가 기다림 -> 앞 단계 대기열도 차오름
+ * - 첫 단계 대기열이 가득 차면 새 요청은 쌓지 않고 503으로 거절 (대기 요청 수 = 대기열 크기 합 이하)
+ *
+ * 처리 상태는 Redis(order:request:{id})에 기록하므로 요청을 받은 노드와 다른 노드에서도 조회할 수 있습니다.
+ *
+ * 시작/종료 (SmartLifecycle):
+ *   작업 스레드는 컨텍스트가 준비된 뒤 start()에서 시작합니다.
+ *   stop()은 새 요청을 거절한 뒤 앞 단계부터 차례로 대기열을 비우고 (접수한 요청은 끝까지 처리),
+ *   order.pipeline.shutdown-timeout이 지나도 남은 작업만 중단하고 실패로 기록합니다.
+ *   웹 서버가 요청 처리를 마친 뒤, Redis 연결이 닫히기 전에 멈추도록 단계(phase)를 정합니다.
+ */
+@Component
+@Slf4j
+public class OrderPipeline implements SmartLifecycle {
+
+    private static final String STATUS_KEY_PREFIX = "order:request:";
+
+    /** 웹 서버 종료(DEFAULT_PHASE - 2048) 이후, Redis 연결 팩토리(0) 이전 */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    /** 종료 중인 단계의 작업 스레드가 대기열을 다시 확인하는 간격 */
+    private static final long POLL_INTERVAL_MS = 100L;
+
+    private final OrderService orderService;
+    private final RestaurantService restaurantService;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration statusTtl;
+    private final Duration shutdownTimeout;
+
+    private final Stage validate;
+    private final Stage price;
+    private final Stage persist;
+
+    /** false이면 새 요청을 거절 (시작 전, 종료 중) */
+    private volatile boolean running;
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter completed;
+    private final Counter failed;
+    private final Timer latency;
+
+    public OrderPipeline(OrderService orderService,
+                         RestaurantService restaurantService,
+                         StringRedisTemplate redisTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${order.pipeline.queue-capacity:200}") int queueCapacity,
+                         @Value("${order.pipeline.validate-workers:2}") int validateWorkers,
+                         @Value("${order.pipeline.price-workers:2}") int priceWorkers,
+                         @Value("${order.pipeline.persist-workers:4}") int persistWorkers,
+                         @Value("${order.pipeline.status-ttl:PT1H}") Duration statusTtl,
+                         @Value("${order.pipeline.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        if (queueCapacity <= 0 || validateWorkers <= 0 || priceWorkers <= 0 || persistWorkers <= 0) {
+            throw new IllegalArgumentException("order.pipeline의 대기열 크기와 작업 스레드 수는 0보다 커야 합니다.");
+        }
+        this.orderService = orderService;
+        this.restaurantService = restaurantService;
+        this.redisTemplate = redisTemplate;
+        this.statusTtl = statusTtl;
+        this.shutdownTimeout = shutdownTimeout;
+
+        this.persist = new Stage("persist", queueCapacity, persistWorkers, Status.COMPLETED, this::persist, null);
+        this.price = new Stage("price", queueCapacity, priceWorkers, Status.PRICED, this::price, persist);
+        this.validate = new Stage("validate", queueCapacity, validateWorkers, Status.VALIDATED, this::validate, price);
+        for (Stage stage : List.of(validate, price, persist)) {
+            Gauge.builder("order.pipeline.queue.depth", stage.queue, BlockingQueue::size)
+                    .description("주문 파이프라인 단계별 대기 요청 수")
+                    .tag("stage", stage.name)
+                    .register(meterRegistry);
+        }
+
+        this.accepted = resultCounter(meterRegistry, "accepted");
+        this.rejected = resultCounter(meterRegistry, "rejected");
+        this.completed = resultCounter(meterRegistry, "completed");
+        this.failed = resultCounter(meterRegistry, "failed");
+        this.latency = Timer.builder("order.pipeline.latency")
+                .description("주문 요청 접수부터 저장 완료까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order.pipeline.requests")
+                .description("주문 파이프라인 요청 결과별 횟수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        for (Stage stage : List.of(validate, price, persist)) {
+            stage.startWorkers();
+        }
+        running = true;
+    }
+
+    /**
+     * 새 요청을 거절하고 앞 단계부터 차례로 비움
+     * 제한 시간 안에 끝나지 않은 작업 스레드만 중단하고, 남은 요청은 실패로 기록
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Stage stage : List.of(validate, price, persist)) {
+            // 앞 단계 작업 스레드가 모두 끝나야 이 단계 대기열에 더 들어오지 않음
+            stage.drain(deadline);
+        }
+        // 아직 시작하지 않은 요청은 실패로 기록
+        for (Stage stage : List.of(validate, price, persist)) {
+            Job job;
+            while ((job = stage.queue.poll()) != null) {
+                fail(job, new BusinessException("서버가 종료 중입니다. 다시 주문해주세요."));
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 주문 요청 접수
+     *
+     * @param quantities 메뉴 ID -> 수량
+     * @return 접수 상태 (requestId로 상태 조회)
+     * @throws ServiceUnavailableException 대기열이 가득 참 (503)
+     */
+    public OrderRequestStatus submit(Long userId, Long restaurantId, Map<Long, Integer> quantities) {
+        if (userId == null || restaurantId == null) {
+            throw new BusinessException("사용자 ID와 가게 ID는 필수입니다.");
+        }
+        OrderService.validateQuantities(quantities);
+
+        // 종료 중이거나 대기열이 가득 찼으면 Redis도 거치지 않고 바로 거절
+        if (!running || validate.queue.remainingCapacity() == 0) {
+            throw reject();
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), userId, restaurantId,
+                new LinkedHashMap<>(quantities), System.nanoTime());
+        // 상태를 먼저 기록 (작업 스레드가 더 빨리 끝나 상태를 덮어쓰는 순서 역전 방지)
+        String key = STATUS_KEY_PREFIX + job.requestId;
+        redisTemplate.opsForHash().put(key, "status", Status.ACCEPTED.name());
+        redisTemplate.expire(key, statusTtl);
+        // 넣는 사이 종료가 시작됐으면 작업 스레드가 이미 끝났을 수 있으므로 되찾아 거절
+        if (!validate.queue.offer(job) || (!running && validate.queue.remove(job))) {
+            redisTemplate.delete(key);
+            throw reject();
+        }
+        accepted.increment();
+        return new OrderRequestStatus(job.requestId, Status.ACCEPTED, null, null);
+    }
+
+    private ServiceUnavailableException reject() {
+        rejected.increment();
+        return new ServiceUnavailableException("주문 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    /**
+     * 처리 상태 조회
+     *
+     * @throws ResourceNotFoundException 없는 요청이거나 status-ttl이 지남
+     */
+    public OrderRequestStatus getStatus(String requestId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(STATUS_KEY_PREFIX + requestId);
+        if (fields.isEmpty()) {
+            throw new ResourceNotFoundException("OrderRequest", "requestId", requestId);
+        }
+        Object orderId = fields.get("orderId");
+        return new OrderRequestStatus(
+                requestId,
+                Status.valueOf((String) fields.get("status")),
+                orderId == null ? null : Long.valueOf((String) orderId),
+                (String) fields.get("message"));
+    }
+
+    // --- 단계별 작업 ---
+
+    private void validate(Job job) {
+        restaurantService.getRestaurant(job.restaurantId);
+    }
+
+    private void price(Job job) {
+        job.items = orderService.priceItems(job.restaurantId, job.quantities);
+    }
+
+    private void persist(Job job) {
+        Order order = orderService.placeOrder(job.userId, job.restaurantId, job.items);
+        job.orderId = order.getId();
+        completed.increment();
+        latency.record(System.nanoTime() - job.acceptedAt, TimeUnit.NANOSECONDS);
+        log.info("[주문 파이프라인 완료] 요청 {}, 주문 ID: {}, 총액: {}원",
+                job.requestId, order.getId(), order.getTotalAmount());
+    }
+
+    private void updateStatus(Job job, Status status) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("status", status.name());
+        if (job.orderId != null) {
+            fields.put("orderId", String.valueOf(job.orderId));
+        }
+        redisTemplate.opsForHash().putAll(STATUS_KEY_PREFIX + job.requestId, fields);
+    }
+
+    private void fail(Job job, RuntimeException e) {
+        failed.increment();
+        String message;
+        if (e instanceof BusinessException || e instanceof ResourceNotFoundException) {
+            message = e.getMessage();
+        } else {
+            log.error("[주문 파이프라인 실패] 요청 {}: {}", job.requestId, e.getMessage(), e);
+            message = "주문 처리 중 오류가 발생했습니다.";
+        }
+        try {
+            redisTemplate.opsForHash().putAll(STATUS_KEY_PREFIX + job.requestId,
+                    Map.of("status", Status.FAILED.name(), "message", message));
+        } catch (RuntimeException statusError) {
+            log.warn("[주문 파이프라인 상태 기록 실패] 요청 {}: {}", job.requestId, statusError.getMessage());
+        }
+    }
+
+    /** 처리 상태 */
+    public enum Status {
+        ACCEPTED,    // 접수
+        VALIDATED,   // 가게 확인 완료
+        PRICED,      // 가격 확정
+        COMPLETED,   // 주문 저장 완료 (orderId 있음)
+        FAILED       // 실패 (message에 사유)
+    }
+
+    /** 상태 조회 응답 */
+    public record OrderRequestStatus(String requestId, Status status, Long orderId, String message) {
+    }
+
+    /** 파이프라인을 따라 이동하는 주문 요청 (한 시점에 한 단계만 다룸) */
+    private static final class Job {
+
+        private final String requestId;
+        private final Long userId;
+        private final Long restaurantId;
+        private final Map<Long, Integer> quantities;
+        private final long acceptedAt;
+        private List<OrderService.PricedItem> items;
+        private Long orderId;
+
+        private Job(String requestId, Long userId, Long restaurantId, Map<Long, Integer> quantities, long acceptedAt) {
+            this.requestId = requestId;
+            this.userId = userId;
+            this.restaurantId = restaurantId;
+            this.quantities = quantities;
+            this.acceptedAt = acceptedAt;
+        }
+    }
+
+    /** 대기열 + 작업 (작업이 끝나면 상태를 기록하고 다음 단계 대기열로 넘김) */
+    private final class Stage {
+
+        private final String name;
+        private final BlockingQueue<Job> queue;
+        private final int workerCount;
+        private final Status doneStatus;
+        private final Consumer<Job> work;
+        private final Stage next;
+        private final List<Thread> workers = new ArrayList<>();
+
+        /** true이면 대기열이 빌 때까지만 처리하고 작업 스레드 종료 */
+        private volatile boolean closing;
+
+        private Stage(String name, int capacity, int workerCount, Status doneStatus, Consumer<Job> work, Stage next) {
+            this.name = name;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.workerCount = workerCount;
+            this.doneStatus = doneStatus;
+            this.work = work;
+            this.next = next;
+        }
+
+        private void startWorkers() {
+            closing = false;
+            workers.clear();
+            for (int i = 1; i <= workerCount; i++) {
+                Thread thread = new Thread(this::run, "order-pipeline-" + name + "-" + i);
+                thread.setDaemon(true);
+                thread.start();
+                workers.add(thread);
+            }
+        }
+
+        /**
+         * 남은 요청을 처리하고 작업 스레드가 끝나기를 deadline까지 기다림 (넘으면 중단)
+         * 중단된 저장 작업은 트랜잭션이 롤백되고 실패로 기록됨
+         */
+        private void drain(long deadline) {
+            closing = true;
+            for (Thread worker : workers) {
+                long remaining = deadline - System.nanoTime();
+                try {
+                    if (remaining > 0) {
+                        TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (worker.isAlive()) {
+                    log.warn("[주문 파이프라인 종료 시간 초과] {} 작업 중단", worker.getName());
+                    worker.interrupt();
+                }
+            }
+        }
+
+        private void run() {
+            while (true) {
+                Job job;
+                try {
+                    job = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (job == null) {
+                    if (closing) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    work.accept(job);
+                } catch (RuntimeException e) {
+                    fail(job, e);
+                    continue;
+                }
+                try {
+                    updateStatus(job, doneStatus);
+                } catch (RuntimeException e) {
+                    // 작업은 끝났으므로 실패로 바꾸지 않음 (다음 단계가 상태를 다시 기록)
+                    log.warn("[주문 파이프라인 상태 기록 실패] 요청 {}: {}", job.requestId, e.getMessage());
+                }
+                if (next == null) {
+                    continue;
+                }
+                try {
+                    // 다음 단계가 밀려 있으면 여기서 기다림 (배압)
+                    next.queue.put(job);
+                } catch (InterruptedException e) {
+                    fail(job, new BusinessException("서버가 종료 중입니다. 다시 주문해주세요."));
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,15 +1,42 @@
 package com.gritmoments.backend.order.service;
 
+import com.gritmoments.backend.common.dto.CursorResponse;
 import com.gritmoments.backend.common.exception.BusinessException;
+import com.gritmoments.backend.common.exception.ConflictException;
 import com.gritmoments.backend.common.exception.ResourceNotFoundException;
+import com.gritmoments.backend.menu.dto.MenuView;
+import com.gritmoments.backend.menu.entity.Menu;
+import com.gritmoments.backend.menu.repository.MenuRepository;
+import com.gritmoments.backend.menu.service.MenuService;
+import com.gritmoments.backend.menu.service.StockReservationService;
+import com.gritmoments.backend.notification.NotificationService;
 import com.gritmoments.backend.order.entity.Order;
+import com.gritmoments.backend.order.entity.OrderItem;
 import com.gritmoments.backend.order.repository.OrderRepository;
+import com.gritmoments.backend.restaurant.repository.RestaurantRepository;
+import com.gritmoments.backend.restaurant.service.RestaurantService;
+import com.gritmoments.backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 주문 서비스 (세션 03: 외부연동, 세션 04: 비동기, 세션 05: 동시성)
@@ -20,7 +47,17 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class OrderService {
 
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
+    private final StockReservationService stockReservationService;
+    private final MenuService menuService;
+    private final MenuRepository menuRepository;
+    private final UserRepository userRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantService restaurantService;
+    private final NotificationService notificationService;
 
     /** 주문 상세 조회 (N+1 방지, 세션 02) */
     public Order getOrder(Long orderId) {
@@ -33,6 +70,31 @@ public class OrderService {
         return orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
     }
 
+    /**
+     * 사용자의 주문 이력 (세션 12: 커서 페이지네이션)
+     *
+     * OFFSET 방식은 깊은 페이지일수록 앞 행을 모두 읽고 버리며 매번 COUNT 쿼리가 추가로 실행됩니다.
+     * 직전 페이지 마지막 주문의 (created_at, id) 다음부터 인덱스를 읽어 size + 1개만 가져옵니다.
+     * (하나 더 읽어서 다음 페이지가 있는지 판단, COUNT 없음)
+     *
+     * @param cursor 직전 응답의 nextCursor (첫 페이지면 null)
+     */
+    public CursorResponse<OrderSummary> getUserOrderHistory(Long userId, String cursor, int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new BusinessException("size는 1 이상 " + MAX_HISTORY_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findRecentByUserId(userId, limit);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            orders = orderRepository.findRecentByUserIdBefore(userId, after.createdAt(), after.id(), limit);
+        }
+        return CursorResponse.of(orders.stream().map(OrderSummary::from).toList(), size,
+                last -> new OrderCursor(last.createdAt(), last.id()).encode());
+    }
+
     /**
      * 멱등키로 기존 주문 확인 (세션 03: 이중 결제 방지)
      * 같은 멱등키의 주문이 이미 존재하면 새 주문을 생성하지 않음
@@ -41,18 +103,241 @@ public class OrderService {
         return orderRepository.findByIdempotencyKey(idempotencyKey).orElse(null);
     }
 
-    /** 주문 저장 */
+    /**
+     * 주문 생성 (세션 02: 쿼리 수 줄이기)
+     *
+     * 장바구니 항목 수와 무관하게 쿼리 수가 일정합니다. (항목마다 findById 하지 않음)
+     * - 메뉴: 가게 메뉴 목록 캐시(menus)에서 이름/가격 확인, 캐시에 없는 메뉴만 findAllById 한 번
+     * - 메뉴, 사용자, 가게는 프록시(getReferenceById)로 연결 -> 외래 키 값만 필요하므로 SELECT 없음
+     * - 사용자 존재 여부는 INSERT 시 외래 키 제약으로 확인
+     *
+     * @param quantities 메뉴 ID -> 수량 (모두 restaurantId 가게의 판매 중인 메뉴여야 함)
+     */
+    @Transactional
+    public Order placeOrder(Long userId, Long restaurantId, Map<Long, Integer> quantities) {
+        return placeOrder(userId, restaurantId, quantities, null);
+    }
+
+    /**
+     * 클라이언트 멱등키로 주문 생성 (세션 03)
+     * 중복 요청은 IdempotencyStore(Redis)에서 걸러지고, 여기서는 멱등키 컬럼의 UNIQUE 제약이 마지막 방어선
+     *
+     * @param idempotencyKey 없으면 서버에서 생성
+     */
+    @Transactional
+    public Order placeOrder(Long userId, Long restaurantId, Map<Long, Integer> quantities, String idempotencyKey) {
+        return placeOrder(userId, restaurantId, priceItems(restaurantId, quantities), idempotencyKey);
+    }
+
+    /**
+     * 가격이 확인된 항목으로 주문 생성 (주문 파이프라인의 저장 단계, 세션 04)
+     *
+     * @param items priceItems 결과
+     */
+    @Transactional
+    public Order placeOrder(Long userId, Long restaurantId, List<PricedItem> items) {
+        return placeOrder(userId, restaurantId, items, null);
+    }
+
+    private Order placeOrder(Long userId, Long restaurantId, List<PricedItem> items, String idempotencyKey) {
+        Order order = buildOrder(userId, restaurantId, items, idempotencyKey);
+        try {
+            Order saved = createOrder(order);
+            // ID를 애플리케이션에서 만들어 INSERT가 커밋까지 미뤄지므로, 제약 조건 위반을 여기서 확인
+            orderRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateKey(e)) {
+                throw new ConflictException("이미 처리된 주문 요청입니다. 멱등키: " + idempotencyKey);
+            }
+            // 메뉴와 가게는 가격 확인 때 확인했으므로 남은 외래 키는 사용자
+            throw new ResourceNotFoundException("User", userId);
+        }
+    }
+
+    /** UNIQUE 제약 위반인지 (MySQL ER_DUP_ENTRY) */
+    private static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY;
+    }
+
+    /** 사용자, 가게, 메뉴를 프록시로 연결한 새 주문 (SELECT 없음) */
+    private Order buildOrder(Long userId, Long restaurantId, List<PricedItem> items, String idempotencyKey) {
+        Order order = Order.builder()
+                .user(userRepository.getReferenceById(userId))
+                .restaurant(restaurantRepository.getReferenceById(restaurantId))
+                .idempotencyKey(idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString())
+                .build();
+        for (PricedItem item : items) {
+            order.addItem(new OrderItem(menuRepository.getReferenceById(item.menuId()),
+                    item.menuName(), item.price(), item.quantity()));
+        }
+        return order;
+    }
+
+    /**
+     * 주문 항목의 메뉴 확인 + 주문 시점 가격 확정 (저장하지 않음)
+     *
+     * @param quantities 메뉴 ID -> 수량
+     * @return 요청 순서대로 이름/가격이 채워진 항목
+     */
+    public List<PricedItem> priceItems(Long restaurantId, Map<Long, Integer> quantities) {
+        validateQuantities(quantities);
+
+        Map<Long, MenuView> cachedMenus = menuService.getMenusByRestaurant(restaurantId).stream()
+                .collect(Collectors.toMap(MenuView::id, Function.identity()));
+        Map<Long, Menu> loadedMenus = loadMenusMissingFromCache(restaurantId, quantities, cachedMenus);
+
+        List<PricedItem> items = new ArrayList<>(quantities.size());
+        quantities.forEach((menuId, quantity) -> {
+            MenuView view = cachedMenus.get(menuId);
+            if (view != null) {
+                items.add(new PricedItem(menuId, view.name(), view.price(), quantity));
+            } else {
+                Menu menu = loadedMenus.get(menuId);
+                items.add(new PricedItem(menuId, menu.getName(), menu.getPrice(), quantity));
+            }
+        });
+        return items;
+    }
+
+    /** 주문 항목이 있고 수량이 모두 1 이상인지 확인 (DB 조회 없음) */
+    public static void validateQuantities(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            throw new BusinessException("주문 항목이 없습니다.");
+        }
+        quantities.forEach((menuId, quantity) -> {
+            if (quantity == null || quantity <= 0) {
+                throw new BusinessException("주문 수량은 1 이상이어야 합니다. 메뉴 ID: " + menuId);
+            }
+        });
+    }
+
+    /** 가격이 확정된 주문 항목 (메뉴 이름/가격은 주문 시점 값) */
+    public record PricedItem(Long menuId, String menuName, Integer price, Integer quantity) {
+    }
+
+    /** 가격까지 확인된 저장 전 주문 (placeOrders 입력) */
+    public record NewOrder(Long userId, Long restaurantId, List<PricedItem> items) {
+    }
+
+    /** placeOrders 결과 (order 또는 error 중 하나) */
+    public record PlacedOrder(Order order, String error) {
+    }
+
+    /**
+     * 주문 이력 항목 (주문 항목은 포함하지 않음 - 상세는 GET /api/orders/{id})
+     * 가게는 프록시의 ID만 사용하므로 추가 조회 없음
+     */
+    public record OrderSummary(Long id, Long restaurantId, Integer totalAmount,
+                               Order.OrderStatus status, LocalDateTime createdAt) {
+
+        static OrderSummary from(Order order) {
+            return new OrderSummary(order.getId(), order.getRestaurant().getId(), order.getTotalAmount(),
+                    order.getStatus(), order.getCreatedAt());
+        }
+    }
+
+    /**
+     * 캐시된 메뉴 목록에 없는 메뉴를 한 번에 조회해 확인
+     * (캐시 갱신 전 메뉴, 다른 가게 메뉴, 판매 중지 메뉴를 구분해 오류 메시지를 만듦)
+     */
+    private Map<Long, Menu> loadMenusMissingFromCache(Long restaurantId, Map<Long, Integer> quantities,
+                                                      Map<Long, MenuView> cachedMenus) {
+        List<Long> missing = quantities.keySet().stream()
+                .filter(menuId -> !cachedMenus.containsKey(menuId))
+                .toList();
+        if (missing.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Menu> menus = menuRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Menu::getId, Function.identity()));
+        for (Long menuId : missing) {
+            Menu menu = menus.get(menuId);
+            if (menu == null) {
+                throw new ResourceNotFoundException("Menu", menuId);
+            }
+            if (!menu.getRestaurant().getId().equals(restaurantId)) {
+                throw new BusinessException("가게 " + restaurantId + "의 메뉴가 아닙니다. 메뉴 ID: " + menuId);
+            }
+            if (!Boolean.TRUE.equals(menu.getIsAvailable())) {
+                throw new BusinessException("판매 중인 메뉴가 아닙니다. 메뉴 ID: " + menuId);
+            }
+        }
+        return menus;
+    }
+
+    /**
+     * 주문 저장 + 재고 예약 (세션 05) + 주문 생성 이벤트 기록 (세션 04)
+     * 재고가 부족하면 주문도 저장하지 않음, 저장이 롤백되면 예약과 이벤트도 남지 않음
+     * 멱등키 중복은 조회하지 않고 IdempotencyStore와 UNIQUE 제약에 맡김 (세션 03)
+     */
     @Transactional
     public Order createOrder(Order order) {
-        // 멱등키 중복 확인
-        if (order.getIdempotencyKey() != null) {
-            Order existing = findByIdempotencyKey(order.getIdempotencyKey());
-            if (existing != null) {
-                log.warn("중복 주문 요청 감지. 멱등키: {}", order.getIdempotencyKey());
-                return existing;
+        Order saved = orderRepository.save(order);
+        reserveAndRecord(saved);
+        return saved;
+    }
+
+    /**
+     * 여러 주문을 한 트랜잭션으로 저장 (세션 02: 배치 INSERT, BulkOrderService)
+     *
+     * 주문 ID는 애플리케이션에서 만들므로(@SnowflakeId) persist 시점에 INSERT가 나가지 않고,
+     * 커밋 시 orders / order_items / outbox_events가 각각 batch_size개씩 묶여 전송됩니다.
+     * (항목마다 멱등키 조회를 하지 않음 - 조회가 끼면 그때마다 flush되어 묶음이 깨짐)
+     *
+     * 재고가 부족한 주문은 저장을 취소하고 사유를 돌려줍니다. (나머지 주문은 그대로 저장)
+     *
+     * @return 입력 순서대로 저장된 주문 또는 실패 사유
+     */
+    @Transactional
+    public List<PlacedOrder> placeOrders(List<NewOrder> newOrders) {
+        List<PlacedOrder> placed = new ArrayList<>(newOrders.size());
+        for (NewOrder newOrder : newOrders) {
+            Order order = buildOrder(newOrder.userId(), newOrder.restaurantId(), newOrder.items(), null);
+            Order saved = orderRepository.save(order);
+            try {
+                reserveAndRecord(saved);
+                placed.add(new PlacedOrder(saved, null));
+            } catch (BusinessException e) {
+                // ID만 할당된 상태 -> 커밋 시 INSERT 후 DELETE로 정리됨 (재고 부족 주문에만 발생)
+                orderRepository.delete(saved);
+                placed.add(new PlacedOrder(null, e.getMessage()));
             }
         }
-        return orderRepository.save(order);
+        return placed;
+    }
+
+    /** 저장된 주문의 재고 예약 + 주문 생성 이벤트 기록 (트랜잭션이 롤백되면 예약 해제) */
+    private void reserveAndRecord(Order saved) {
+        Long orderId = saved.getId();
+        stockReservationService.reserve(orderId, quantitiesOf(saved));
+        // 예약 직후 등록해야 아래 단계에서 예외가 나도 롤백 시 예약이 해제됨
+        afterCompletion(committed -> {
+            if (!committed) {
+                stockReservationService.release(orderId);
+            }
+        });
+        try {
+            // 알림 이벤트는 같은 트랜잭션으로 아웃박스에 기록 (발행은 OutboxRelay, 세션 04)
+            // 가게 이름은 캐시에서 (프록시의 getId()는 SELECT 없음)
+            String restaurantName = restaurantService.getRestaurant(saved.getRestaurant().getId()).getName();
+            notificationService.recordOrderCreatedEvent(
+                    orderId, saved.getUser().getId(), restaurantName, saved.getTotalAmount());
+        } catch (RuntimeException e) {
+            // placeOrders는 이 주문만 빼고 커밋하므로 롤백을 기다리지 않고 바로 해제 (중복 해제는 무시됨)
+            stockReservationService.release(orderId);
+            throw e;
+        }
+    }
+
+    /** 메뉴 ID -> 주문 수량 (같은 메뉴가 여러 항목이면 합산) */
+    public static Map<Long, Integer> quantitiesOf(Order order) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : order.getItems()) {
+            quantities.merge(item.getMenu().getId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
     }
 
     /** 주문 상태 변경 */
@@ -66,9 +351,47 @@ public class OrderService {
             case PREPARING -> order.markAsPreparing();
             case DELIVERING -> order.markAsDelivering();
             case COMPLETED -> order.markAsCompleted();
-            case CANCELLED -> order.cancel();
+            case CANCELLED -> {
+                boolean paid = order.getStatus() == Order.OrderStatus.PAID
+                        || order.getStatus() == Order.OrderStatus.PREPARING;
+                order.cancel();
+                // 커밋 후 재고를 되돌림: 예약이 남아 있으면 해제, 결제 후 확정된 재고면 확정 기록으로 되돌림
+                afterCompletion(committed -> {
+                    if (committed && !stockReservationService.release(orderId) && paid) {
+                        stockReservationService.restoreConfirmed(orderId);
+                    }
+                });
+            }
             default -> throw new BusinessException("지원하지 않는 상태 변경: " + newStatus);
         }
         return order;
     }
+
+    /**
+     * 예약이 만료된 결제 대기 주문 취소 (ReservationExpiryScheduler)
+     *
+     * @return 취소했으면 true
+     */
+    @Transactional
+    public boolean cancelExpiredOrder(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        // 만료 처리 중 결제가 시작되어 다시 예약된 주문은 그대로 둠
+        if (order == null || order.getStatus() != Order.OrderStatus.PENDING
+                || stockReservationService.isReserved(orderId)) {
+            return false;
+        }
+        order.cancel();
+        log.info("[주문 자동 취소] 주문 ID: {} (재고 예약 만료)", orderId);
+        return true;
+    }
+
+    /** 트랜잭션이 끝난 뒤 실행 (인자: 커밋 여부) */
+    private static void afterCompletion(Consumer<Boolean> action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
 }
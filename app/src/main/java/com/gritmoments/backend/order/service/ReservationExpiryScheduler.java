@@ -0,0 +1,95 @@
+package com.gritmoments.backend.order.service;
+
+import com.gritmoments.backend.menu.service.StockReservationService;
+import com.gritmoments.backend.order.entity.Order;
+import com.gritmoments.backend.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 만료된 재고 예약 처리 (세션 05: 동시성)
+ *
+ * stock.reservation.sweep-interval마다 만료 시각이 지난 예약을 만료 순서대로 가져와 처리합니다.
+ * - 결제 대기(PENDING) 주문: 재고를 되돌리고 주문 취소
+ * - 이미 결제된 주문: 결제 커밋 후 확정 전에 서버가 죽은 경우이므로 예약을 확정
+ * - 취소되었거나 없는 주문: 재고만 되돌림
+ *
+ * 여러 노드가 같은 예약을 동시에 처리해도 해제/확정 스크립트는 한 번만 성공합니다.
+ *
+ * 처리에 실패한 예약은 건너뛰고 다음 예약을 계속 처리합니다. (하나가 만료 목록 앞을 막지 않도록)
+ * 실패한 예약은 expiry-retry-delay x 실패 횟수만큼 뒤로 미뤄 다시 시도하고,
+ * expiry-max-attempts번 실패하면 stock:reservations:failed로 격리합니다. (stock.reservations{result=quarantined})
+ */
+@Component
+@Slf4j
+public class ReservationExpiryScheduler {
+
+    private final StockReservationService stockReservationService;
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+
+    public ReservationExpiryScheduler(StockReservationService stockReservationService,
+                                      OrderRepository orderRepository,
+                                      OrderService orderService,
+                                      @Value("${stock.reservation.sweep-batch-size:100}") int batchSize,
+                                      @Value("${stock.reservation.expiry-retry-delay:PT10S}") Duration retryDelay,
+                                      @Value("${stock.reservation.expiry-max-attempts:5}") int maxAttempts) {
+        if (batchSize <= 0 || maxAttempts <= 0 || retryDelay.isNegative() || retryDelay.isZero()) {
+            // 재시도 간격이 0이면 실패한 예약이 만료 목록 앞에 남아 같은 주기 안에서 계속 다시 조회됨
+            throw new IllegalArgumentException(
+                    "stock.reservation.sweep-batch-size, expiry-retry-delay, expiry-max-attempts는 0보다 커야 합니다.");
+        }
+        this.stockReservationService = stockReservationService;
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${stock.reservation.sweep-interval:PT1S}")
+    public void sweep() {
+        List<Long> expired;
+        do {
+            expired = stockReservationService.findExpired(batchSize);
+            for (Long orderId : expired) {
+                try {
+                    expire(orderId);
+                } catch (RuntimeException e) {
+                    log.warn("[재고 예약 만료 처리 실패] 주문 {}: {}", orderId, e.getMessage());
+                    recordFailure(orderId);
+                }
+            }
+        } while (expired.size() == batchSize);
+    }
+
+    /** 실패한 예약을 뒤로 미루거나 격리 (Redis 장애로 기록도 실패하면 다음 주기에 다시 처리) */
+    private void recordFailure(Long orderId) {
+        try {
+            stockReservationService.recordExpiryFailure(orderId, retryDelay, maxAttempts);
+        } catch (RuntimeException e) {
+            log.warn("[재고 예약 만료 실패 기록 실패] 주문 {}: {}", orderId, e.getMessage());
+        }
+    }
+
+    private void expire(Long orderId) {
+        Order.OrderStatus status = orderRepository.findById(orderId)
+                .map(Order::getStatus)
+                .orElse(null);
+        if (status != null && status != Order.OrderStatus.PENDING && status != Order.OrderStatus.CANCELLED) {
+            stockReservationService.confirm(orderId);
+            return;
+        }
+        if (stockReservationService.releaseIfExpired(orderId) && status == Order.OrderStatus.PENDING) {
+            orderService.cancelExpiredOrder(orderId);
+        }
+    }
+}
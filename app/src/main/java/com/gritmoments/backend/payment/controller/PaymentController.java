@@ -1,6 +1,7 @@
 package com.gritmoments.backend.payment.controller;
 
 import com.gritmoments.backend.common.dto.ApiResponse;
+import com.gritmoments.backend.common.idempotency.IdempotencyStore;
 import com.gritmoments.backend.payment.entity.Payment;
 import com.gritmoments.backend.payment.service.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * 결제 요청 (세션 03: 멱등성 보장)
@@ -33,13 +35,20 @@ public class PaymentController {
      */
     @PostMapping
     @Operation(summary = "결제 요청", description = "주문에 대한 결제를 요청합니다. 멱등키로 중복 결제를 방지합니다.")
-    public ResponseEntity<ApiResponse<Payment>> requestPayment(@RequestBody PaymentRequest request) {
-        Payment payment = paymentService.requestPayment(
-                request.orderId(),
-                request.amount(),
-                request.idempotencyKey()
-        );
-        return ResponseEntity.ok(ApiResponse.ok(payment));
+    public ResponseEntity<?> requestPayment(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKeyHeader,
+            @RequestBody PaymentRequest request) {
+        // Idempotency-Key 헤더가 있으면 본문의 멱등키보다 우선
+        String idempotencyKey = idempotencyKeyHeader != null ? idempotencyKeyHeader : request.idempotencyKey();
+        // 같은 멱등키로 이미 완료된 결제는 Redis에 저장된 응답을 그대로 반환 (MySQL 조회 없음)
+        return idempotencyStore.execute("payment", idempotencyKey, request, () -> {
+            Payment payment = paymentService.requestPayment(
+                    request.orderId(),
+                    request.amount(),
+                    idempotencyKey
+            );
+            return ResponseEntity.ok(ApiResponse.ok(payment));
+        });
     }
 
     /**
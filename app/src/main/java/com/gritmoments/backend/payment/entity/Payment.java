@@ -1,6 +1,7 @@
 package com.gritmoments.backend.payment.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.gritmoments.backend.common.id.SnowflakeId;
 import com.gritmoments.backend.order.entity.Order;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -26,8 +27,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Payment {
 
+    /** 시간순 ID (세션 02: 배치 INSERT, Order 참고) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @JsonIgnore
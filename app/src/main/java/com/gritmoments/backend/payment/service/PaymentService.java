@@ -1,9 +1,12 @@
 package com.gritmoments.backend.payment.service;
 
 import com.gritmoments.backend.common.exception.BusinessException;
+import com.gritmoments.backend.common.exception.ConflictException;
 import com.gritmoments.backend.common.exception.ResourceNotFoundException;
+import com.gritmoments.backend.menu.service.StockReservationService;
 import com.gritmoments.backend.order.entity.Order;
 import com.gritmoments.backend.order.repository.OrderRepository;
+import com.gritmoments.backend.order.service.OrderService;
 import com.gritmoments.backend.payment.entity.Payment;
 import com.gritmoments.backend.payment.repository.PaymentRepository;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -11,20 +14,25 @@ import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.Map;
 
 /**
  * 결제 서비스 (세션 03: 외부 API 연동)
  *
  * 외부 PG(Payment Gateway)와 연동하여 결제를 처리합니다.
- * - 멱등키(Idempotency Key): 동일 요청의 중복 결제 방지
+ * - 멱등키(Idempotency Key): 동일 요청의 중복 결제 방지 (Redis IdempotencyStore + UNIQUE 제약)
  * - Resilience4j: 서킷 브레이커와 재시도로 장애 대응
  * - RestTemplate: 외부 PG API 호출 (타임아웃 설정 포함)
  * - 트랜잭션 관리: 결제 실패 시 롤백
+ * - 재고 예약: PG 호출 전 예약 연장, 결제 커밋 후 예약 확정 (세션 05)
  */
 @Service
 @RequiredArgsConstructor
@@ -35,10 +43,15 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
     private final RestTemplate restTemplate;
+    private final StockReservationService stockReservationService;
 
     @Value("${mock-pg.url}")
     private String mockPgUrl;
 
+    /** PG 호출 전에 재고 예약을 연장하는 시간 (PG 응답을 기다리는 동안 만료되지 않도록) */
+    @Value("${stock.reservation.payment-hold:PT2M}")
+    private Duration paymentHold;
+
     /**
      * 결제 요청 (세션 03: 멱등성 보장 + 외부 PG 연동)
      *
@@ -53,13 +66,8 @@ public class PaymentService {
     public Payment requestPayment(Long orderId, Integer amount, String idempotencyKey) {
         log.info("[결제 요청 시작] 주문 ID: {}, 금액: {}, 멱등키: {}", orderId, amount, idempotencyKey);
 
-        // 1. 멱등성 체크: 같은 멱등키로 이미 결제가 진행된 경우 기존 결제 반환
-        Payment existingPayment = paymentRepository.findByIdempotencyKey(idempotencyKey)
-                .orElse(null);
-        if (existingPayment != null) {
-            log.warn("[중복 결제 감지] 멱등키: {}, 기존 결제 ID: {}", idempotencyKey, existingPayment.getId());
-            return existingPayment;
-        }
+        // 1. 멱등성: 중복 요청은 컨트롤러의 IdempotencyStore(Redis)에서 걸러짐 (DB 조회 없음)
+        //    Redis를 지나친 중복은 5번 저장 시 멱등키 UNIQUE 제약으로 막힘
 
         // 2. 주문 조회
         Order order = orderRepository.findById(orderId)
@@ -70,20 +78,34 @@ public class PaymentService {
             throw new BusinessException("결제 가능한 주문이 아닙니다. 현재 상태: " + order.getStatus());
         }
 
-        // 4. 결제 엔티티 생성 (PENDING 상태)
+        // 4. 재고 예약 연장 (예약이 없으면 지금 예약, 재고가 없으면 PG를 호출하지 않고 중단)
+        //    주문 생성 전부터 있던 주문이나, 만료 직후 아직 자동 취소되지 않은 주문
+        if (!stockReservationService.extend(orderId, paymentHold)) {
+            stockReservationService.reserve(orderId, OrderService.quantitiesOf(order));
+        }
+
+        // 5. 결제 엔티티 생성 (PENDING 상태)
         Payment payment = Payment.builder()
                 .order(order)
                 .amount(amount)
                 .idempotencyKey(idempotencyKey)
                 .build();
-        payment = paymentRepository.save(payment);
+        try {
+            // ID를 애플리케이션에서 만들어 INSERT가 커밋까지 미뤄지므로 바로 flush
+            // -> 중복 결제는 PG를 호출하기 전에 UNIQUE 제약에서 실패
+            payment = paymentRepository.saveAndFlush(payment);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("[중복 결제 감지] 멱등키: {}", idempotencyKey);
+            throw new ConflictException("이미 처리된 결제 요청입니다. 멱등키: " + idempotencyKey);
+        }
         log.info("[결제 엔티티 생성] Payment ID: {}, 상태: PENDING", payment.getId());
 
-        // 5. 외부 PG(Payment Gateway) 호출 (세션 03: 외부 API 연동)
+        // 6. 외부 PG(Payment Gateway) 호출 (세션 03: 외부 API 연동)
         try {
             String pgTransactionId = callExternalPG(orderId, amount, idempotencyKey);
             payment.markAsSuccess(pgTransactionId);
             order.markAsPaid(); // 주문 상태를 PAID로 변경
+            confirmReservationAfterCommit(orderId);
             log.info("[결제 성공] Payment ID: {}, PG 트랜잭션 ID: {}", payment.getId(), pgTransactionId);
         } catch (Exception e) {
             payment.markAsFailed();
@@ -94,6 +116,19 @@ public class PaymentService {
         return payment;
     }
 
+    /**
+     * 결제가 커밋된 뒤 재고 예약 확정
+     * (확정 전에 서버가 죽으면 예약 만료 처리에서 결제된 주문으로 보고 확정)
+     */
+    private void confirmReservationAfterCommit(Long orderId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stockReservationService.confirm(orderId);
+            }
+        });
+    }
+
     /**
      * 결제 상태 조회
      */
@@ -161,6 +196,10 @@ public class PaymentService {
      * - 결제를 FAILED 상태로 저장하여 나중에 수동 처리 가능
      */
     private Payment paymentFallback(Long orderId, Integer amount, String idempotencyKey, Exception e) {
+        if (e instanceof ConflictException conflict) {
+            // 중복 요청은 PG 장애가 아님 -> 실패 결제를 남기지 않음
+            throw conflict;
+        }
         log.error("[서킷 브레이커 동작] PG 시스템 장애 - 주문 ID: {}, 사유: {}", orderId, e.getMessage());
 
         // 주문 조회
@@ -1,6 +1,7 @@
 package com.gritmoments.backend.restaurant.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.gritmoments.backend.common.cache.CatalogEntityListener;
 import com.gritmoments.backend.user.entity.User;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -16,8 +17,10 @@ import java.time.LocalDateTime;
  * 음식을 판매하는 가게 정보입니다.
  * - 가게 주인(OWNER)이 등록
  * - 캐시 적용 대상 (자주 조회되지만 변경은 드물기 때문)
+ * - 생성 시 네거티브 캐시("없음" 표시, ID 필터) 갱신 (CatalogEntityListener)
  */
 @Entity
+@EntityListeners(CatalogEntityListener.class)
 @Table(name = "restaurants", indexes = {
         @Index(name = "idx_restaurants_owner", columnList = "owner_id"),
         @Index(name = "idx_restaurants_category", columnList = "category")
@@ -4,6 +4,9 @@ import com.gritmoments.backend.restaurant.entity.Restaurant;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 /**
  * 가게 리포지토리 (세션 02: Spring Data JPA, 세션 12: 페이지네이션)
@@ -15,4 +18,8 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
     /** 영업 중인 가게 목록 */
     Page<Restaurant> findByIsOpenTrue(Pageable pageable);
+
+    /** 전체 가게 ID (존재하는 ID 필터 재구성용, PK 인덱스만 읽음) */
+    @Query("SELECT r.id FROM Restaurant r")
+    List<Long> findAllIds();
 }
@@ -1,5 +1,6 @@
 package com.gritmoments.backend.restaurant.service;
 
+import com.gritmoments.backend.common.cache.ExistingIdFilter;
 import com.gritmoments.backend.common.exception.ResourceNotFoundException;
 import com.gritmoments.backend.restaurant.entity.Restaurant;
 import com.gritmoments.backend.restaurant.repository.RestaurantRepository;
@@ -21,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class RestaurantService {
 
     private final RestaurantRepository restaurantRepository;
+    private final ExistingIdFilter existingIdFilter;
 
     /**
      * 가게 목록 조회 (페이지네이션, 세션 12)
@@ -38,9 +40,15 @@ public class RestaurantService {
 
     /**
      * 가게 상세 조회 (세션 01: 캐시 적용)
+     * sync = true: 같은 가게의 동시 미스는 한 번만 DB 조회 (캐시 스탬피드 방지)
+     * 없는 가게: ID 필터에 없으면 DB 조회 생략, 예외는 "없음" 표시로 잠시 캐싱 (네거티브 캐싱)
+     * 필터가 놓친 가게(ExistingIdFilter 참고)도 다음 재구성까지 404 - 캐싱은 cache.negative-ttl 동안만
      */
-    @Cacheable(value = "restaurants", key = "#id")
+    @Cacheable(value = "restaurants", key = "#id", sync = true)
     public Restaurant getRestaurant(Long id) {
+        if (!existingIdFilter.mightContainRestaurant(id)) {
+            throw new ResourceNotFoundException("Restaurant", id);
+        }
         log.info("[DB 조회] 가게 {} 상세 - 캐시 미스(MISS)", id);
         return restaurantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant", id));
@@ -0,0 +1,26 @@
+package com.gritmoments.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * 벤치마크 진입점
+ *
+ * 사용법: ./gradlew :benchmark:run --args="<이름>"
+ *   serializer : 캐시 값 직렬화기 비교 (JSON vs 바이너리 vs 바이너리+LZ4)
+ *   stock      : 재고 차감 방식 비교 (잠금 없음, 비관적 잠금, 분산 락, 입장 대기열 등)
+ *                옵션은 key=value로 뒤에 붙임 (StockBenchmark 참고)
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        String name = args.length > 0 ? args[0] : "serializer";
+        switch (name) {
+            case "serializer" -> SerializerBenchmark.run();
+            case "stock" -> StockBenchmark.run(Arrays.copyOfRange(args, 1, args.length));
+            default -> {
+                System.err.println("알 수 없는 벤치마크: " + name);
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.gritmoments.benchmark;
+
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Redisson 분산 락을 흉내 내는 메모리 구현 (Redis 서버 없이 락 경합 측정용)
+ *
+ * Redisson RLock의 동작 중 성능에 영향을 주는 부분만 따라 합니다.
+ * - 락 획득 시도, 해제는 Redis 명령 한 번 (redisLatency만큼 왕복 지연)
+ * - 획득 실패 시 해제 알림(pub/sub)을 기다렸다가 다시 시도, 알림 한 번에 대기자 하나가 깨어남
+ * - 점유 시간(lease)이 지나면 다른 스레드가 가져갈 수 있음
+ * - 같은 스레드의 재진입 허용
+ *
+ * 실행 중 보낸 Redis 명령 수를 세어, 로컬 락이 Redis 트래픽을 얼마나 줄이는지 비교합니다.
+ */
+final class InMemoryRedisLock {
+
+    private final long latencyNanos;
+    private final ConcurrentMap<String, LockState> locks = new ConcurrentHashMap<>();
+    private final LongAdder commands = new LongAdder();
+
+    InMemoryRedisLock(long latencyNanos) {
+        this.latencyNanos = latencyNanos;
+    }
+
+    long commands() {
+        return commands.sum();
+    }
+
+    /** app 코드(StripedDistributedLock 등)에 넘길 RedissonClient (getLock만 지원) */
+    RedissonClient asRedissonClient() {
+        return (RedissonClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{RedissonClient.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getLock" -> asRLock((String) args[0]);
+                    case "toString" -> "InMemoryRedisLock";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private RLock asRLock(String name) {
+        return (RLock) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{RLock.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "tryLock" -> {
+                        if (args == null || args.length != 3) {
+                            throw new UnsupportedOperationException("tryLock(waitTime, leaseTime, unit)만 지원");
+                        }
+                        TimeUnit unit = (TimeUnit) args[2];
+                        yield tryLock(name, unit.toNanos((Long) args[0]), unit.toNanos((Long) args[1]));
+                    }
+                    case "isHeldByCurrentThread" -> isHeldByCurrentThread(name);
+                    case "unlock" -> {
+                        unlock(name);
+                        yield null;
+                    }
+                    case "getName" -> name;
+                    case "toString" -> "RLock(" + name + ")";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * 락 획득 (waitNanos 안에 얻지 못하면 false)
+     */
+    boolean tryLock(String name, long waitNanos, long leaseNanos) throws InterruptedException {
+        LockState state = locks.computeIfAbsent(name, key -> new LockState());
+        long deadline = System.nanoTime() + waitNanos;
+        while (true) {
+            long seenReleases;
+            synchronized (state) {
+                seenReleases = state.releases;
+            }
+            roundTrip();
+            long ttl = state.tryAcquire(Thread.currentThread(), leaseNanos);
+            if (ttl < 0) {
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            // 해제 알림 또는 현재 점유 시간 만료까지 대기
+            state.awaitRelease(seenReleases, Math.min(remaining, ttl));
+        }
+    }
+
+    boolean isHeldByCurrentThread(String name) {
+        LockState state = locks.get(name);
+        return state != null && state.isHeldBy(Thread.currentThread());
+    }
+
+    void unlock(String name) {
+        LockState state = locks.get(name);
+        if (state == null) {
+            throw new IllegalMonitorStateException("잠기지 않은 락: " + name);
+        }
+        roundTrip();
+        state.release(Thread.currentThread());
+    }
+
+    private void roundTrip() {
+        commands.increment();
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+    }
+
+    private static final class LockState {
+
+        private Thread owner;
+        private int holds;
+        private long expiresAt;
+        private long releases;
+
+        /** @return -1(획득) 또는 현재 점유자의 남은 점유 시간 */
+        synchronized long tryAcquire(Thread thread, long leaseNanos) {
+            long now = System.nanoTime();
+            if (owner != null && owner != thread && now - expiresAt >= 0) {
+                // 점유 시간 만료 (Redis 키 TTL 만료와 같음)
+                owner = null;
+                holds = 0;
+            }
+            if (owner == null || owner == thread) {
+                owner = thread;
+                holds++;
+                expiresAt = now + leaseNanos;
+                return -1L;
+            }
+            return Math.max(1L, expiresAt - now);
+        }
+
+        synchronized void awaitRelease(long seenReleases, long maxNanos) throws InterruptedException {
+            if (releases != seenReleases) {
+                return;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, maxNanos);
+        }
+
+        synchronized boolean isHeldBy(Thread thread) {
+            return owner == thread && System.nanoTime() - expiresAt < 0;
+        }
+
+        synchronized void release(Thread thread) {
+            if (owner != thread) {
+                throw new IllegalMonitorStateException("현재 스레드가 점유한 락이 아닙니다.");
+            }
+            if (--holds == 0) {
+                owner = null;
+                releases++;
+                // Redisson: 해제 메시지 한 번에 대기자 하나를 깨움
+                notify();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.gritmoments.benchmark;
+
+import com.gritmoments.backend.menu.dto.MenuView;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 시드 데이터(infra/init-scripts/02-seed-data.sql)의 메뉴를 읽어옴
+ *
+ * DB 없이 실제 서비스와 같은 모양의 데이터로 측정하기 위해 사용합니다.
+ * (ID는 DB가 채우는 값이므로 INSERT 순서대로 부여)
+ */
+final class SeedMenus {
+
+    private static final Path SEED_FILE = Path.of("infra", "init-scripts", "02-seed-data.sql");
+
+    /** (restaurant_id, 'name', 'description', price, stock) */
+    private static final Pattern MENU_ROW = Pattern.compile(
+            "\\((\\d+),\\s*'([^']*)',\\s*'([^']*)',\\s*(\\d+),\\s*(\\d+)\\)");
+
+    private SeedMenus() {
+    }
+
+    /** 가게 ID -> 메뉴 목록 (MenuService.getMenusByRestaurant 캐시 값과 같은 모양) */
+    static Map<Long, List<MenuView>> loadByRestaurant() throws IOException {
+        String sql = Files.readString(SEED_FILE, StandardCharsets.UTF_8);
+        Map<Long, List<MenuView>> menus = new LinkedHashMap<>();
+        long nextId = 1;
+
+        for (String statement : sql.split(";")) {
+            if (!statement.contains("INSERT INTO menus")) {
+                continue;
+            }
+            Matcher row = MENU_ROW.matcher(statement);
+            while (row.find()) {
+                long restaurantId = Long.parseLong(row.group(1));
+                MenuView menu = new MenuView(nextId++, restaurantId, row.group(2), row.group(3),
+                        Integer.parseInt(row.group(4)), Integer.parseInt(row.group(5)), true);
+                menus.computeIfAbsent(restaurantId, id -> new ArrayList<>()).add(menu);
+            }
+        }
+
+        if (menus.isEmpty()) {
+            throw new IllegalStateException(SEED_FILE + "에서 메뉴를 찾지 못했습니다. 프로젝트 루트에서 실행하세요.");
+        }
+        return menus;
+    }
+}
@@ -0,0 +1,119 @@
+package com.gritmoments.benchmark;
+
+import com.gritmoments.backend.common.cache.CacheEntry;
+import com.gritmoments.backend.common.cache.CompactRedisSerializer;
+import com.gritmoments.backend.common.config.RedisConfig;
+import com.gritmoments.backend.menu.dto.MenuView;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캐시 값 직렬화기 비교 (세션 01: 캐시)
+ *
+ * 시드 메뉴로 menus 캐시에 실제 저장되는 값(CacheEntry + List<MenuView>)을 만들어
+ * 항목당 바이트 수와 인코딩/디코딩 시간을 비교합니다.
+ *
+ * - 가게별 메뉴: 시드 데이터 그대로 (가게당 4~5개)
+ * - 큰 메뉴 목록: 시드 메뉴 전체를 20번 반복 (메뉴가 많은 가게, LZ4 압축 효과 확인용)
+ *
+ * JIT 워밍업 후 단순 반복 측정이므로 절대값보다는 직렬화기 간 상대 비교로 봐주세요.
+ */
+final class SerializerBenchmark {
+
+    /** 측정 반복 횟수 (워밍업은 이 값의 1/5) */
+    private static final int SMALL_ITERATIONS = 50_000;
+    private static final int LARGE_ITERATIONS = 2_000;
+
+    /** 최적화로 측정 코드가 제거되지 않도록 결과를 모아두는 곳 */
+    private static long sink;
+
+    private SerializerBenchmark() {
+    }
+
+    static void run() throws Exception {
+        Map<Long, List<MenuView>> menusByRestaurant = SeedMenus.loadByRestaurant();
+
+        List<Object> perRestaurant = new ArrayList<>();
+        List<MenuView> allMenus = new ArrayList<>();
+        menusByRestaurant.values().forEach(menus -> {
+            perRestaurant.add(new CacheEntry(menus, System.currentTimeMillis()));
+            allMenus.addAll(menus);
+        });
+        List<MenuView> largeMenus = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            largeMenus.addAll(allMenus);
+        }
+        List<Object> large = List.of(new CacheEntry(largeMenus, System.currentTimeMillis()));
+
+        Map<String, RedisSerializer<Object>> serializers = new LinkedHashMap<>();
+        serializers.put("json (기존)", RedisConfig.jsonRedisSerializer());
+        serializers.put("compact", new CompactRedisSerializer(RedisConfig.jsonRedisSerializer(), Integer.MAX_VALUE));
+        serializers.put("compact+lz4", new CompactRedisSerializer(RedisConfig.jsonRedisSerializer(), 512));
+
+        System.out.printf("시드 메뉴 %d개 (가게 %d곳)%n%n", allMenus.size(), menusByRestaurant.size());
+        report("가게별 메뉴 목록", perRestaurant, serializers, SMALL_ITERATIONS);
+        report("큰 메뉴 목록 (" + largeMenus.size() + "개)", large, serializers, LARGE_ITERATIONS);
+    }
+
+    private static void report(String title, List<Object> values,
+                               Map<String, RedisSerializer<Object>> serializers, int iterations) {
+        System.out.println("== " + title + " ==");
+        System.out.printf("%-14s %12s %14s %14s%n", "직렬화기", "바이트/항목", "인코딩 ns/op", "디코딩 ns/op");
+
+        for (Map.Entry<String, RedisSerializer<Object>> entry : serializers.entrySet()) {
+            RedisSerializer<Object> serializer = entry.getValue();
+            List<byte[]> encoded = values.stream().map(serializer::serialize).toList();
+            verifyRoundTrip(values, encoded, serializer);
+
+            long totalBytes = encoded.stream().mapToLong(bytes -> bytes.length).sum();
+
+            measureEncode(values, serializer, iterations / 5);
+            double encodeNanos = measureEncode(values, serializer, iterations);
+            measureDecode(encoded, serializer, iterations / 5);
+            double decodeNanos = measureDecode(encoded, serializer, iterations);
+
+            System.out.printf("%-14s %12d %14.0f %14.0f%n",
+                    entry.getKey(), totalBytes / values.size(), encodeNanos, decodeNanos);
+        }
+        System.out.println();
+    }
+
+    private static double measureEncode(List<Object> values, RedisSerializer<Object> serializer, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (Object value : values) {
+                sink += serializer.serialize(value).length;
+            }
+        }
+        return (double) (System.nanoTime() - start) / ((long) iterations * values.size());
+    }
+
+    private static double measureDecode(List<byte[]> encoded, RedisSerializer<Object> serializer, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (byte[] bytes : encoded) {
+                sink += serializer.deserialize(bytes).hashCode() & 1;
+            }
+        }
+        return (double) (System.nanoTime() - start) / ((long) iterations * encoded.size());
+    }
+
+    /** 디코딩 결과가 원본과 같은 메뉴인지 확인 */
+    @SuppressWarnings("unchecked")
+    private static void verifyRoundTrip(List<Object> values, List<byte[]> encoded, RedisSerializer<Object> serializer) {
+        for (int i = 0; i < values.size(); i++) {
+            List<MenuView> expected = (List<MenuView>) ((CacheEntry) values.get(i)).getValue();
+            List<MenuView> actual = (List<MenuView>) ((CacheEntry) serializer.deserialize(encoded.get(i))).getValue();
+            if (expected.size() != actual.size()) {
+                throw new IllegalStateException("메뉴 개수가 다릅니다: " + expected.size() + " != " + actual.size());
+            }
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("디코딩 결과가 원본과 다릅니다: " + actual);
+            }
+        }
+    }
+}
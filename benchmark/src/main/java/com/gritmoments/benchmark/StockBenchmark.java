@@ -0,0 +1,576 @@
+package com.gritmoments.benchmark;
+
+import com.gritmoments.backend.common.exception.BusinessException;
+import com.gritmoments.backend.common.lock.StripedDistributedLock;
+import com.gritmoments.backend.menu.repository.MenuRepository;
+import com.gritmoments.backend.menu.service.StockAdmissionQueue;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 재고 차감 방식 비교 (세션 05: 동시성)
+ *
+ * MySQL/Redis 없이 H2(메모리 DB, MySQL 모드)와 메모리 Redis 락(InMemoryRedisLock)으로
+ * 같은 구매 요청 묶음을 방식별로 실행하고 처리량, 지연 시간, 정합성을 비교합니다.
+ *
+ *   none        : 잠금 없음 (SELECT 후 UPDATE stock = ?) - 경쟁 상태 재현용
+ *   pessimistic : SELECT ... FOR UPDATE (PessimisticLockOrderService 방법 1)
+ *   conditional : UPDATE ... WHERE stock >= ? (MenuService.decreaseStockConditional)
+ *   distributed : 분산 락 + 트랜잭션 (PessimisticLockOrderService 방법 2, LimitedStockPurchaseService)
+ *   striped     : 로컬 락 + 분산 락 (StripedDistributedLock, 방법 3)
+ *   queued      : 입장 대기열 (StockAdmissionQueue, LimitedStockPurchaseService 심화)
+ *
+ * 옵션 (key=value):
+ *   strategies=all      쉼표로 구분한 방식 이름
+ *   threads=64          동시 요청 수 (요청 스레드 수)
+ *   virtual=false       true면 가상 스레드로 요청
+ *   requests=20000      전체 구매 요청 수
+ *   items=10            메뉴 수
+ *   skew=0.8            가장 인기 있는 메뉴로 가는 요청 비율 (나머지는 메뉴 전체에 고르게)
+ *   stock=1000          메뉴당 초기 재고
+ *   redis-latency-us=100  Redis 명령 1회 왕복 시간
+ *   pool=20             DB 커넥션 풀 크기
+ *
+ * 결과 열:
+ *   과다판매: 성공 응답을 받았지만 DB 재고에서 빠지지 않은 수량 (성공 수량 - 실제 차감량)
+ *   락 대기: 요청당 평균 락(또는 행 잠금, 대기열) 대기 시간
+ *   Redis 명령: 락 획득 시도 + 해제 명령 수
+ *
+ * H2는 MySQL보다 훨씬 빠르고 네트워크도 없으므로, 절대값보다는 방식 간 상대 비교로 봐주세요.
+ */
+final class StockBenchmark {
+
+    private static final List<String> ALL_STRATEGIES =
+            List.of("none", "pessimistic", "conditional", "distributed", "striped", "queued");
+
+    private static final String LOCK_PREFIX = "lock:menu:";
+    private static final long WAIT_SECONDS = 5L;
+    private static final long LEASE_SECONDS = 3L;
+
+    private StockBenchmark() {
+    }
+
+    static void run(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        long[] menuIds = requestSequence(options);
+
+        System.out.printf("메뉴 %d개 x 재고 %d, 요청 %d건 (인기 메뉴 비율 %.0f%%), 동시 요청 %d (%s 스레드), "
+                        + "Redis 지연 %dus, DB 풀 %d%n%n",
+                options.items, options.stock, options.requests, options.skew * 100, options.threads,
+                options.virtual ? "가상" : "플랫폼", options.redisLatencyMicros, options.pool);
+        System.out.printf("%-12s %10s %8s %8s %6s %8s %8s %8s %10s %10s%n",
+                "방식", "처리량/s", "성공", "품절", "실패", "과다판매", "p50 ms", "p99 ms", "락대기 ms", "Redis 명령");
+
+        try (HikariDataSource dataSource = dataSource(options.pool)) {
+            for (String name : options.strategies) {
+                // 워밍업 (JIT, 커넥션 풀) 후 재고를 초기화하고 측정
+                resetStock(dataSource, options);
+                try (Strategy strategy = strategy(name, dataSource, options)) {
+                    execute(strategy, Arrays.copyOf(menuIds, Math.min(menuIds.length, 2_000)), options);
+                }
+                resetStock(dataSource, options);
+                try (Strategy strategy = strategy(name, dataSource, options)) {
+                    Result result = execute(strategy, menuIds, options);
+                    report(name, result, dataSource, options);
+                }
+            }
+        }
+    }
+
+    /** 요청별 메뉴 ID (방식마다 같은 순서) */
+    private static long[] requestSequence(Options options) {
+        Random random = new Random(42);
+        long[] menuIds = new long[options.requests];
+        for (int i = 0; i < menuIds.length; i++) {
+            menuIds[i] = random.nextDouble() < options.skew ? 1 : 1 + random.nextInt(options.items);
+        }
+        return menuIds;
+    }
+
+    private static Result execute(Strategy strategy, long[] menuIds, Options options) throws InterruptedException {
+        long[] latencies = new long[menuIds.length];
+        AtomicIntegerArray sold = new AtomicIntegerArray(options.items + 1);
+        LongAdder soldOut = new LongAdder();
+        LongAdder failed = new LongAdder();
+        AtomicInteger next = new AtomicInteger();
+
+        Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < menuIds.length) {
+                long menuId = menuIds[index];
+                long start = System.nanoTime();
+                try {
+                    if (strategy.purchase(menuId)) {
+                        sold.incrementAndGet((int) menuId);
+                    } else {
+                        soldOut.increment();
+                    }
+                } catch (Exception e) {
+                    failed.increment();
+                }
+                latencies[index] = System.nanoTime() - start;
+            }
+        };
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = options.virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(options.threads)) {
+            for (int i = 0; i < options.threads; i++) {
+                executor.execute(worker);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(elapsed, latencies, sold, soldOut.sum(), failed.sum(),
+                strategy.lockWaitNanos(), strategy.redisCommands());
+    }
+
+    private static void report(String name, Result result, HikariDataSource dataSource, Options options)
+            throws SQLException {
+        Map<Long, Integer> remaining = currentStock(dataSource);
+        long totalSold = 0;
+        long oversold = 0;
+        for (int menuId = 1; menuId <= options.items; menuId++) {
+            int sold = result.sold.get(menuId);
+            int deducted = options.stock - remaining.getOrDefault((long) menuId, options.stock);
+            totalSold += sold;
+            oversold += Math.max(0, sold - deducted);
+        }
+        long[] sorted = result.latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-12s %10.0f %8d %8d %6d %8d %8.2f %8.2f %10.3f %10s%n",
+                name,
+                result.latencies.length / (result.elapsedNanos / 1e9),
+                totalSold, result.soldOut, result.failed, oversold,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                result.lockWaitNanos / 1e6 / result.latencies.length,
+                result.redisCommands < 0 ? "-" : String.valueOf(result.redisCommands));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    // ------------------------------------------------------------------
+    // 방식별 구현
+    // ------------------------------------------------------------------
+
+    /** 구매 1건 (true: 성공, false: 품절, 예외: 락 대기 초과 등 실패) */
+    private interface Strategy extends AutoCloseable {
+
+        boolean purchase(long menuId) throws Exception;
+
+        long lockWaitNanos();
+
+        /** 사용하지 않으면 -1 */
+        default long redisCommands() {
+            return -1L;
+        }
+
+        /** 측정 후 정리 (검사 예외 없음 - 기다리다 중단되면 각 구현이 인터럽트 상태를 복원) */
+        @Override
+        default void close() {
+        }
+    }
+
+    private static Strategy strategy(String name, HikariDataSource dataSource, Options options) {
+        return switch (name) {
+            case "none" -> new NoLock(dataSource);
+            case "pessimistic" -> new Pessimistic(dataSource);
+            case "conditional" -> new Conditional(dataSource);
+            case "distributed" -> new Distributed(dataSource, new InMemoryRedisLock(options.redisLatencyNanos()));
+            case "striped" -> new Striped(dataSource, new InMemoryRedisLock(options.redisLatencyNanos()));
+            case "queued" -> new Queued(dataSource);
+            default -> throw new IllegalArgumentException("알 수 없는 방식: " + name + " (가능: " + ALL_STRATEGIES + ")");
+        };
+    }
+
+    /** 잠금 없음: 읽은 재고로 덮어씀 (동시에 읽은 요청끼리 차감이 사라짐) */
+    private record NoLock(HikariDataSource dataSource) implements Strategy {
+
+        @Override
+        public boolean purchase(long menuId) throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                int stock = selectStock(connection, menuId, false);
+                if (stock < 1) {
+                    return false;
+                }
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE menus SET stock = ? WHERE id = ?")) {
+                    update.setInt(1, stock - 1);
+                    update.setLong(2, menuId);
+                    update.executeUpdate();
+                }
+                return true;
+            }
+        }
+
+        @Override
+        public long lockWaitNanos() {
+            return 0L;
+        }
+    }
+
+    /** 비관적 잠금: 행 잠금을 얻을 때까지 대기 (대기 시간 = SELECT ... FOR UPDATE 시간) */
+    private static final class Pessimistic implements Strategy {
+
+        private final HikariDataSource dataSource;
+        private final LongAdder lockWait = new LongAdder();
+
+        private Pessimistic(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public boolean purchase(long menuId) throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    long start = System.nanoTime();
+                    int stock = selectStock(connection, menuId, true);
+                    lockWait.add(System.nanoTime() - start);
+                    boolean available = stock >= 1 && decrement(connection, menuId);
+                    connection.commit();
+                    return available;
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public long lockWaitNanos() {
+            return lockWait.sum();
+        }
+    }
+
+    /** 조건부 UPDATE: 잠금 대기 없이 UPDATE 한 번 */
+    private record Conditional(HikariDataSource dataSource) implements Strategy {
+
+        @Override
+        public boolean purchase(long menuId) throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                return decrement(connection, menuId);
+            }
+        }
+
+        @Override
+        public long lockWaitNanos() {
+            return 0L;
+        }
+    }
+
+    /** 분산 락: 모든 요청 스레드가 Redis 락을 직접 경쟁 */
+    private static final class Distributed implements Strategy {
+
+        private final HikariDataSource dataSource;
+        private final InMemoryRedisLock redis;
+        private final LongAdder lockWait = new LongAdder();
+
+        private Distributed(HikariDataSource dataSource, InMemoryRedisLock redis) {
+            this.dataSource = dataSource;
+            this.redis = redis;
+        }
+
+        @Override
+        public boolean purchase(long menuId) throws Exception {
+            String key = LOCK_PREFIX + menuId;
+            long start = System.nanoTime();
+            boolean locked = redis.tryLock(key, TimeUnit.SECONDS.toNanos(WAIT_SECONDS),
+                    TimeUnit.SECONDS.toNanos(LEASE_SECONDS));
+            lockWait.add(System.nanoTime() - start);
+            if (!locked) {
+                throw new BusinessException("락 대기 시간 초과");
+            }
+            try {
+                return readAndDecrementInTransaction(dataSource, menuId);
+            } finally {
+                if (redis.isHeldByCurrentThread(key)) {
+                    redis.unlock(key);
+                }
+            }
+        }
+
+        @Override
+        public long lockWaitNanos() {
+            return lockWait.sum();
+        }
+
+        @Override
+        public long redisCommands() {
+            return redis.commands();
+        }
+    }
+
+    /** 로컬 락 + 분산 락: app의 StripedDistributedLock을 그대로 사용 */
+    private static final class Striped implements Strategy {
+
+        private final HikariDataSource dataSource;
+        private final InMemoryRedisLock redis;
+        private final StripedDistributedLock lock;
+        private final LongAdder lockWait = new LongAdder();
+
+        private Striped(HikariDataSource dataSource, InMemoryRedisLock redis) {
+            this.dataSource = dataSource;
+            this.redis = redis;
+            this.lock = new StripedDistributedLock(redis.asRedissonClient(), new SimpleMeterRegistry(), 256);
+        }
+
+        @Override
+        public boolean purchase(long menuId) throws Exception {
+            long start = System.nanoTime();
+            try (StripedDistributedLock.Handle handle =
+                         lock.tryLock(LOCK_PREFIX + menuId, WAIT_SECONDS, LEASE_SECONDS, TimeUnit.SECONDS)) {
+                lockWait.add(System.nanoTime() - start);
+                if (handle == null) {
+                    throw new BusinessException("락 대기 시간 초과");
+                }
+                return readAndDecrementInTransaction(dataSource, menuId);
+            }
+        }
+
+        @Override
+        public long lockWaitNanos() {
+            return lockWait.sum();
+        }
+
+        @Override
+        public long redisCommands() {
+            return redis.commands();
+        }
+    }
+
+    /** 입장 대기열: app의 StockAdmissionQueue를 JDBC로 구현한 MenuRepository와 함께 사용 */
+    private static final class Queued implements Strategy {
+
+        private final StockAdmissionQueue queue;
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        private Queued(HikariDataSource dataSource) {
+            this.queue = new StockAdmissionQueue(jdbcMenuRepository(dataSource), meterRegistry, 4, 100,
+                    Duration.ofSeconds(1));
+        }
+
+        @Override
+        public boolean purchase(long menuId) {
+            try {
+                queue.purchase(menuId, 1).join();
+                return true;
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof BusinessException) {
+                    return false;
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public long lockWaitNanos() {
+            // 대기열에서 처리를 기다린 시간
+            return (long) meterRegistry.get("stock.admission.wait").timer().totalTime(TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void close() {
+            try {
+                queue.destroy();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** StockAdmissionQueue가 쓰는 두 메서드만 JDBC로 구현 */
+    private static MenuRepository jdbcMenuRepository(HikariDataSource dataSource) {
+        return (MenuRepository) Proxy.newProxyInstance(StockBenchmark.class.getClassLoader(),
+                new Class<?>[]{MenuRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findStockById" -> {
+                            try (Connection connection = dataSource.getConnection()) {
+                                return Optional.of(selectStock(connection, (Long) args[0], false));
+                            }
+                        }
+                        case "decreaseStockIfAvailable" -> {
+                            try (Connection connection = dataSource.getConnection()) {
+                                return decrement(connection, (Long) args[0], (Integer) args[1]) ? 1 : 0;
+                            }
+                        }
+                        case "toString" -> {
+                            return "JdbcMenuRepository";
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    // ------------------------------------------------------------------
+    // JDBC
+    // ------------------------------------------------------------------
+
+    private static HikariDataSource dataSource(int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:stock;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        return new HikariDataSource(config);
+    }
+
+    private static void resetStock(HikariDataSource dataSource, Options options) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS menus");
+            statement.execute("CREATE TABLE menus (id BIGINT PRIMARY KEY, stock INT NOT NULL, "
+                    + "version BIGINT NOT NULL DEFAULT 0)");
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO menus (id, stock) VALUES (?, ?)")) {
+                for (int menuId = 1; menuId <= options.items; menuId++) {
+                    insert.setLong(1, menuId);
+                    insert.setInt(2, options.stock);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private static Map<Long, Integer> currentStock(HikariDataSource dataSource) throws SQLException {
+        Map<Long, Integer> stock = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, stock FROM menus")) {
+            while (rows.next()) {
+                stock.put(rows.getLong(1), rows.getInt(2));
+            }
+        }
+        return stock;
+    }
+
+    private static int selectStock(Connection connection, long menuId, boolean forUpdate) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT stock FROM menus WHERE id = ?" + (forUpdate ? " FOR UPDATE" : ""))) {
+            select.setLong(1, menuId);
+            try (ResultSet row = select.executeQuery()) {
+                if (!row.next()) {
+                    throw new SQLException("메뉴 없음: " + menuId);
+                }
+                return row.getInt(1);
+            }
+        }
+    }
+
+    private static boolean decrement(Connection connection, long menuId) throws SQLException {
+        return decrement(connection, menuId, 1);
+    }
+
+    /** MenuRepository.decreaseStockIfAvailable과 같은 조건부 UPDATE */
+    private static boolean decrement(Connection connection, long menuId, int quantity) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE menus SET stock = stock - ?, version = version + 1 WHERE id = ? AND stock >= ?")) {
+            update.setInt(1, quantity);
+            update.setLong(2, menuId);
+            update.setInt(3, quantity);
+            return update.executeUpdate() == 1;
+        }
+    }
+
+    /** 락 안에서 실행하는 트랜잭션 (조회 후 엔티티 값으로 UPDATE - decreaseStockInTransaction과 같은 모양) */
+    private static boolean readAndDecrementInTransaction(HikariDataSource dataSource, long menuId)
+            throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int stock = selectStock(connection, menuId, false);
+                if (stock < 1) {
+                    connection.commit();
+                    return false;
+                }
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE menus SET stock = ?, version = version + 1 WHERE id = ?")) {
+                    update.setInt(1, stock - 1);
+                    update.setLong(2, menuId);
+                    update.executeUpdate();
+                }
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // 옵션, 결과
+    // ------------------------------------------------------------------
+
+    private record Result(long elapsedNanos, long[] latencies, AtomicIntegerArray sold,
+                          long soldOut, long failed, long lockWaitNanos, long redisCommands) {
+    }
+
+    private record Options(List<String> strategies, int threads, boolean virtual, int requests, int items,
+                           double skew, int stock, long redisLatencyMicros, int pool) {
+
+        long redisLatencyNanos() {
+            return TimeUnit.MICROSECONDS.toNanos(redisLatencyMicros);
+        }
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("옵션은 key=value 형식이어야 합니다: " + arg);
+                }
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+            String strategies = values.getOrDefault("strategies", "all");
+            Options options = new Options(
+                    strategies.equals("all") ? ALL_STRATEGIES : List.of(strategies.split(",")),
+                    Integer.parseInt(values.getOrDefault("threads", "64")),
+                    Boolean.parseBoolean(values.getOrDefault("virtual", "false")),
+                    Integer.parseInt(values.getOrDefault("requests", "20000")),
+                    Integer.parseInt(values.getOrDefault("items", "10")),
+                    Double.parseDouble(values.getOrDefault("skew", "0.8")),
+                    Integer.parseInt(values.getOrDefault("stock", "1000")),
+                    Long.parseLong(values.getOrDefault("redis-latency-us", "100")),
+                    Integer.parseInt(values.getOrDefault("pool", "20")));
+            List<String> unknown = new ArrayList<>(values.keySet());
+            unknown.removeAll(List.of("strategies", "threads", "virtual", "requests", "items", "skew", "stock",
+                    "redis-latency-us", "pool"));
+            if (!unknown.isEmpty()) {
+                throw new IllegalArgumentException("알 수 없는 옵션: " + unknown);
+            }
+            if (options.threads <= 0 || options.requests <= 0 || options.items <= 0 || options.pool <= 0
+                    || options.skew < 0 || options.skew > 1) {
+                throw new IllegalArgumentException("threads, requests, items, pool은 양수, skew는 0~1이어야 합니다.");
+            }
+            return options;
+        }
+    }
+}
@@ -94,10 +94,12 @@ CREATE TABLE IF NOT EXISTS orders (
     -- 사용자별 주문 조회, 가게별 주문 조회
     INDEX idx_orders_user (user_id),
     INDEX idx_orders_restaurant (restaurant_id),
-    -- 사용자별 최근 주문 조회 (커버링 인덱스)
-    INDEX idx_orders_user_created (user_id, created_at),
+    -- 사용자별 최근 주문 조회 (커버링 인덱스, 세션 12: 커서 페이지네이션의 (created_at, id) 탐색 순서)
+    INDEX idx_orders_user_created (user_id, created_at, id),
     -- 상태별 주문 필터링
     INDEX idx_orders_status (status),
+    -- 최근 주문이 많은 가게 집계 (세션 01: 캐시 워밍업, 커버링 인덱스)
+    INDEX idx_orders_created_restaurant (created_at, restaurant_id),
     FOREIGN KEY (user_id) REFERENCES users(id),
     FOREIGN KEY (restaurant_id) REFERENCES restaurants(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -136,4 +138,24 @@ CREATE TABLE IF NOT EXISTS payments (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 
+-- -------------------------------------------
+-- 아웃박스 테이블 (세션 04: 비동기 처리)
+-- 주문과 같은 트랜잭션에 이벤트를 기록, OutboxRelay가 RabbitMQ로 발행 후 삭제
+-- 발행에 실패한 이벤트는 next_attempt_at을 뒤로 미뤄 뒤 이벤트를 가로막지 않음
+-- -------------------------------------------
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(50)  NOT NULL,
+    aggregate_id   BIGINT       NOT NULL,
+    event_type     VARCHAR(50)  NOT NULL,
+    exchange_name  VARCHAR(100) NOT NULL,
+    routing_key    VARCHAR(100) NOT NULL,
+    payload        TEXT         NOT NULL,
+    attempts       INT          NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at     DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    INDEX idx_outbox_next_attempt (next_attempt_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- 시드 데이터는 02-seed-data.sql에서 관리합니다.
@@ -2,6 +2,7 @@ package com.gritmoments.backend.order.service;
 
 import com.gritmoments.backend.common.exception.BusinessException;
 import com.gritmoments.backend.common.exception.ResourceNotFoundException;
+import com.gritmoments.backend.common.lock.StripedDistributedLock;
 import com.gritmoments.backend.menu.entity.Menu;
 import com.gritmoments.backend.menu.repository.MenuRepository;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +37,7 @@ public class PessimisticLockOrderService {
 
     private final MenuRepository menuRepository;
     private final RedissonClient redissonClient;
+    private final StripedDistributedLock stripedDistributedLock;
 
     /** 락 키 접두사 */
     private static final String LOCK_PREFIX = "lock:menu:";
@@ -146,6 +148,36 @@ public class PessimisticLockOrderService {
         // TODO: 위 힌트를 참고하여 코드를 작성하세요
     }
 
+    /**
+     * [심화] 방법 3: 로컬 락 + 분산 락으로 재고 차감
+     *
+     * 방법 2에서 같은 서버의 스레드 50개가 동시에 들어오면, 50개가 모두 Redis에 락 획득을 시도하고
+     * 락이 풀릴 때마다 50개가 pub/sub 알림을 받아 다시 시도합니다.
+     *
+     * StripedDistributedLock은 같은 서버 안에서 먼저 줄을 세웁니다.
+     *   스레드 50개 -> 로컬 락(JVM 안)에서 1개만 통과 -> 그 1개만 Redis 락 시도
+     *   서버가 3대면 Redis 락 경쟁자는 최대 3개 (스레드 수와 무관)
+     *
+     * 비교 실습: 같은 50개 요청으로 방법 2와 Redis 명령 수(redis-cli INFO commandstats)를 비교해 보세요.
+     * lock.wait{stage=local|remote} 메트릭으로 대기 시간이 어디서 생기는지 확인할 수 있습니다.
+     */
+    public void decreaseStockWithStripedLock(Long menuId, int quantity) {
+        String lockKey = LOCK_PREFIX + menuId;
+        try (StripedDistributedLock.Handle handle =
+                     stripedDistributedLock.tryLock(lockKey, WAIT_TIME, LEASE_TIME, TimeUnit.SECONDS)) {
+            if (handle == null) {
+                log.warn("[분산 락 실패] 메뉴 {} 락 획득 대기 시간 초과", menuId);
+                throw new BusinessException("현재 다른 요청이 처리 중입니다. 잠시 후 다시 시도해주세요.");
+            }
+            log.info("[로컬 + 분산 락 획득] 메뉴 {} 재고 차감 시작", menuId);
+            decreaseStockInTransaction(menuId, quantity);
+            log.info("[로컬 + 분산 락 완료] 메뉴 {} 재고 차감 완료", menuId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("재고 차감 처리 중 오류가 발생했습니다.");
+        }
+    }
+
     /**
      * 트랜잭션 내에서 재고 차감 (분산 락용 헬퍼 메서드)
      *
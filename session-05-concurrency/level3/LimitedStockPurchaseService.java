@@ -11,6 +11,7 @@ import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -41,6 +42,8 @@ public class LimitedStockPurchaseService {
 
     private final MenuRepository menuRepository;
     private final RedissonClient redissonClient;
+    private final ShardedStockService shardedStockService;
+    private final StockAdmissionQueue stockAdmissionQueue;
 
     /** 락 키 접두사 */
     private static final String LOCK_PREFIX = "lock:menu:stock:";
@@ -107,6 +110,47 @@ public class LimitedStockPurchaseService {
         //   }
     }
 
+    /**
+     * [심화] 한정판 메뉴 구매 - 샤딩된 재고 카운터 (락 없음)
+     *
+     * 위의 분산 락 방식은 모든 구매자가 락 하나를 기다리므로, 동시 구매자가 수만 명이면
+     * 락 대기 자체가 병목이 됩니다. ShardedStockService는 재고를 N개의 Redis 카운터로 나누고
+     * 구매자 ID로 카운터 하나를 골라 원자적으로 차감합니다.
+     *
+     *   재고 10, 샤드 4개 -> [3][3][2][2]
+     *   사용자 A -> 샤드 1에서 차감, 사용자 B -> 샤드 3에서 차감 (서로 기다리지 않음)
+     *   샤드가 비면 다음 샤드로 넘어가고, 남은 재고를 빈 샤드로 재분배
+     *
+     * 샤드마다 "있으면 차감"이 원자적이므로 락이 없어도 과다 판매는 발생하지 않습니다.
+     * DB 재고는 구매마다 UPDATE하지 않고 stock:pending에 모았다가 flush 주기마다 한 번에 반영합니다.
+     * 샤드 수는 stock.shards.count (기본 8)로 설정합니다.
+     *
+     * 비교 실습: 같은 100명 시나리오로 purchaseLimitedMenu()와 응답 시간을 비교해 보세요.
+     */
+    public void purchaseLimitedMenuSharded(Long menuId, int quantity, Long userId) {
+        shardedStockService.decreaseStock(menuId, quantity, userId);
+        log.info("[구매 완료] 메뉴 {} 수량 {} 구매 성공 (샤드 재고). 사용자: {}", menuId, quantity, userId);
+    }
+
+    /**
+     * [심화] 한정판 메뉴 구매 - 입장 대기열 (요청 스레드가 기다리지 않음)
+     *
+     * 분산 락 방식에서 구매자 1만 명이 몰리면 1만 개의 요청 스레드가 최대 WAIT_TIME(5초) 동안
+     * 락을 기다리며 멈춰 있고, Tomcat 스레드 풀(기본 200개)이 바닥나 다른 API까지 멈춥니다.
+     *
+     * StockAdmissionQueue는 남은 재고만큼만 대기열에 넣고 나머지는 즉시 품절로 돌려보냅니다.
+     *   재고 10, 구매자 1만 명 -> 10명만 대기열 (요청 스레드는 바로 반환), 9,990명은 즉시 품절 응답
+     *   대기열의 10명은 메뉴당 작업 하나가 순서대로 처리 (락 경합 없음)
+     *
+     * 반환된 CompletableFuture를 컨트롤러에서 그대로 반환하면, 처리가 끝날 때 응답이 나갑니다.
+     * 대기열 길이는 stock.admission.queue.depth 메트릭으로 확인할 수 있습니다.
+     */
+    public CompletableFuture<Void> purchaseLimitedMenuQueued(Long menuId, int quantity, Long userId) {
+        return stockAdmissionQueue.purchase(menuId, quantity)
+                .thenRun(() -> log.info("[구매 완료] 메뉴 {} 수량 {} 구매 성공 (입장 대기열). 사용자: {}",
+                        menuId, quantity, userId));
+    }
+
     /**
      * 트랜잭션 내에서 재고 차감
      *